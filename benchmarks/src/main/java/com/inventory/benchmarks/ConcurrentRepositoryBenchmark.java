@@ -0,0 +1,80 @@
+package com.inventory.benchmarks;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import com.inventory.model.InventoryItem;
+import com.inventory.repository.FileItemRepository;
+import com.inventory.repository.SnapshotFormat;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Repository throughput under a mixed load of lookups and saves of random items, with
+ * {@code writePercent} percent saves. The journal is never forced to disk, so the scores
+ * reflect locking rather than the storage device. Change the number of threads with
+ * JMH's {@code -t} option.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@Threads(4)
+@State(Scope.Benchmark)
+public class ConcurrentRepositoryBenchmark {
+
+    @Param({"100000"})
+    int size;
+
+    @Param({"16"})
+    int textLength;
+
+    @Param({"10"})
+    int writePercent;
+
+    private Path dir;
+    private FileItemRepository repository;
+    private List<InventoryItem> items;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        dir = Files.createTempDirectory("inventory-jmh");
+        items = InventoryFixture.generate(size, textLength);
+        repository = InventoryFixture.openJournaled(
+                InventoryFixture.writeSnapshot(dir, items, SnapshotFormat.JSON), dir);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        repository.close();
+        InventoryFixture.delete(dir);
+    }
+
+    @Benchmark
+    public Object mixed() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        InventoryItem item = items.get(random.nextInt(size));
+        if (random.nextInt(100) < writePercent) {
+            return repository.save(new InventoryItem(item.getId(), item.getName(), item.getDescription(),
+                    random.nextInt(1000), item.getPrice(), item.getCategory()));
+        }
+        return repository.findById(item.getId());
+    }
+}
@@ -0,0 +1,85 @@
+package com.inventory.benchmarks;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import com.inventory.model.InventoryItem;
+import com.inventory.repository.FileItemRepository;
+import com.inventory.repository.SnapshotFormat;
+import com.inventory.repository.SyncPolicy;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * {@link FileItemRepository#delete} on a journaled repository. Each iteration deletes a
+ * batch of {@value #BATCH} items, which are saved back after the next iteration so the
+ * inventory keeps its size. Scores are per batch; divide by {@value #BATCH} for one delete.
+ * {@code fsync} takes a {@link SyncPolicy} for the journal.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, batchSize = DeleteBenchmark.BATCH)
+@Measurement(iterations = 10, batchSize = DeleteBenchmark.BATCH)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@State(Scope.Benchmark)
+public class DeleteBenchmark {
+    static final int BATCH = 1000;
+
+    @Param({"1000", "10000", "100000", "1000000"})
+    int size;
+
+    @Param({"16", "256"})
+    int textLength;
+
+    @Param({"never"})
+    String fsync;
+
+    private Path dir;
+    private FileItemRepository repository;
+    private List<InventoryItem> items;
+    private final List<InventoryItem> deleted = new ArrayList<>(BATCH);
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        dir = Files.createTempDirectory("inventory-jmh");
+        items = InventoryFixture.generate(size, textLength);
+        repository = InventoryFixture.openJournaled(
+                InventoryFixture.writeSnapshot(dir, items, SnapshotFormat.JSON), dir, SyncPolicy.parse(fsync));
+    }
+
+    @Setup(Level.Iteration)
+    public void restore() {
+        repository.saveAll(deleted);
+        deleted.clear();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        repository.close();
+        InventoryFixture.delete(dir);
+    }
+
+    @Benchmark
+    public boolean delete() {
+        next = (next + 7919) % size;
+        InventoryItem item = items.get(next);
+        deleted.add(item);
+        return repository.delete(item.getId());
+    }
+}
@@ -0,0 +1,72 @@
+package com.inventory.benchmarks;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+import com.inventory.repository.FileItemRepository;
+import com.inventory.repository.SnapshotFormat;
+import com.inventory.service.InventoryService;
+import com.inventory.service.Validator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * {@link InventoryService#exportItems(Path)} of the whole inventory to CSV and JSONL.
+ * Exports stream from a snapshot, so they should allocate little beyond the output
+ * buffers; run with JMH's {@code -prof gc} to see how much.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@State(Scope.Benchmark)
+public class ExportBenchmark {
+
+    @Param({"10000", "100000", "1000000"})
+    int size;
+
+    @Param({"16", "256"})
+    int textLength;
+
+    @Param({"csv", "jsonl"})
+    String fileFormat;
+
+    private Path dir;
+    private Path file;
+    private FileItemRepository repository;
+    private InventoryService service;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        dir = Files.createTempDirectory("inventory-jmh");
+        file = dir.resolve("export." + fileFormat);
+        repository = new FileItemRepository(InventoryFixture.writeSnapshot(dir,
+                InventoryFixture.generate(size, textLength), SnapshotFormat.JSON));
+        service = new InventoryService(repository, new Validator());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        repository.close();
+        InventoryFixture.delete(dir);
+    }
+
+    @Benchmark
+    public long exportItems() throws IOException {
+        return service.exportItems(file);
+    }
+}
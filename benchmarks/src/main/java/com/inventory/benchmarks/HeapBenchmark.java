@@ -0,0 +1,99 @@
+package com.inventory.benchmarks;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import com.inventory.model.InventoryItem;
+import com.inventory.repository.FileHandler;
+import com.inventory.repository.FileItemRepository;
+import com.inventory.repository.SnapshotFormat;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * The heap retained by a repository loaded from a JSON snapshot, and how many distinct
+ * category objects its items refer to. Both are reported as the secondary results
+ * {@code retainedMegabytes} and {@code categoryInstances}; the primary score includes the
+ * forced garbage collections around the load and is not meaningful on its own.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@State(Scope.Benchmark)
+public class HeapBenchmark {
+
+    @Param({"100000", "1000000"})
+    int size;
+
+    @Param({"16", "256"})
+    int textLength;
+
+    private Path dir;
+    private FileHandler fileHandler;
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Footprint {
+        public double retainedMegabytes;
+        public long categoryInstances;
+
+        @Setup(Level.Iteration)
+        public void clear() {
+            retainedMegabytes = 0;
+            categoryInstances = 0;
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        dir = Files.createTempDirectory("inventory-jmh");
+        fileHandler = InventoryFixture.writeSnapshot(dir, InventoryFixture.generate(size, textLength),
+                SnapshotFormat.JSON);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        InventoryFixture.delete(dir);
+    }
+
+    @Benchmark
+    public void load(Footprint footprint) {
+        long baseline = usedHeap();
+        try (FileItemRepository repository = new FileItemRepository(fileHandler)) {
+            footprint.retainedMegabytes = (usedHeap() - baseline) / (1024.0 * 1024.0);
+
+            Set<Object> categories = Collections.newSetFromMap(new IdentityHashMap<>());
+            for (InventoryItem item : repository.findAll()) {
+                categories.add(item.getCategory());
+            }
+            footprint.categoryInstances = categories.size();
+        }
+    }
+
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
@@ -0,0 +1,112 @@
+package com.inventory.benchmarks;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import com.inventory.http.InventoryHttpServer;
+import com.inventory.model.InventoryItem;
+import com.inventory.repository.FileItemRepository;
+import com.inventory.repository.SnapshotFormat;
+import com.inventory.service.InventoryService;
+import com.inventory.service.Validator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Drives the HTTP server over loopback with closed-loop clients, one per JMH thread, each
+ * sending its next request as soon as the previous one is answered. Requests look up a
+ * random item, or with {@code writePercent} percent probability adjust its quantity. The
+ * scores are requests per millisecond and the latency distribution the clients saw,
+ * including p50, p99, p99.9 and the maximum. Change the number of clients with JMH's
+ * {@code -t} option. A response other than 200 fails the run.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx4g", "-Dsun.net.httpserver.nodelay=true"})
+@Threads(4)
+@State(Scope.Benchmark)
+public class HttpBenchmark {
+
+    @Param({"10000"})
+    int size;
+
+    @Param({"16"})
+    int textLength;
+
+    @Param({"10"})
+    int writePercent;
+
+    private Path dir;
+    private FileItemRepository repository;
+    private InventoryHttpServer server;
+    private URI[] reads;
+    private URI[] writes;
+
+    @State(Scope.Thread)
+    public static class Client {
+        final HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        dir = Files.createTempDirectory("inventory-jmh");
+        List<InventoryItem> items = InventoryFixture.generate(size, textLength);
+        repository = InventoryFixture.openJournaled(
+                InventoryFixture.writeSnapshot(dir, items, SnapshotFormat.JSON), dir);
+        server = new InventoryHttpServer(new InventoryService(repository, new Validator()),
+                new InetSocketAddress("127.0.0.1", 0));
+        server.start();
+
+        String base = "http://127.0.0.1:" + server.getAddress().getPort() + "/items/";
+        reads = new URI[size];
+        writes = new URI[size];
+        for (int i = 0; i < size; i++) {
+            reads[i] = URI.create(base + items.get(i).getId());
+            writes[i] = URI.create(base + items.get(i).getId() + "/adjust?delta=1");
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        server.close();
+        repository.close();
+        InventoryFixture.delete(dir);
+    }
+
+    @Benchmark
+    public int request(Client client) throws IOException, InterruptedException {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int item = random.nextInt(size);
+        HttpRequest request = random.nextInt(100) < writePercent
+                ? HttpRequest.newBuilder(writes[item]).POST(HttpRequest.BodyPublishers.noBody()).build()
+                : HttpRequest.newBuilder(reads[item]).GET().build();
+        HttpResponse<byte[]> response = client.client.send(request, HttpResponse.BodyHandlers.ofByteArray());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("Unexpected status " + response.statusCode() + " for " + request.uri());
+        }
+        return response.statusCode();
+    }
+}
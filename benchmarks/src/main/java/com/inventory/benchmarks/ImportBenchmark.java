@@ -0,0 +1,86 @@
+package com.inventory.benchmarks;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+import com.inventory.repository.FileHandler;
+import com.inventory.repository.FileItemRepository;
+import com.inventory.repository.SnapshotFormat;
+import com.inventory.repository.SyncPolicy;
+import com.inventory.service.ImportResult;
+import com.inventory.service.InventoryService;
+import com.inventory.service.Validator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * {@link InventoryService#importItems(Path, java.util.function.LongConsumer)} of a CSV file
+ * into an empty repository. The file is exported from a generated inventory during setup,
+ * and each iteration imports it once into a new repository.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@State(Scope.Benchmark)
+public class ImportBenchmark {
+
+    @Param({"10000", "100000", "1000000"})
+    int size;
+
+    @Param({"16", "256"})
+    int textLength;
+
+    private Path dir;
+    private Path csv;
+    private Path store;
+    private FileItemRepository repository;
+    private InventoryService service;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        dir = Files.createTempDirectory("inventory-jmh");
+        csv = dir.resolve("items.csv");
+        store = dir.resolve("imported.json");
+        try (FileItemRepository source = new FileItemRepository(InventoryFixture.writeSnapshot(dir,
+                InventoryFixture.generate(size, textLength), SnapshotFormat.JSON))) {
+            new InventoryService(source, new Validator()).exportItems(csv);
+        }
+    }
+
+    @Setup(Level.Iteration)
+    public void openEmpty() throws IOException {
+        Files.deleteIfExists(store);
+        repository = new FileItemRepository(new FileHandler(store.toString(), SyncPolicy.never()));
+        service = new InventoryService(repository, new Validator());
+    }
+
+    @TearDown(Level.Iteration)
+    public void closeImported() {
+        repository.close();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        InventoryFixture.delete(dir);
+    }
+
+    @Benchmark
+    public ImportResult importItems() throws IOException {
+        return service.importItems(csv, null);
+    }
+}
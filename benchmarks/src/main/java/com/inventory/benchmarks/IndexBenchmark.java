@@ -0,0 +1,85 @@
+package com.inventory.benchmarks;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import com.inventory.model.InventoryItem;
+import com.inventory.repository.FileHandler;
+import com.inventory.repository.FileItemRepository;
+import com.inventory.repository.SnapshotFormat;
+import com.inventory.service.InventoryService;
+import com.inventory.service.Validator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * The first search and the first sorted page on a new service, which build the search
+ * and sort indexes from the whole inventory. Each iteration opens a new repository and
+ * service, so every call pays for a full build.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@State(Scope.Benchmark)
+public class IndexBenchmark {
+
+    @Param({"1000", "10000", "100000", "1000000"})
+    int size;
+
+    @Param({"16", "256"})
+    int textLength;
+
+    private Path dir;
+    private FileHandler fileHandler;
+    private FileItemRepository repository;
+    private InventoryService service;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        dir = Files.createTempDirectory("inventory-jmh");
+        fileHandler = InventoryFixture.writeSnapshot(dir, InventoryFixture.generate(size, textLength),
+                SnapshotFormat.JSON);
+    }
+
+    @Setup(Level.Iteration)
+    public void openService() {
+        repository = new FileItemRepository(fileHandler);
+        service = new InventoryService(repository, new Validator());
+    }
+
+    @TearDown(Level.Iteration)
+    public void closeService() {
+        repository.close();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        InventoryFixture.delete(dir);
+    }
+
+    @Benchmark
+    public List<InventoryItem> buildSearchIndex() {
+        return service.searchItems("warm up");
+    }
+
+    @Benchmark
+    public List<InventoryItem> buildSortIndex() {
+        return service.sortItems("name", true, 0, 1);
+    }
+}
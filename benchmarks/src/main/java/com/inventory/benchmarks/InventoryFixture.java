@@ -0,0 +1,101 @@
+package com.inventory.benchmarks;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Stream;
+
+import com.inventory.model.InventoryItem;
+import com.inventory.model.ItemCategory;
+import com.inventory.repository.FileHandler;
+import com.inventory.repository.FileItemRepository;
+import com.inventory.repository.ItemJournal;
+import com.inventory.repository.SnapshotFormat;
+import com.inventory.repository.SyncPolicy;
+
+/**
+ * Generated inventories shared by all benchmarks. The same size and text length always
+ * produce the same items, so results are comparable between runs.
+ */
+final class InventoryFixture {
+    static final int CATEGORY_COUNT = 200;
+    private static final int MAX_NAME_LENGTH = 100;
+    private static final String LETTERS = "abcdefghijklmnopqrstuvwxyz    ";
+
+    private InventoryFixture() {
+    }
+
+    /**
+     * Items with a name and description of {@code textLength} random letters and
+     * spaces, the name capped at the 100 characters the validator allows.
+     */
+    static List<InventoryItem> generate(int size, int textLength) {
+        List<ItemCategory> categories = new ArrayList<>();
+        for (int i = 0; i < CATEGORY_COUNT; i++) {
+            categories.add(new ItemCategory(i, "Category " + i, "Generated category " + i));
+        }
+
+        Random random = new Random(7);
+        List<InventoryItem> items = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            items.add(new InventoryItem(itemId(i),
+                    "Item " + text(random, Math.min(textLength, MAX_NAME_LENGTH - 5)),
+                    text(random, textLength),
+                    random.nextInt(1000), random.nextInt(100_000) / 100.0,
+                    categories.get(i % categories.size())));
+        }
+        return items;
+    }
+
+    static String itemId(int index) {
+        return String.format("ITM%07d", index);
+    }
+
+    /**
+     * Writes {@code items} as the snapshot in {@code dir} and returns its file handler.
+     */
+    static FileHandler writeSnapshot(Path dir, List<InventoryItem> items, SnapshotFormat format) {
+        FileHandler fileHandler = new FileHandler(dir.resolve("inventory_data.json").toString(), SyncPolicy.never());
+        FileItemRepository repository = new FileItemRepository(fileHandler, null, 0, format);
+        repository.saveAll(items);
+        repository.close();
+        return fileHandler;
+    }
+
+    /**
+     * Opens the snapshot in {@code dir} with a journal, the way the application runs, so
+     * single-item mutations append a record instead of rewriting the snapshot.
+     */
+    static FileItemRepository openJournaled(FileHandler fileHandler, Path dir) {
+        return openJournaled(fileHandler, dir, SyncPolicy.never());
+    }
+
+    static FileItemRepository openJournaled(FileHandler fileHandler, Path dir, SyncPolicy syncPolicy) {
+        ItemJournal journal = new ItemJournal(dir.resolve("inventory_data.journal").toString(), syncPolicy);
+        return new FileItemRepository(fileHandler, journal, FileItemRepository.DEFAULT_CHECKPOINT_INTERVAL);
+    }
+
+    static void delete(Path dir) throws IOException {
+        try (Stream<Path> paths = Files.walk(dir)) {
+            for (Path path : (Iterable<Path>) paths.sorted(Comparator.reverseOrder())::iterator) {
+                Files.delete(path);
+            }
+        }
+    }
+
+    private static String text(Random random, int length) {
+        char[] text = new char[length];
+        for (int i = 0; i < length; i++) {
+            text[i] = LETTERS.charAt(random.nextInt(LETTERS.length()));
+        }
+        // Validated names cannot be blank
+        if (length > 0) {
+            text[0] = 'x';
+        }
+        return new String(text);
+    }
+}
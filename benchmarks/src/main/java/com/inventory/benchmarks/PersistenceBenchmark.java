@@ -0,0 +1,84 @@
+package com.inventory.benchmarks;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+import com.inventory.model.InventoryItem;
+import com.inventory.repository.FileHandler;
+import com.inventory.repository.FileItemRepository;
+import com.inventory.repository.SnapshotFormat;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Loading and saving the whole snapshot, in each snapshot format. {@code loadData} opens
+ * a repository on the snapshot and reads every item, so the binary format's lazy decoding
+ * is included; {@code loadAndFindOne} opens it and looks up a single item, which is what
+ * startup costs when only a few items are needed; {@code saveData} writes a checkpoint.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@State(Scope.Benchmark)
+public class PersistenceBenchmark {
+
+    @Param({"1000", "10000", "100000", "1000000"})
+    int size;
+
+    @Param({"16", "256"})
+    int textLength;
+
+    @Param({"JSON", "BINARY"})
+    SnapshotFormat format;
+
+    private Path dir;
+    private FileHandler fileHandler;
+    private FileItemRepository repository;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        dir = Files.createTempDirectory("inventory-jmh");
+        fileHandler = InventoryFixture.writeSnapshot(dir, InventoryFixture.generate(size, textLength), format);
+        repository = new FileItemRepository(fileHandler, null, 0, format);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        repository.close();
+        InventoryFixture.delete(dir);
+    }
+
+    @Benchmark
+    public int loadData() {
+        try (FileItemRepository loaded = new FileItemRepository(fileHandler, null, 0, format)) {
+            return loaded.findAll().size();
+        }
+    }
+
+    @Benchmark
+    public InventoryItem loadAndFindOne() {
+        try (FileItemRepository loaded = new FileItemRepository(fileHandler, null, 0, format)) {
+            return loaded.findById(InventoryFixture.itemId(size / 2)).orElseThrow();
+        }
+    }
+
+    @Benchmark
+    public void saveData() {
+        repository.checkpoint();
+    }
+}
@@ -0,0 +1,109 @@
+package com.inventory.benchmarks;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import com.inventory.metrics.InventoryMetrics;
+import com.inventory.model.InventoryItem;
+import com.inventory.repository.FileItemRepository;
+import com.inventory.repository.InstrumentedItemRepository;
+import com.inventory.repository.ItemRepository;
+import com.inventory.repository.SnapshotFormat;
+import com.inventory.repository.SyncPolicy;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * {@link FileItemRepository#findById} for ids that exist and ids that do not, and
+ * {@link FileItemRepository#save} on a journaled repository. Saves replace existing items,
+ * so the inventory keeps its size. With {@code instrumented} the repository is wrapped in an
+ * {@link InstrumentedItemRepository} to measure the cost of recording metrics;
+ * {@code fsync} takes a {@link SyncPolicy} for the journal.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@State(Scope.Benchmark)
+public class RepositoryBenchmark {
+
+    @Param({"1000", "10000", "100000", "1000000"})
+    int size;
+
+    @Param({"16", "256"})
+    int textLength;
+
+    @Param({"false", "true"})
+    boolean instrumented;
+
+    @Param({"never"})
+    String fsync;
+
+    private Path dir;
+    private FileItemRepository fileRepository;
+    private ItemRepository repository;
+    private List<InventoryItem> items;
+    private final String[] misses = new String[4096];
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        dir = Files.createTempDirectory("inventory-jmh");
+        items = InventoryFixture.generate(size, textLength);
+        fileRepository = InventoryFixture.openJournaled(
+                InventoryFixture.writeSnapshot(dir, items, SnapshotFormat.JSON), dir, SyncPolicy.parse(fsync));
+        repository = instrumented
+                ? new InstrumentedItemRepository(fileRepository, new InventoryMetrics()) : fileRepository;
+        for (int i = 0; i < misses.length; i++) {
+            misses[i] = "MISS" + i;
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        fileRepository.close();
+        InventoryFixture.delete(dir);
+    }
+
+    @Benchmark
+    public Optional<InventoryItem> findById() {
+        return repository.findById(items.get(nextIndex()).getId());
+    }
+
+    @Benchmark
+    public Optional<InventoryItem> findByIdMiss() {
+        return repository.findById(misses[nextIndex() & (misses.length - 1)]);
+    }
+
+    @Benchmark
+    public InventoryItem save() {
+        InventoryItem item = items.get(nextIndex());
+        item.setQuantity(item.getQuantity() + 1);
+        return repository.save(item);
+    }
+
+    /**
+     * Walks the items with a stride that is coprime to every size, so consecutive calls
+     * touch unrelated items.
+     */
+    private int nextIndex() {
+        next = (next + 7919) % size;
+        return next;
+    }
+}
@@ -0,0 +1,119 @@
+package com.inventory.benchmarks;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import com.inventory.metrics.InventoryMetrics;
+import com.inventory.model.InventoryItem;
+import com.inventory.repository.FileItemRepository;
+import com.inventory.repository.InstrumentedItemRepository;
+import com.inventory.repository.SnapshotFormat;
+import com.inventory.service.InstrumentedInventoryService;
+import com.inventory.service.InventoryService;
+import com.inventory.service.Validator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * {@link InventoryService#searchItems} and {@link InventoryService#sortItems}. The
+ * search and sort indexes are built during setup, so the scores are for queries against
+ * a warm service; {@link IndexBenchmark} measures building them. {@code searchItems} uses
+ * selective keywords that the posting lists narrow down to a few items, and
+ * {@code searchItemsBroad} a keyword every item matches, where building the result
+ * dominates. With {@code instrumented} both the service and the repository record
+ * metrics, to measure what that costs.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@State(Scope.Benchmark)
+public class ServiceBenchmark {
+    private static final int PAGE_SIZE = 20;
+    private static final String[] SORT_KEYS = {"name", "price", "quantity", "id"};
+
+    @Param({"1000", "10000", "100000", "1000000"})
+    int size;
+
+    @Param({"16", "256"})
+    int textLength;
+
+    @Param({"false", "true"})
+    boolean instrumented;
+
+    private Path dir;
+    private FileItemRepository repository;
+    private InventoryService service;
+    private String[] keywords;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        dir = Files.createTempDirectory("inventory-jmh");
+        List<InventoryItem> items = InventoryFixture.generate(size, textLength);
+        repository = InventoryFixture.openJournaled(
+                InventoryFixture.writeSnapshot(dir, items, SnapshotFormat.JSON), dir);
+        if (instrumented) {
+            InventoryMetrics metrics = new InventoryMetrics();
+            service = new InstrumentedInventoryService(
+                    new InstrumentedItemRepository(repository, metrics), new Validator(), metrics);
+        } else {
+            service = new InventoryService(repository, new Validator());
+        }
+
+        // Six letters from the middle of a description match only a handful of items
+        keywords = new String[16];
+        for (int i = 0; i < keywords.length; i++) {
+            String description = items.get((int) ((long) i * size / keywords.length)).getDescription();
+            int start = Math.max(0, description.length() / 2 - 3);
+            keywords[i] = description.substring(start, Math.min(description.length(), start + 6));
+        }
+        service.searchItems(keywords[0]);
+        service.sortItems("name", true, 0, 1);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        repository.close();
+        InventoryFixture.delete(dir);
+    }
+
+    @Benchmark
+    public List<InventoryItem> searchItems() {
+        next++;
+        return service.searchItems(keywords[next & (keywords.length - 1)]);
+    }
+
+    @Benchmark
+    public List<InventoryItem> searchItemsBroad() {
+        // Every generated name starts with "Item "
+        return service.searchItems("item");
+    }
+
+    @Benchmark
+    public List<InventoryItem> sortItemsPage() {
+        next++;
+        return service.sortItems(SORT_KEYS[next & 3], (next & 4) == 0, 0, PAGE_SIZE);
+    }
+
+    @Benchmark
+    public List<InventoryItem> sortItems() {
+        next++;
+        return service.sortItems(SORT_KEYS[next & 3], (next & 4) == 0);
+    }
+}
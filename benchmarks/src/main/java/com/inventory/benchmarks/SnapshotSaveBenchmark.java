@@ -0,0 +1,70 @@
+package com.inventory.benchmarks;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import com.inventory.model.InventoryItem;
+import com.inventory.repository.FileItemRepository;
+import com.inventory.repository.SnapshotFormat;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * {@link FileItemRepository#save} on a repository without a journal, which rewrites the
+ * whole snapshot on every change. Its cost grows with the inventory, so it is only run for
+ * the smaller sizes, as a baseline for the journaled figures in {@link RepositoryBenchmark}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@State(Scope.Benchmark)
+public class SnapshotSaveBenchmark {
+
+    @Param({"1000", "10000"})
+    int size;
+
+    @Param({"16", "256"})
+    int textLength;
+
+    private Path dir;
+    private FileItemRepository repository;
+    private List<InventoryItem> items;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        dir = Files.createTempDirectory("inventory-jmh");
+        items = InventoryFixture.generate(size, textLength);
+        repository = new FileItemRepository(InventoryFixture.writeSnapshot(dir, items, SnapshotFormat.JSON));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        repository.close();
+        InventoryFixture.delete(dir);
+    }
+
+    @Benchmark
+    public InventoryItem save() {
+        next = (next + 7919) % size;
+        InventoryItem item = items.get(next);
+        item.setQuantity(item.getQuantity() + 1);
+        return repository.save(item);
+    }
+}
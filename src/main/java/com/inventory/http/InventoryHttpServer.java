@@ -0,0 +1,425 @@
+package com.inventory.http;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.Writer;
+import java.lang.reflect.Method;
+import java.lang.reflect.Type;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+import com.google.gson.reflect.TypeToken;
+import com.inventory.model.InventoryItem;
+import com.inventory.repository.ItemPage;
+import com.inventory.repository.ItemSnapshot;
+import com.inventory.service.InventoryService;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * JSON over HTTP front end for an {@link InventoryService}, built on the JDK's own HTTP
+ * server.
+ *
+ * <pre>
+ * GET    /items[?cursor=&amp;limit=]      all items, or one page of them
+ * POST   /items                      add an item
+ * GET    /items/{id}                 one item
+ * PUT    /items/{id}                 update an item
+ * DELETE /items/{id}                 delete an item
+ * POST   /items/{id}/adjust?delta=   add delta to the item's quantity
+ * GET    /search?q=                  items matching a keyword
+ * GET    /sort?by=&amp;order=&amp;offset=&amp;limit=
+ * POST   /batch/add, /batch/update   JSON array of items; ?skipInvalid=true keeps the valid ones
+ * POST   /batch/delete               JSON array of ids
+ * GET    /stats                      inventory statistics
+ * GET    /changes?since=&amp;limit=       the change feed
+ * </pre>
+ *
+ * <p>The build targets Java 11, so virtual threads are looked up at run time: each request
+ * runs on a virtual thread where the JDK has them (Java 21 and later) and on a fixed pool
+ * of {@value #FALLBACK_THREADS} platform threads otherwise; {@link #usesVirtualThreads()}
+ * tells which. The JDK server sends headers and body separately, so small responses wait
+ * out the client's delayed ACK unless the JVM runs with
+ * {@code -Dsun.net.httpserver.nodelay=true}. Item lists are written to the response
+ * as they are produced, in chunks, so listing the whole inventory reads from a snapshot
+ * without building the response in memory. Invalid input is answered with 400 and an
+ * {@code {"error": ...}} body, unknown ids with 404.
+ */
+public class InventoryHttpServer implements AutoCloseable {
+    public static final int DEFAULT_PORT = 8080;
+    // Requests block on disk writes, so the fallback pool is sized well above the core count
+    public static final int FALLBACK_THREADS = 64;
+    private static final String JSON = "application/json; charset=utf-8";
+
+    private final InventoryService service;
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final boolean virtualThreads;
+    private final Gson gson = new Gson();
+
+    public InventoryHttpServer(InventoryService service, InetSocketAddress address) throws IOException {
+        this.service = service;
+        this.server = HttpServer.create(address, 0);
+        ExecutorService virtual = newVirtualThreadExecutor();
+        this.virtualThreads = virtual != null;
+        this.executor = virtual != null ? virtual : Executors.newFixedThreadPool(FALLBACK_THREADS, runnable -> {
+            Thread thread = new Thread(runnable, "http-request");
+            thread.setDaemon(true);
+            return thread;
+        });
+        server.setExecutor(executor);
+        server.createContext("/items", exchange -> handle(exchange, this::items));
+        server.createContext("/search", exchange -> handle(exchange, this::search));
+        server.createContext("/sort", exchange -> handle(exchange, this::sort));
+        server.createContext("/batch", exchange -> handle(exchange, this::batch));
+        server.createContext("/stats", exchange -> handle(exchange, this::stats));
+        server.createContext("/changes", exchange -> handle(exchange, this::changes));
+    }
+
+    /**
+     * Executors.newVirtualThreadPerTaskExecutor, looked up at run time so the build can
+     * keep targeting Java 11. Null where the JDK has no virtual threads, or only as a
+     * preview feature that is not enabled.
+     */
+    private static ExecutorService newVirtualThreadExecutor() {
+        try {
+            Method factory = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return (ExecutorService) factory.invoke(null);
+        } catch (ReflectiveOperationException | UnsupportedOperationException e) {
+            return null;
+        }
+    }
+
+    public void start() {
+        server.start();
+    }
+
+    public InetSocketAddress getAddress() {
+        return server.getAddress();
+    }
+
+    public boolean usesVirtualThreads() {
+        return virtualThreads;
+    }
+
+    /**
+     * Stops accepting requests and gives those in progress up to a second to finish.
+     */
+    @Override
+    public void close() {
+        server.stop(1);
+        executor.shutdown();
+        try {
+            executor.awaitTermination(1, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @FunctionalInterface
+    private interface Route {
+        void handle(HttpExchange exchange, String path) throws IOException;
+    }
+
+    private void handle(HttpExchange exchange, Route route) {
+        try {
+            String context = exchange.getHttpContext().getPath();
+            String path = exchange.getRequestURI().getPath().substring(context.length());
+            route.handle(exchange, path.startsWith("/") ? path.substring(1) : path);
+        } catch (IllegalArgumentException | JsonParseException e) {
+            error(exchange, 400, e.getMessage());
+        } catch (IOException e) {
+            // The client went away; there is nobody left to answer
+        } catch (RuntimeException e) {
+            System.err.println("Error handling " + exchange.getRequestURI() + ": " + e.getMessage());
+            error(exchange, 500, "Internal error");
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private void items(HttpExchange exchange, String path) throws IOException {
+        String method = exchange.getRequestMethod();
+        if (path.isEmpty()) {
+            if ("GET".equals(method)) {
+                listItems(exchange);
+            } else if ("POST".equals(method)) {
+                send(exchange, 201, service.addItem(readBody(exchange, InventoryItem.class)));
+            } else {
+                error(exchange, 405, "Use GET or POST");
+            }
+            return;
+        }
+
+        String[] segments = path.split("/");
+        String id = segments[0];
+        if (segments.length == 2 && "adjust".equals(segments[1])) {
+            if (!"POST".equals(method)) {
+                error(exchange, 405, "Use POST");
+                return;
+            }
+            if (service.findItemById(id).isEmpty()) {
+                error(exchange, 404, "Item with ID " + id + " not found");
+                return;
+            }
+            send(exchange, 200, service.adjustQuantity(id, intParameter(query(exchange), "delta", null)));
+            return;
+        }
+        if (segments.length != 1) {
+            error(exchange, 404, "Unknown path");
+            return;
+        }
+
+        switch (method) {
+            case "GET":
+                Optional<InventoryItem> item = service.findItemById(id);
+                if (item.isPresent()) {
+                    send(exchange, 200, item.get());
+                } else {
+                    error(exchange, 404, "Item with ID " + id + " not found");
+                }
+                break;
+            case "PUT":
+                InventoryItem update = readBody(exchange, InventoryItem.class);
+                if (update.getId() == null) {
+                    update.setId(id);
+                } else if (!update.getId().equals(id)) {
+                    throw new IllegalArgumentException("Item ID in the body does not match the path");
+                }
+                if (service.findItemById(id).isEmpty()) {
+                    error(exchange, 404, "Item with ID " + id + " not found");
+                    return;
+                }
+                send(exchange, 200, service.updateItem(update));
+                break;
+            case "DELETE":
+                if (service.deleteItem(id)) {
+                    exchange.sendResponseHeaders(204, -1);
+                } else {
+                    error(exchange, 404, "Item with ID " + id + " not found");
+                }
+                break;
+            default:
+                error(exchange, 405, "Use GET, PUT or DELETE");
+        }
+    }
+
+    /**
+     * Without a limit the whole inventory is streamed from a snapshot; with one, a page
+     * of it is returned along with the cursor of the next page, or -1 after the last.
+     */
+    private void listItems(HttpExchange exchange) throws IOException {
+        Map<String, String> query = query(exchange);
+        if (!query.containsKey("limit")) {
+            try (ItemSnapshot snapshot = service.snapshotItems()) {
+                streamItems(exchange, snapshot.iterator());
+            }
+            return;
+        }
+
+        ItemPage page = service.getItemsPage(longParameter(query, "cursor", ItemPage.FIRST),
+                intParameter(query, "limit", null));
+        startStream(exchange);
+        try (Writer out = responseWriter(exchange)) {
+            out.write("{\"items\":");
+            writeArray(out, page.getItems().iterator());
+            out.write(",\"nextCursor\":" + (page.hasNext() ? page.getNextCursor() : -1) + "}");
+        }
+    }
+
+    private void search(HttpExchange exchange, String path) throws IOException {
+        if (!endpoint(exchange, path, "GET")) {
+            return;
+        }
+        streamItems(exchange, service.searchItems(query(exchange).get("q")).iterator());
+    }
+
+    private void sort(HttpExchange exchange, String path) throws IOException {
+        if (!endpoint(exchange, path, "GET")) {
+            return;
+        }
+        Map<String, String> query = query(exchange);
+        String order = query.getOrDefault("order", "asc");
+        if (!"asc".equals(order) && !"desc".equals(order)) {
+            throw new IllegalArgumentException("Order must be asc or desc");
+        }
+        List<InventoryItem> sorted = service.sortItems(query.getOrDefault("by", "id"), "asc".equals(order),
+                intParameter(query, "offset", 0), intParameter(query, "limit", Integer.MAX_VALUE));
+        streamItems(exchange, sorted.iterator());
+    }
+
+    private void batch(HttpExchange exchange, String path) throws IOException {
+        if (!"POST".equals(exchange.getRequestMethod())) {
+            error(exchange, 405, "Use POST");
+            return;
+        }
+        boolean skipInvalid = Boolean.parseBoolean(query(exchange).get("skipInvalid"));
+        switch (path) {
+            case "add":
+                send(exchange, 200, service.addItems(readBody(exchange, new TypeToken<List<InventoryItem>>() { }.getType()),
+                        skipInvalid));
+                break;
+            case "update":
+                send(exchange, 200, service.updateItems(readBody(exchange, new TypeToken<List<InventoryItem>>() { }.getType()),
+                        skipInvalid));
+                break;
+            case "delete":
+                send(exchange, 200, service.deleteItems(readBody(exchange, new TypeToken<List<String>>() { }.getType()),
+                        skipInvalid));
+                break;
+            default:
+                error(exchange, 404, "Unknown batch operation");
+        }
+    }
+
+    private void stats(HttpExchange exchange, String path) throws IOException {
+        if (!endpoint(exchange, path, "GET")) {
+            return;
+        }
+        send(exchange, 200, service.getInventoryStats());
+    }
+
+    private void changes(HttpExchange exchange, String path) throws IOException {
+        if (!endpoint(exchange, path, "GET")) {
+            return;
+        }
+        Map<String, String> query = query(exchange);
+        send(exchange, 200, service.getChangesSince(query.get("epoch"), longParameter(query, "since", 0L),
+                intParameter(query, "limit", 1000)));
+    }
+
+    private void streamItems(HttpExchange exchange, Iterator<InventoryItem> items) throws IOException {
+        startStream(exchange);
+        try (Writer out = responseWriter(exchange)) {
+            writeArray(out, items);
+        }
+    }
+
+    private void writeArray(Writer out, Iterator<InventoryItem> items) throws IOException {
+        out.write('[');
+        for (boolean first = true; items.hasNext(); first = false) {
+            if (!first) {
+                out.write(',');
+            }
+            gson.toJson(items.next(), InventoryItem.class, out);
+        }
+        out.write(']');
+    }
+
+    /**
+     * Sends the headers with no length, so the body goes out in chunks as it is written.
+     */
+    private static void startStream(HttpExchange exchange) throws IOException {
+        exchange.getResponseHeaders().set("Content-Type", JSON);
+        exchange.sendResponseHeaders(200, 0);
+    }
+
+    private static Writer responseWriter(HttpExchange exchange) {
+        return new BufferedWriter(new OutputStreamWriter(exchange.getResponseBody(), StandardCharsets.UTF_8),
+                64 * 1024);
+    }
+
+    private void send(HttpExchange exchange, int status, Object body) throws IOException {
+        byte[] bytes = gson.toJson(body).getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", JSON);
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    private void error(HttpExchange exchange, int status, String message) {
+        Map<String, String> body = new HashMap<>();
+        body.put("error", message);
+        try {
+            send(exchange, status, body);
+        } catch (IOException e) {
+            // The client went away
+        }
+    }
+
+    private <T> T readBody(HttpExchange exchange, Type type) throws IOException {
+        try (Reader in = new InputStreamReader(exchange.getRequestBody(), StandardCharsets.UTF_8)) {
+            T body = gson.fromJson(in, type);
+            if (body == null) {
+                throw new IllegalArgumentException("Request body cannot be empty");
+            }
+            return body;
+        }
+    }
+
+    /**
+     * Answers 404 or 405 unless the request is for the context itself with
+     * {@code method}.
+     */
+    private boolean endpoint(HttpExchange exchange, String path, String method) {
+        if (!path.isEmpty()) {
+            error(exchange, 404, "Unknown path");
+            return false;
+        }
+        if (!method.equals(exchange.getRequestMethod())) {
+            error(exchange, 405, "Use " + method);
+            return false;
+        }
+        return true;
+    }
+
+    private static Map<String, String> query(HttpExchange exchange) {
+        Map<String, String> parameters = new HashMap<>();
+        String query = exchange.getRequestURI().getRawQuery();
+        if (query == null || query.isEmpty()) {
+            return parameters;
+        }
+
+        for (String pair : query.split("&")) {
+            int separator = pair.indexOf('=');
+            String name = separator >= 0 ? pair.substring(0, separator) : pair;
+            String value = separator >= 0 ? pair.substring(separator + 1) : "";
+            parameters.put(URLDecoder.decode(name, StandardCharsets.UTF_8),
+                    URLDecoder.decode(value, StandardCharsets.UTF_8));
+        }
+        return parameters;
+    }
+
+    private static int intParameter(Map<String, String> query, String name, Integer defaultValue) {
+        String value = query.get(name);
+        if (value == null) {
+            if (defaultValue == null) {
+                throw new IllegalArgumentException("Missing parameter: " + name);
+            }
+            return defaultValue;
+        }
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Parameter " + name + " must be a whole number");
+        }
+    }
+
+    private static long longParameter(Map<String, String> query, String name, long defaultValue) {
+        String value = query.get(name);
+        if (value == null) {
+            return defaultValue;
+        }
+        try {
+            return Long.parseLong(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Parameter " + name + " must be a whole number");
+        }
+    }
+}
@@ -0,0 +1,133 @@
+package com.inventory.metrics;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * The metrics of every instrumented operation, keyed by layer ("service", "repository")
+ * and operation name. Components look up their {@link OperationMetrics} once, when they
+ * are created, and record into them directly.
+ */
+public class InventoryMetrics {
+    public static final String JMX_DOMAIN = "com.inventory";
+
+    private final ConcurrentMap<String, OperationMetrics> operations = new ConcurrentSkipListMap<>();
+    private final List<ObjectName> registered = new ArrayList<>();
+    private MBeanServer mBeanServer;
+
+    public OperationMetrics operation(String layer, String name) {
+        return operation(layer, name, OperationMetrics.SAMPLE_INTERVAL);
+    }
+
+    /**
+     * Returns the metrics of an operation, creating them with {@code sampleInterval} if
+     * they do not exist yet. About one call in {@code sampleInterval}, a power of two, is
+     * timed; 1 times every call.
+     */
+    public OperationMetrics operation(String layer, String name, int sampleInterval) {
+        String key = layer + "." + name;
+        OperationMetrics metrics = operations.get(key);
+        if (metrics != null) {
+            return metrics;
+        }
+
+        OperationMetrics created = new OperationMetrics(layer, name, sampleInterval);
+        metrics = operations.putIfAbsent(key, created);
+        if (metrics != null) {
+            return metrics;
+        }
+        registerMBean(created);
+        return created;
+    }
+
+    /**
+     * All operations, sorted by layer and name.
+     */
+    public List<OperationMetrics> getOperations() {
+        return new ArrayList<>(operations.values());
+    }
+
+    /**
+     * Publishes every operation, including ones added later, as an MXBean named
+     * {@code com.inventory:type=Operation,layer=<layer>,name=<name>} on the platform
+     * MBean server.
+     */
+    public synchronized void registerMBeans() {
+        if (mBeanServer != null) {
+            return;
+        }
+
+        mBeanServer = ManagementFactory.getPlatformMBeanServer();
+        for (OperationMetrics metrics : operations.values()) {
+            registerMBean(metrics);
+        }
+    }
+
+    public synchronized void unregisterMBeans() {
+        if (mBeanServer == null) {
+            return;
+        }
+
+        for (ObjectName name : registered) {
+            try {
+                mBeanServer.unregisterMBean(name);
+            } catch (JMException e) {
+                System.err.println("Error unregistering metrics: " + e.getMessage());
+            }
+        }
+        registered.clear();
+        mBeanServer = null;
+    }
+
+    /**
+     * The current values of every operation, in the order of {@link #getOperations()}.
+     */
+    public List<Map<String, Object>> snapshot() {
+        List<Map<String, Object>> snapshot = new ArrayList<>();
+        for (OperationMetrics metrics : operations.values()) {
+            Map<String, Object> values = new LinkedHashMap<>();
+            values.put("layer", metrics.getLayer());
+            values.put("name", metrics.getName());
+            values.put("count", metrics.getCount());
+            values.put("errors", metrics.getErrorCount());
+            values.put("timed", metrics.getTimedCount());
+            values.put("meanMicros", metrics.getMeanMicros());
+            values.put("p50Micros", metrics.getP50Micros());
+            values.put("p99Micros", metrics.getP99Micros());
+            values.put("p999Micros", metrics.getP999Micros());
+            values.put("maxMicros", metrics.getMaxMicros());
+            snapshot.add(values);
+        }
+        return snapshot;
+    }
+
+    private synchronized void registerMBean(OperationMetrics metrics) {
+        if (mBeanServer == null) {
+            return;
+        }
+
+        try {
+            ObjectName name = objectName(metrics.getLayer(), metrics.getName());
+            if (!mBeanServer.isRegistered(name)) {
+                mBeanServer.registerMBean(metrics, name);
+                registered.add(name);
+            }
+        } catch (JMException e) {
+            System.err.println("Error registering metrics: " + e.getMessage());
+        }
+    }
+
+    public static ObjectName objectName(String layer, String name) throws JMException {
+        return new ObjectName(JMX_DOMAIN + ":type=Operation,layer=" + ObjectName.quote(layer)
+                + ",name=" + ObjectName.quote(name));
+    }
+}
@@ -0,0 +1,36 @@
+package com.inventory.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * Flight Recorder event for one repository change, including the time to make it
+ * durable. Only changes taking at least a millisecond are recorded unless the recording
+ * lowers the threshold, so the event can stay enabled under heavy write load.
+ */
+@Name("com.inventory.ItemMutation")
+@Label("Item Mutation")
+@Description("A change to the repository, including persisting it")
+@Category({"Inventory", "Repository"})
+@StackTrace(false)
+@Threshold("1 ms")
+public class ItemMutationEvent extends Event {
+
+    @Label("Operation")
+    @Description("save, insertIfAbsent, replaceIfPresent, delete, saveAll, insertAllIfAbsent, "
+            + "replaceAllIfPresent, deleteAll, adjustQuantity or compareAndSetQuantity")
+    public String operation;
+
+    @Label("Item ID")
+    @Description("The item changed, or null for a batch")
+    public String itemId;
+
+    @Label("Item Count")
+    @Description("How many items were changed, at least 1")
+    public int itemCount;
+}
@@ -0,0 +1,67 @@
+package com.inventory.metrics;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import com.google.gson.Gson;
+
+/**
+ * Appends the current {@link InventoryMetrics} to a file at a fixed interval, one JSON
+ * object per line with a timestamp and the values of every operation. A final line is
+ * written on {@link #close()}.
+ */
+public class MetricsReporter implements AutoCloseable {
+    private final InventoryMetrics metrics;
+    private final Path file;
+    private final Gson gson = new Gson();
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "metrics-reporter");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public MetricsReporter(InventoryMetrics metrics, Path file, long periodMillis) {
+        if (periodMillis <= 0) {
+            throw new IllegalArgumentException("Reporting period must be positive");
+        }
+        this.metrics = metrics;
+        this.file = file;
+        scheduler.scheduleAtFixedRate(this::report, periodMillis, periodMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Appends one line now.
+     */
+    public synchronized void report() {
+        Map<String, Object> line = new LinkedHashMap<>();
+        line.put("timestamp", System.currentTimeMillis());
+        line.put("operations", metrics.snapshot());
+        try (Writer out = Files.newBufferedWriter(file, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+            gson.toJson(line, out);
+            out.write('\n');
+        } catch (IOException e) {
+            System.err.println("Error writing metrics: " + e.getMessage());
+        }
+    }
+
+    @Override
+    public void close() {
+        scheduler.shutdown();
+        try {
+            scheduler.awaitTermination(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        report();
+    }
+}
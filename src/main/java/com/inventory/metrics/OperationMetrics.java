@@ -0,0 +1,126 @@
+package com.inventory.metrics;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Call count, error count and latency histogram of one operation. Callers take a token
+ * from {@link #start()} and pass it back to {@link #stop(long, boolean)} when the
+ * operation returns or throws:
+ *
+ * <pre>
+ * long start = metrics.start();
+ * boolean success = false;
+ * try {
+ *     ...
+ *     success = true;
+ * } finally {
+ *     metrics.stop(start, success);
+ * }
+ * </pre>
+ *
+ * <p>Every call and every error is counted, but by default only about one call in
+ * {@value #SAMPLE_INTERVAL}, picked at random, is timed: reading the clock twice costs
+ * more than a whole in-memory lookup. The mean, percentiles and maximum are those of the
+ * timed calls, each recorded once, so they estimate the distribution of all calls without
+ * inflating the few that happen to be sampled. Operations that are rare and slow, such as
+ * loading or saving a snapshot, pass an interval of 1 to time every call.
+ */
+public final class OperationMetrics implements OperationMetricsMXBean {
+    public static final int SAMPLE_INTERVAL = 32;
+
+    /**
+     * The token {@link #start()} returns for a call it does not time.
+     */
+    private static final long UNTIMED = Long.MIN_VALUE;
+
+    private final String layer;
+    private final String name;
+    private final int sampleMask;
+    private final LatencyHistogram latencies = new LatencyHistogram();
+    private final LongAdder calls = new LongAdder();
+    private final LongAdder errors = new LongAdder();
+
+    OperationMetrics(String layer, String name, int sampleInterval) {
+        if (sampleInterval < 1 || Integer.bitCount(sampleInterval) != 1) {
+            throw new IllegalArgumentException("Sample interval must be a power of two");
+        }
+        this.layer = layer;
+        this.name = name;
+        this.sampleMask = sampleInterval - 1;
+    }
+
+    public long start() {
+        calls.increment();
+        if (sampleMask != 0 && (ThreadLocalRandom.current().nextInt() & sampleMask) != 0) {
+            return UNTIMED;
+        }
+        return System.nanoTime();
+    }
+
+    public void stop(long start, boolean success) {
+        if (start != UNTIMED) {
+            latencies.record(System.nanoTime() - start);
+        }
+        if (!success) {
+            errors.increment();
+        }
+    }
+
+    @Override
+    public String getLayer() {
+        return layer;
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public long getCount() {
+        return calls.sum();
+    }
+
+    @Override
+    public long getErrorCount() {
+        return errors.sum();
+    }
+
+    @Override
+    public long getTimedCount() {
+        return latencies.getCount();
+    }
+
+    @Override
+    public double getMeanMicros() {
+        return latencies.getMean() / 1e3;
+    }
+
+    @Override
+    public double getP50Micros() {
+        return latencies.getValueAtQuantile(0.5) / 1e3;
+    }
+
+    @Override
+    public double getP99Micros() {
+        return latencies.getValueAtQuantile(0.99) / 1e3;
+    }
+
+    @Override
+    public double getP999Micros() {
+        return latencies.getValueAtQuantile(0.999) / 1e3;
+    }
+
+    @Override
+    public double getMaxMicros() {
+        return latencies.getMax() / 1e3;
+    }
+
+    @Override
+    public void reset() {
+        latencies.reset();
+        calls.reset();
+        errors.reset();
+    }
+}
@@ -0,0 +1,31 @@
+package com.inventory.metrics;
+
+/**
+ * Management interface of one instrumented operation. Counts cover every call since
+ * start-up or the last {@link #reset()}; latencies are in microseconds and cover the
+ * {@linkplain #getTimedCount() timed} calls among them.
+ */
+public interface OperationMetricsMXBean {
+
+    String getLayer();
+
+    String getName();
+
+    long getCount();
+
+    long getErrorCount();
+
+    long getTimedCount();
+
+    double getMeanMicros();
+
+    double getP50Micros();
+
+    double getP99Micros();
+
+    double getP999Micros();
+
+    double getMaxMicros();
+
+    void reset();
+}
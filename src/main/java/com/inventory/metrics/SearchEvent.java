@@ -0,0 +1,32 @@
+package com.inventory.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * Flight Recorder event for a keyword search. Only searches taking at least a
+ * millisecond are recorded unless the recording lowers the threshold.
+ */
+@Name("com.inventory.Search")
+@Label("Search")
+@Description("A keyword search over the inventory")
+@Category({"Inventory", "Query"})
+@StackTrace(false)
+@Threshold("1 ms")
+public class SearchEvent extends Event {
+
+    @Label("Keyword")
+    public String keyword;
+
+    @Label("Matched Rows")
+    public int matchedRows;
+
+    @Label("Indexed")
+    @Description("Whether the search index answered the query, rather than a scan")
+    public boolean indexed;
+}
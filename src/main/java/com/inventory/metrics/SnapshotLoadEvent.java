@@ -0,0 +1,33 @@
+package com.inventory.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight Recorder event for reading the data file when a repository is opened.
+ */
+@Name("com.inventory.SnapshotLoad")
+@Label("Snapshot Load")
+@Description("Reading the data file when the repository is opened")
+@Category({"Inventory", "Persistence"})
+@StackTrace(false)
+public class SnapshotLoadEvent extends Event {
+
+    @Label("Format")
+    public String format;
+
+    @Label("Item Count")
+    public int itemCount;
+
+    @Label("Bytes Read")
+    @DataAmount
+    public long bytesRead;
+
+    @Label("Success")
+    public boolean success;
+}
@@ -0,0 +1,34 @@
+package com.inventory.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight Recorder event for writing the whole inventory to the data file, on every
+ * change without a journal and on each checkpoint with one.
+ */
+@Name("com.inventory.SnapshotSave")
+@Label("Snapshot Save")
+@Description("Writing the whole inventory to the data file")
+@Category({"Inventory", "Persistence"})
+@StackTrace(false)
+public class SnapshotSaveEvent extends Event {
+
+    @Label("Format")
+    public String format;
+
+    @Label("Item Count")
+    public int itemCount;
+
+    @Label("Bytes Written")
+    @DataAmount
+    public long bytesWritten;
+
+    @Label("Success")
+    public boolean success;
+}
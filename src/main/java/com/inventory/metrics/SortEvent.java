@@ -0,0 +1,41 @@
+package com.inventory.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * Flight Recorder event for reading a page of sorted items. Only sorts taking at least
+ * a millisecond are recorded unless the recording lowers the threshold.
+ */
+@Name("com.inventory.Sort")
+@Label("Sort")
+@Description("Reading a page of items in sorted order")
+@Category({"Inventory", "Query"})
+@StackTrace(false)
+@Threshold("1 ms")
+public class SortEvent extends Event {
+
+    @Label("Sort By")
+    public String sortBy;
+
+    @Label("Ascending")
+    public boolean ascending;
+
+    @Label("Offset")
+    public int offset;
+
+    @Label("Limit")
+    public int limit;
+
+    @Label("Returned Rows")
+    public int returnedRows;
+
+    @Label("Indexed")
+    @Description("Whether the sort index answered the query, rather than a full sort")
+    public boolean indexed;
+}
@@ -10,6 +10,7 @@ public class InventoryItem implements Serializable {
     private int quantity;
     private double price;
     private ItemCategory category;
+    private Integer reorderThreshold;
 
     public InventoryItem() {
     }
@@ -23,6 +24,11 @@ public class InventoryItem implements Serializable {
         this.category = category;
     }
 
+    public InventoryItem(InventoryItem other) {
+        this(other.id, other.name, other.description, other.quantity, other.price, other.category);
+        this.reorderThreshold = other.reorderThreshold;
+    }
+
     public String getId() {
         return id;
     }
@@ -71,6 +77,28 @@ public class InventoryItem implements Serializable {
         this.category = category;
     }
 
+    /**
+     * Stock level at or below which the item should be reordered, or null to use the
+     * category's default.
+     */
+    public Integer getReorderThreshold() {
+        return reorderThreshold;
+    }
+
+    public void setReorderThreshold(Integer reorderThreshold) {
+        this.reorderThreshold = reorderThreshold;
+    }
+
+    /**
+     * The item's own reorder threshold, else its category's default, else null.
+     */
+    public Integer getEffectiveReorderThreshold() {
+        if (reorderThreshold != null) {
+            return reorderThreshold;
+        }
+        return category != null ? category.getDefaultReorderThreshold() : null;
+    }
+
     public double getTotalValue() {
         return price * quantity;
     }
@@ -84,6 +112,7 @@ public class InventoryItem implements Serializable {
                 ", quantity=" + quantity +
                 ", price=" + price +
                 ", category=" + category +
+                (reorderThreshold != null ? ", reorderThreshold=" + reorderThreshold : "") +
                 '}';
     }
 
@@ -97,11 +126,12 @@ public class InventoryItem implements Serializable {
                 Objects.equals(id, that.id) &&
                 Objects.equals(name, that.name) &&
                 Objects.equals(description, that.description) &&
-                Objects.equals(category, that.category);
+                Objects.equals(category, that.category) &&
+                Objects.equals(reorderThreshold, that.reorderThreshold);
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(id, name, description, quantity, price, category);
+        return Objects.hash(id, name, description, quantity, price, category, reorderThreshold);
     }
 }
@@ -7,6 +7,7 @@ public class ItemCategory implements Serializable {
     private int id;
     private String name;
     private String description;
+    private Integer defaultReorderThreshold;
 
     public ItemCategory() {
     }
@@ -17,6 +18,11 @@ public class ItemCategory implements Serializable {
         this.description = description;
     }
 
+    public ItemCategory(ItemCategory other) {
+        this(other.id, other.name, other.description);
+        this.defaultReorderThreshold = other.defaultReorderThreshold;
+    }
+
     public int getId() {
         return id;
     }
@@ -41,12 +47,24 @@ public class ItemCategory implements Serializable {
         this.description = description;
     }
 
+    /**
+     * Reorder threshold for items in this category that have none of their own, or null.
+     */
+    public Integer getDefaultReorderThreshold() {
+        return defaultReorderThreshold;
+    }
+
+    public void setDefaultReorderThreshold(Integer defaultReorderThreshold) {
+        this.defaultReorderThreshold = defaultReorderThreshold;
+    }
+
     @Override
     public String toString() {
         return "ItemCategory{" +
                 "id=" + id +
                 ", name='" + name + '\'' +
                 ", description='" + description + '\'' +
+                (defaultReorderThreshold != null ? ", defaultReorderThreshold=" + defaultReorderThreshold : "") +
                 '}';
     }
 
@@ -57,11 +75,12 @@ public class ItemCategory implements Serializable {
         ItemCategory that = (ItemCategory) o;
         return id == that.id &&
                 Objects.equals(name, that.name) &&
-                Objects.equals(description, that.description);
+                Objects.equals(description, that.description) &&
+                Objects.equals(defaultReorderThreshold, that.defaultReorderThreshold);
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(id, name, description);
+        return Objects.hash(id, name, description, defaultReorderThreshold);
     }
 }
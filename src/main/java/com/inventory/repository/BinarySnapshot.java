@@ -0,0 +1,321 @@
+package com.inventory.repository;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.inventory.model.InventoryItem;
+import com.inventory.model.ItemCategory;
+
+/**
+ * Compact binary snapshot read through a memory mapping. Opening a snapshot only
+ * decodes the header and the category table; item records are decoded when they
+ * are asked for.
+ *
+ * <p>Layout, all numbers big-endian:
+ * <pre>
+ * header      magic "INVB", version, category count, item count,
+ *             category table offset, record offset table offset (32 bytes)
+ * categories  per entry: id, name, description, default reorder threshold, registered flag
+ * records     per item: id, name, description, quantity, price, category entry (-1 for none),
+ *             reorder threshold
+ * offsets     per item, in insertion order: position of its record
+ * </pre>
+ * Strings are a byte length (-1 for null) followed by UTF-8 bytes, and thresholds are
+ * Integer.MIN_VALUE when not set. Category entries are shared by every item that refers to them; entries flagged
+ * as registered make up the repository's category list.
+ */
+public final class BinarySnapshot {
+    static final int MAGIC = 0x494E5642;
+    static final int VERSION = 2;
+    private static final int HEADER_SIZE = 32;
+    private static final int NO_CATEGORY = -1;
+    private static final int NULL_STRING = -1;
+    private static final int NO_THRESHOLD = Integer.MIN_VALUE;
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final ByteBuffer buffer;
+    private final int itemCount;
+    private final ItemCategory[] categoryTable;
+    private final List<ItemCategory> categories;
+    private final int offsetsPosition;
+
+    private BinarySnapshot(ByteBuffer buffer, int itemCount, ItemCategory[] categoryTable,
+                           List<ItemCategory> categories, int offsetsPosition) {
+        this.buffer = buffer;
+        this.itemCount = itemCount;
+        this.categoryTable = categoryTable;
+        this.categories = Collections.unmodifiableList(categories);
+        this.offsetsPosition = offsetsPosition;
+    }
+
+    public static boolean isBinarySnapshot(Path path) throws IOException {
+        if (!Files.isRegularFile(path) || Files.size(path) < HEADER_SIZE) {
+            return false;
+        }
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            ByteBuffer magic = ByteBuffer.allocate(4);
+            while (magic.hasRemaining() && channel.read(magic) != -1) {
+                // Keep reading until the magic is complete
+            }
+            magic.flip();
+            return magic.remaining() == 4 && magic.getInt() == MAGIC;
+        }
+    }
+
+    public static BinarySnapshot open(Path path) throws IOException {
+        ByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size > Integer.MAX_VALUE) {
+                throw new IOException("Binary snapshots larger than 2 GB are not supported: " + path);
+            }
+            // The mapping stays valid after the channel is closed
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+        }
+
+        if (buffer.limit() < HEADER_SIZE || buffer.getInt(0) != MAGIC) {
+            throw new IOException("Not a binary inventory snapshot: " + path);
+        }
+        int version = buffer.getInt(4);
+        if (version != VERSION) {
+            throw new IOException("Unsupported binary snapshot version " + version + ": " + path);
+        }
+
+        int categoryCount = buffer.getInt(8);
+        int itemCount = buffer.getInt(12);
+        long categoriesPosition = buffer.getLong(16);
+        long offsetsPosition = buffer.getLong(24);
+        if (categoryCount < 0 || itemCount < 0
+                || categoriesPosition < HEADER_SIZE
+                || offsetsPosition < categoriesPosition
+                || offsetsPosition + 8L * itemCount != buffer.limit()) {
+            throw new IOException("Corrupt binary snapshot header: " + path);
+        }
+
+        ByteBuffer in = buffer.duplicate();
+        in.position((int) categoriesPosition);
+        ItemCategory[] categoryTable = new ItemCategory[categoryCount];
+        List<ItemCategory> registered = new ArrayList<>();
+        for (int i = 0; i < categoryCount; i++) {
+            ItemCategory category = new ItemCategory(in.getInt(), readString(in), readString(in));
+            category.setDefaultReorderThreshold(readThreshold(in));
+            categoryTable[i] = category;
+            if (in.get() != 0) {
+                registered.add(category);
+            }
+        }
+
+        return new BinarySnapshot(buffer, itemCount, categoryTable, registered, (int) offsetsPosition);
+    }
+
+    public int size() {
+        return itemCount;
+    }
+
+    /**
+     * Categories that were registered with the repository, in registration order.
+     */
+    public List<ItemCategory> getCategories() {
+        return categories;
+    }
+
+    public String readId(int ordinal) {
+        ByteBuffer in = recordAt(ordinal);
+        return readString(in);
+    }
+
+    public InventoryItem readItem(int ordinal) {
+        ByteBuffer in = recordAt(ordinal);
+        String id = readString(in);
+        String name = readString(in);
+        String description = readString(in);
+        int quantity = in.getInt();
+        double price = in.getDouble();
+        int category = in.getInt();
+        InventoryItem item = new InventoryItem(id, name, description, quantity, price,
+                category == NO_CATEGORY ? null : categoryTable[category]);
+        item.setReorderThreshold(readThreshold(in));
+        return item;
+    }
+
+    /**
+     * Writes items in iteration order, which becomes their ordinal order on read.
+     * Item ids must be unique and not null.
+     */
+    public static void write(FileChannel channel, Collection<InventoryItem> items,
+                             Collection<ItemCategory> categories) throws IOException {
+        Map<ItemCategory, Integer> categoryIndex = new LinkedHashMap<>();
+        for (ItemCategory category : categories) {
+            categoryIndex.putIfAbsent(category, categoryIndex.size());
+        }
+        int registeredCount = categoryIndex.size();
+        for (InventoryItem item : items) {
+            if (item.getCategory() != null) {
+                categoryIndex.putIfAbsent(item.getCategory(), categoryIndex.size());
+            }
+        }
+
+        BlockWriter out = new BlockWriter(channel, HEADER_SIZE);
+        long categoriesPosition = out.position();
+        int entry = 0;
+        for (ItemCategory category : categoryIndex.keySet()) {
+            out.putInt(category.getId());
+            out.putString(category.getName());
+            out.putString(category.getDescription());
+            out.putInt(writeThreshold(category.getDefaultReorderThreshold()));
+            out.putByte(entry++ < registeredCount ? 1 : 0);
+        }
+
+        int count = items.size();
+        long[] offsets = new long[count];
+        int ordinal = 0;
+        for (InventoryItem item : items) {
+            if (item.getId() == null) {
+                throw new IllegalArgumentException("Item ID cannot be null");
+            }
+            offsets[ordinal] = out.position();
+            out.putString(item.getId());
+            out.putString(item.getName());
+            out.putString(item.getDescription());
+            out.putInt(item.getQuantity());
+            out.putDouble(item.getPrice());
+            out.putInt(item.getCategory() == null ? NO_CATEGORY : categoryIndex.get(item.getCategory()));
+            out.putInt(writeThreshold(item.getReorderThreshold()));
+            ordinal++;
+        }
+        if (ordinal != count) {
+            throw new IllegalStateException("Item collection changed while writing snapshot");
+        }
+
+        long offsetsPosition = out.position();
+        for (long offset : offsets) {
+            out.putLong(offset);
+        }
+        out.flush();
+
+        if (out.position() > Integer.MAX_VALUE) {
+            throw new IOException("Binary snapshots larger than 2 GB are not supported");
+        }
+
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+        header.putInt(MAGIC).putInt(VERSION).putInt(categoryIndex.size()).putInt(count)
+                .putLong(categoriesPosition).putLong(offsetsPosition);
+        header.flip();
+        long position = 0;
+        while (header.hasRemaining()) {
+            position += channel.write(header, position);
+        }
+    }
+
+    private static Integer readThreshold(ByteBuffer in) {
+        int threshold = in.getInt();
+        return threshold == NO_THRESHOLD ? null : threshold;
+    }
+
+    private static int writeThreshold(Integer threshold) {
+        return threshold == null ? NO_THRESHOLD : threshold;
+    }
+
+    private ByteBuffer recordAt(int ordinal) {
+        if (ordinal < 0 || ordinal >= itemCount) {
+            throw new IndexOutOfBoundsException("Item ordinal " + ordinal + " out of range 0.." + itemCount);
+        }
+        ByteBuffer in = buffer.duplicate();
+        in.position((int) buffer.getLong(offsetsPosition + 8 * ordinal));
+        return in;
+    }
+
+    private static String readString(ByteBuffer in) {
+        int length = in.getInt();
+        if (length == NULL_STRING) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        in.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Buffers sequential writes to the channel and tracks the absolute file position.
+     */
+    private static final class BlockWriter {
+        private final FileChannel channel;
+        private final ByteBuffer block = ByteBuffer.allocate(BUFFER_SIZE);
+        private long flushed;
+
+        BlockWriter(FileChannel channel, long start) throws IOException {
+            this.channel = channel;
+            this.flushed = start;
+            channel.position(start);
+        }
+
+        long position() {
+            return flushed + block.position();
+        }
+
+        void putByte(int value) throws IOException {
+            ensure(1);
+            block.put((byte) value);
+        }
+
+        void putInt(int value) throws IOException {
+            ensure(4);
+            block.putInt(value);
+        }
+
+        void putLong(long value) throws IOException {
+            ensure(8);
+            block.putLong(value);
+        }
+
+        void putDouble(double value) throws IOException {
+            ensure(8);
+            block.putDouble(value);
+        }
+
+        void putString(String value) throws IOException {
+            if (value == null) {
+                putInt(NULL_STRING);
+                return;
+            }
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            putInt(bytes.length);
+            if (bytes.length > block.capacity()) {
+                flush();
+                write(ByteBuffer.wrap(bytes));
+            } else {
+                ensure(bytes.length);
+                block.put(bytes);
+            }
+        }
+
+        void flush() throws IOException {
+            block.flip();
+            write(block);
+            block.clear();
+        }
+
+        private void ensure(int bytes) throws IOException {
+            if (block.remaining() < bytes) {
+                flush();
+            }
+        }
+
+        private void write(ByteBuffer source) throws IOException {
+            while (source.hasRemaining()) {
+                flushed += channel.write(source);
+            }
+        }
+    }
+}
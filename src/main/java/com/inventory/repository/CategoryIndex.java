@@ -0,0 +1,91 @@
+package com.inventory.repository;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+import com.inventory.model.InventoryItem;
+
+/**
+ * The stored items of each category in insertion order, with running totals. Updated
+ * by the repository under the changed item's stripe lock; readers never block.
+ */
+final class CategoryIndex {
+    private final ConcurrentHashMap<Integer, Bucket> buckets = new ConcurrentHashMap<>();
+
+    void changed(StoredItem stored, InventoryItem before, InventoryItem after) {
+        Integer from = categoryId(before);
+        Integer to = categoryId(after);
+        if (from != null && from.equals(to)) {
+            buckets.get(from).replace(before, after);
+            return;
+        }
+
+        if (from != null) {
+            Bucket bucket = buckets.get(from);
+            bucket.members.remove(stored.getSequence());
+            bucket.replace(before, null);
+        }
+        if (to != null) {
+            Bucket bucket = buckets.computeIfAbsent(to, Bucket::new);
+            bucket.members.put(stored.getSequence(), stored);
+            bucket.replace(null, after);
+        }
+    }
+
+    List<InventoryItem> find(int categoryId) {
+        Bucket bucket = buckets.get(categoryId);
+        if (bucket == null) {
+            return new ArrayList<>();
+        }
+
+        List<InventoryItem> result = new ArrayList<>(bucket.members.size());
+        for (StoredItem stored : bucket.members.values()) {
+            result.add(stored.get());
+        }
+        return result;
+    }
+
+    CategoryStats stats(int categoryId) {
+        Bucket bucket = buckets.get(categoryId);
+        return bucket != null ? bucket.stats() : new CategoryStats(categoryId, 0, 0, 0);
+    }
+
+    private static Integer categoryId(InventoryItem item) {
+        return item != null && item.getCategory() != null ? item.getCategory().getId() : null;
+    }
+
+    private static final class Bucket {
+        final int categoryId;
+        final ConcurrentSkipListMap<Long, StoredItem> members = new ConcurrentSkipListMap<>();
+        private int itemCount;
+        private long totalUnits;
+        private double totalValue;
+
+        Bucket(int categoryId) {
+            this.categoryId = categoryId;
+        }
+
+        synchronized void replace(InventoryItem before, InventoryItem after) {
+            if (before != null) {
+                itemCount--;
+                totalUnits -= before.getQuantity();
+                totalValue -= before.getTotalValue();
+            }
+            if (after != null) {
+                itemCount++;
+                totalUnits += after.getQuantity();
+                totalValue += after.getTotalValue();
+            }
+            if (itemCount == 0) {
+                // Do not let rounding errors outlive the items that caused them
+                totalValue = 0;
+            }
+        }
+
+        synchronized CategoryStats stats() {
+            return new CategoryStats(categoryId, itemCount, totalUnits, totalValue);
+        }
+    }
+}
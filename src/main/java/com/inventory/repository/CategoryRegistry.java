@@ -0,0 +1,138 @@
+package com.inventory.repository;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.inventory.model.ItemCategory;
+
+/**
+ * The repository's categories, keyed by id, plus a pool that gives every item one
+ * shared instance per distinct category value.
+ *
+ * <p>Items embed their category by value, so an item may still refer to an older name
+ * or description of a category than the one registered under its id. Interning by
+ * value keeps such items correct while still sharing one object among all items that
+ * agree. Pooled instances are private copies and must not be modified.
+ *
+ * <p>The pool holds its instances weakly, so a category value that no item or
+ * registration refers to any more is dropped instead of being kept for the life of the
+ * repository.
+ */
+final class CategoryRegistry {
+    private final ConcurrentHashMap<ItemCategory, Pooled> instances = new ConcurrentHashMap<>();
+    private final ReferenceQueue<ItemCategory> collected = new ReferenceQueue<>();
+    private final ConcurrentHashMap<Integer, Registration> byId = new ConcurrentHashMap<>();
+    private final AtomicLong nextPosition = new AtomicLong();
+
+    /**
+     * Returns the shared instance equal to {@code category}, or null for null.
+     */
+    ItemCategory intern(ItemCategory category) {
+        if (category == null) {
+            return null;
+        }
+
+        expunge();
+        while (true) {
+            Pooled pooled = instances.get(category);
+            ItemCategory shared = pooled != null ? pooled.get() : null;
+            if (shared != null) {
+                return shared;
+            }
+
+            // The key is a second copy, so the map never keeps the shared instance alive
+            ItemCategory copy = new ItemCategory(category);
+            Pooled fresh = new Pooled(new ItemCategory(category), copy, collected);
+            if (pooled == null ? instances.putIfAbsent(fresh.key, fresh) == null
+                    : instances.replace(fresh.key, pooled, fresh)) {
+                return copy;
+            }
+        }
+    }
+
+    /**
+     * Makes {@code category} the one registered under its id, keeping the position of
+     * any category it replaces, and returns the shared instance.
+     */
+    ItemCategory register(ItemCategory category) {
+        ItemCategory shared = intern(category);
+        byId.merge(shared.getId(), new Registration(nextPosition.getAndIncrement(), shared),
+                (previous, replacement) -> new Registration(previous.position, shared));
+        return shared;
+    }
+
+    void registerAll(Collection<ItemCategory> categories) {
+        for (ItemCategory category : categories) {
+            register(category);
+        }
+    }
+
+    ItemCategory get(int id) {
+        Registration registration = byId.get(id);
+        return registration != null ? registration.category : null;
+    }
+
+    /**
+     * The registered categories in the order they were first registered.
+     */
+    List<ItemCategory> list() {
+        List<Registration> registrations = new ArrayList<>(byId.values());
+        registrations.sort(Comparator.comparingLong(registration -> registration.position));
+        List<ItemCategory> result = new ArrayList<>(registrations.size());
+        for (Registration registration : registrations) {
+            result.add(registration.category);
+        }
+        return result;
+    }
+
+    void clear() {
+        byId.clear();
+        instances.clear();
+    }
+
+    /**
+     * The number of distinct category values in the pool, including any that have been
+     * collected but not yet removed.
+     */
+    int pooledCount() {
+        expunge();
+        return instances.size();
+    }
+
+    /**
+     * Removes the entries whose shared instance has been garbage collected.
+     */
+    private void expunge() {
+        Reference<? extends ItemCategory> reference;
+        while ((reference = collected.poll()) != null) {
+            Pooled pooled = (Pooled) reference;
+            instances.remove(pooled.key, pooled);
+        }
+    }
+
+    private static final class Pooled extends WeakReference<ItemCategory> {
+        final ItemCategory key;
+
+        Pooled(ItemCategory key, ItemCategory shared, ReferenceQueue<ItemCategory> queue) {
+            super(shared, queue);
+            this.key = key;
+        }
+    }
+
+    private static final class Registration {
+        final long position;
+        final ItemCategory category;
+
+        Registration(long position, ItemCategory category) {
+            this.position = position;
+            this.category = category;
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.inventory.repository;
+
+import java.util.Objects;
+
+/**
+ * Totals for the items in one category at a point in time.
+ */
+public final class CategoryStats {
+    private final int categoryId;
+    private final int itemCount;
+    private final long totalUnits;
+    private final double totalValue;
+
+    public CategoryStats(int categoryId, int itemCount, long totalUnits, double totalValue) {
+        this.categoryId = categoryId;
+        this.itemCount = itemCount;
+        this.totalUnits = totalUnits;
+        this.totalValue = totalValue;
+    }
+
+    public int getCategoryId() {
+        return categoryId;
+    }
+
+    public int getItemCount() {
+        return itemCount;
+    }
+
+    public long getTotalUnits() {
+        return totalUnits;
+    }
+
+    /**
+     * Sum of {@link com.inventory.model.InventoryItem#getTotalValue()} over the items.
+     */
+    public double getTotalValue() {
+        return totalValue;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        CategoryStats that = (CategoryStats) o;
+        return categoryId == that.categoryId &&
+                itemCount == that.itemCount &&
+                totalUnits == that.totalUnits &&
+                Double.compare(that.totalValue, totalValue) == 0;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(categoryId, itemCount, totalUnits, totalValue);
+    }
+
+    @Override
+    public String toString() {
+        return "CategoryStats{" +
+                "categoryId=" + categoryId +
+                ", itemCount=" + itemCount +
+                ", totalUnits=" + totalUnits +
+                ", totalValue=" + totalValue +
+                '}';
+    }
+}
@@ -0,0 +1,13 @@
+package com.inventory.repository;
+
+/**
+ * Outcome of {@link ItemRepository#compareAndSetQuantity}.
+ */
+public enum CompareAndSetResult {
+    /** The quantity was the expected one and has been set. */
+    SET,
+    /** The quantity was not the expected one, so nothing was changed. */
+    MISMATCH,
+    /** There is no item with that id. */
+    NOT_FOUND
+}
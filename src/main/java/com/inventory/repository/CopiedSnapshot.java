@@ -0,0 +1,32 @@
+package com.inventory.repository;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+import com.inventory.model.InventoryItem;
+
+/**
+ * Snapshot backed by a full copy of the items, for repositories that do not keep
+ * versions.
+ */
+final class CopiedSnapshot implements ItemSnapshot {
+    private final List<InventoryItem> items;
+
+    CopiedSnapshot(List<InventoryItem> items) {
+        this.items = items;
+    }
+
+    @Override
+    public long getVersion() {
+        return 0;
+    }
+
+    @Override
+    public Stream<InventoryItem> stream() {
+        return items.stream();
+    }
+
+    @Override
+    public void close() {
+    }
+}
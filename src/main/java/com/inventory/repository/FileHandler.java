@@ -1,15 +1,50 @@
 package com.inventory.repository;
 
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
 import java.io.File;
 import java.io.FileReader;
-import java.io.FileWriter;
 import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
 
 public class FileHandler {
+    private static final String TEMP_SUFFIX = ".tmp";
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    @FunctionalInterface
+    public interface ContentWriter {
+        void writeTo(Writer out) throws IOException;
+    }
+
+    @FunctionalInterface
+    public interface ChannelWriter {
+        void writeTo(FileChannel channel) throws IOException;
+    }
+
     private final String filePath;
+    private final SyncPolicy syncPolicy;
 
     public FileHandler(String filePath) {
+        this(filePath, SyncPolicy.always());
+    }
+
+    /**
+     * Snapshot writes are forced to disk before they replace the old file unless
+     * {@code syncPolicy} is {@link SyncPolicy#never()}.
+     */
+    public FileHandler(String filePath, SyncPolicy syncPolicy) {
         this.filePath = filePath;
+        this.syncPolicy = syncPolicy;
     }
 
     public String readFromFile() throws IOException {
@@ -24,9 +59,60 @@ public class FileHandler {
         return content.toString();
     }
 
+    /**
+     * Opens a buffered UTF-8 reader over a channel on the file, for callers that
+     * parse the content incrementally instead of reading it into one String.
+     */
+    public Reader openReader() throws IOException {
+        FileChannel channel = FileChannel.open(Paths.get(filePath), StandardOpenOption.READ);
+        return new BufferedReader(Channels.newReader(channel, StandardCharsets.UTF_8.newDecoder(), -1),
+                BUFFER_SIZE);
+    }
+
     public void writeToFile(String content) throws IOException {
-        try (FileWriter writer = new FileWriter(filePath)) {
-            writer.write(content);
+        writeToFile(out -> out.write(content));
+    }
+
+    /**
+     * Streams text produced by {@code writer} to the file, see {@link #writeToChannel(ChannelWriter)}.
+     */
+    public void writeToFile(ContentWriter writer) throws IOException {
+        writeToChannel(channel -> {
+            Writer out = new BufferedWriter(Channels.newWriter(channel, StandardCharsets.UTF_8.newEncoder(), -1),
+                    BUFFER_SIZE);
+            writer.writeTo(out);
+            out.flush();
+        });
+    }
+
+    /**
+     * Lets {@code writer} fill a temporary file next to the target and renames it over
+     * the target, so a crash leaves either the old or the new file intact.
+     */
+    public void writeToChannel(ChannelWriter writer) throws IOException {
+        Path target = Paths.get(filePath).toAbsolutePath();
+        Path temp = target.resolveSibling(target.getFileName() + TEMP_SUFFIX);
+        boolean sync = syncPolicy.getMode() != SyncPolicy.Mode.NEVER;
+
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            writer.writeTo(channel);
+            if (sync) {
+                channel.force(true);
+            }
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(temp);
+            throw e;
+        }
+
+        try {
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+
+        if (sync) {
+            syncDirectory(target.getParent());
         }
     }
 
@@ -47,4 +133,25 @@ public class FileHandler {
             file.createNewFile();
         }
     }
+
+    public String getFilePath() {
+        return filePath;
+    }
+
+    public SyncPolicy getSyncPolicy() {
+        return syncPolicy;
+    }
+
+    private static void syncDirectory(Path directory) {
+        // Makes the rename itself durable. Not every platform can open a directory
+        // for syncing, in which case the rename is as durable as the OS makes it.
+        if (directory == null) {
+            return;
+        }
+        try (FileChannel channel = FileChannel.open(directory, StandardOpenOption.READ)) {
+            channel.force(true);
+        } catch (IOException e) {
+            // Ignored, see above
+        }
+    }
 }
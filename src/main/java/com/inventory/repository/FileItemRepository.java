@@ -1,108 +1,672 @@
 package com.inventory.repository;
 
 import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.AbstractCollection;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
-import java.util.stream.Collectors;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
 
-import com.google.gson.Gson;
-import com.google.gson.GsonBuilder;
-import com.inventory.model.InventoryData;
+import com.inventory.metrics.InventoryMetrics;
+import com.inventory.metrics.ItemMutationEvent;
+import com.inventory.metrics.OperationMetrics;
+import com.inventory.metrics.SnapshotLoadEvent;
+import com.inventory.metrics.SnapshotSaveEvent;
 import com.inventory.model.InventoryItem;
 import com.inventory.model.ItemCategory;
 
-public class FileItemRepository implements ItemRepository {
+/**
+ * File-backed repository that is safe to share between threads.
+ *
+ * <p>Reads never block: lookups go to a concurrent id map and {@link #findAll()}
+ * walks a concurrent map ordered by insertion sequence, seeing every change that
+ * completed before it started and possibly some that happen while it runs. Writes
+ * to the same id are serialized by one of a fixed set of striped locks, so each
+ * single-item operation is atomic and takes effect at a single point in time.
+ * Checkpoints briefly exclude writers so the snapshot and journal stay consistent.
+ *
+ * <p>Every change gets the next repository version. {@link #snapshot()} takes a
+ * consistent view in constant time: while a snapshot is open, replaced values and
+ * deleted items are kept for it, so its memory cost grows with the number of changes
+ * made after it was taken rather than with the size of the inventory. Closing the last
+ * snapshot that needs them lets the old values go.
+ *
+ * <p>In write-behind mode a change is applied in memory and only its id is noted before
+ * the caller returns. Once per interval a background thread writes the current state of
+ * every noted item in one journal append, or one snapshot without a journal, so repeated
+ * changes to an item cost one record.
+ * {@link #whenDurable()} tells callers when their changes have reached the disk.
+ *
+ * <p>The repository keeps its own copies of saved items, and {@link #findById(String)}
+ * returns a copy the caller may modify. Items returned by {@link #findAll()} are the
+ * stored instances and must be treated as read-only.
+ */
+public class FileItemRepository implements ItemRepository, AutoCloseable {
+    public static final int DEFAULT_CHECKPOINT_INTERVAL = 1000;
+    public static final String METRICS_LAYER = "snapshot";
+    private static final int LOCK_STRIPES = 64;
+
     private final FileHandler fileHandler;
-    private final Gson gson;
-    private List<InventoryItem> items;
-    private List<ItemCategory> categories;
+    private final ItemJournal journal;
+    private final int checkpointInterval;
+    private final SnapshotFormat snapshotFormat;
+    private final JsonSnapshot jsonSnapshot = new JsonSnapshot();
+    private final ConcurrentHashMap<String, StoredItem> items = new ConcurrentHashMap<>();
+    private final ConcurrentSkipListMap<Long, StoredItem> insertionOrder = new ConcurrentSkipListMap<>();
+    private final AtomicLong nextSequence = new AtomicLong();
+    private final ReentrantLock[] stripes = new ReentrantLock[LOCK_STRIPES];
+    private final ReentrantReadWriteLock checkpointLock = new ReentrantReadWriteLock();
+    private final AtomicInteger journalRecords = new AtomicInteger();
+    private final CategoryRegistry categories = new CategoryRegistry();
+    private final AtomicLong version = new AtomicLong();
+    // Writers share it while they apply a change, so a snapshot never sees half a batch
+    private final ReentrantReadWriteLock versionLock = new ReentrantReadWriteLock();
+    // Open snapshot versions and how many are open at each, guarded by versionLock
+    private final TreeMap<Long, Integer> openSnapshots = new TreeMap<>();
+    private volatile long oldestSnapshot = Long.MAX_VALUE;
+    private final Set<StoredItem> retained = ConcurrentHashMap.newKeySet();
+    private final List<ItemChangeListener> listeners = new CopyOnWriteArrayList<>();
+    private volatile CategoryIndex categoryIndex;
+    private final OperationMetrics loadMetrics;
+    private final OperationMetrics saveMetrics;
+    // Ids changed since the last write-behind flush, each with whether it was deleted in
+    // that time, and the lock that keeps a flush from interleaving with a checkpoint
+    private final ConcurrentHashMap<String, Boolean> dirty = new ConcurrentHashMap<>();
+    private final ReentrantLock flushLock = new ReentrantLock();
+    private final WriteBehindFlusher flusher;
 
     public FileItemRepository(FileHandler fileHandler) {
+        this(fileHandler, null, 0);
+    }
+
+    /**
+     * Creates a journaled repository. Mutations are appended to {@code journal} and
+     * the full snapshot is only rewritten every {@code checkpointInterval} records,
+     * or when {@link #checkpoint()} is called.
+     */
+    public FileItemRepository(FileHandler fileHandler, ItemJournal journal, int checkpointInterval) {
+        this(fileHandler, journal, checkpointInterval, SnapshotFormat.JSON);
+    }
+
+    /**
+     * Like {@link #FileItemRepository(FileHandler, ItemJournal, int)}, writing snapshots
+     * in {@code snapshotFormat}. The existing snapshot is read in whichever format it
+     * is in. Pass a null journal to write a snapshot on every mutation.
+     */
+    public FileItemRepository(FileHandler fileHandler, ItemJournal journal, int checkpointInterval,
+                              SnapshotFormat snapshotFormat) {
+        this(fileHandler, journal, checkpointInterval, snapshotFormat, null);
+    }
+
+    /**
+     * Like {@link #FileItemRepository(FileHandler, ItemJournal, int, SnapshotFormat)},
+     * recording how long loading and saving the snapshot take as the "load" and "save"
+     * operations of the "snapshot" layer of {@code metrics}, if it is not null.
+     */
+    public FileItemRepository(FileHandler fileHandler, ItemJournal journal, int checkpointInterval,
+                              SnapshotFormat snapshotFormat, InventoryMetrics metrics) {
+        this(fileHandler, journal, checkpointInterval, snapshotFormat, metrics, null);
+    }
+
+    /**
+     * Like {@link #FileItemRepository(FileHandler, ItemJournal, int, SnapshotFormat, InventoryMetrics)},
+     * persisting changes in the background as {@code writeBehind} describes, or before
+     * each mutation returns if it is null. Call {@link #close()} to flush what is left.
+     */
+    public FileItemRepository(FileHandler fileHandler, ItemJournal journal, int checkpointInterval,
+                              SnapshotFormat snapshotFormat, InventoryMetrics metrics,
+                              WriteBehindPolicy writeBehind) {
+        if (journal != null && checkpointInterval <= 0) {
+            throw new IllegalArgumentException("Checkpoint interval must be positive");
+        }
         this.fileHandler = fileHandler;
-        this.gson = new GsonBuilder().setPrettyPrinting().create();
+        this.journal = journal;
+        this.checkpointInterval = checkpointInterval;
+        this.snapshotFormat = snapshotFormat;
+        this.loadMetrics = metrics != null ? metrics.operation(METRICS_LAYER, "load", 1) : null;
+        this.saveMetrics = metrics != null ? metrics.operation(METRICS_LAYER, "save", 1) : null;
+        for (int i = 0; i < stripes.length; i++) {
+            stripes[i] = new ReentrantLock();
+        }
         loadData();
+        replayJournal();
+        this.flusher = writeBehind != null ? new WriteBehindFlusher(writeBehind, this::flushPending, dirty::size) : null;
     }
 
     private void loadData() {
+        SnapshotLoadEvent event = new SnapshotLoadEvent();
+        event.begin();
+        long start = loadMetrics != null ? loadMetrics.start() : 0;
+        boolean success = false;
         try {
             if (!fileHandler.fileExists()) {
                 fileHandler.createFile();
-                this.items = new ArrayList<>();
-                this.categories = new ArrayList<>();
+                success = true;
                 return;
             }
 
-            String content = fileHandler.readFromFile();
-            if (content == null || content.trim().isEmpty()) {
-                this.items = new ArrayList<>();
-                this.categories = new ArrayList<>();
-                return;
-            }
-
-            InventoryData data = gson.fromJson(content, InventoryData.class);
-            if (data == null) {
-                this.items = new ArrayList<>();
-                this.categories = new ArrayList<>();
+            Path path = Paths.get(fileHandler.getFilePath());
+            if (BinarySnapshot.isBinarySnapshot(path)) {
+                loadBinary(BinarySnapshot.open(path));
             } else {
-                this.items = data.getItems() != null ? data.getItems() : new ArrayList<>();
-                this.categories = data.getCategories() != null ? data.getCategories() : new ArrayList<>();
+                jsonSnapshot.read(fileHandler.openReader(), this::put, categories::register);
             }
+            success = true;
         } catch (IOException e) {
             System.err.println("Error loading data: " + e.getMessage());
-            this.items = new ArrayList<>();
-            this.categories = new ArrayList<>();
+            items.clear();
+            insertionOrder.clear();
+            categories.clear();
+        } finally {
+            if (loadMetrics != null) {
+                loadMetrics.stop(start, success);
+            }
+            event.end();
+            if (event.shouldCommit()) {
+                event.format = snapshotFormat.name();
+                event.itemCount = items.size();
+                event.bytesRead = fileSize();
+                event.success = success;
+                event.commit();
+            }
         }
     }
 
-    private void saveData() {
+    private long fileSize() {
         try {
-            InventoryData data = new InventoryData(items, categories);
-            String json = gson.toJson(data);
-            fileHandler.writeToFile(json);
+            return Files.size(Paths.get(fileHandler.getFilePath()));
         } catch (IOException e) {
-            System.err.println("Error saving data: " + e.getMessage());
+            return 0;
         }
     }
 
-    @Override
-    public InventoryItem save(InventoryItem item) {
-        if (item == null) {
-            throw new IllegalArgumentException("Item cannot be null");
+    /**
+     * Only item ids are decoded here; the rest of each record stays in the mapped
+     * file until the item is first read.
+     */
+    private void loadBinary(BinarySnapshot snapshot) {
+        categories.registerAll(snapshot.getCategories());
+        for (int i = 0; i < snapshot.size(); i++) {
+            StoredItem stored = new StoredItem(nextSequence.getAndIncrement(), snapshot, i);
+            items.put(snapshot.readId(i), stored);
+            insertionOrder.put(stored.getSequence(), stored);
+        }
+    }
+
+    private void replayJournal() {
+        if (journal == null) {
+            return;
+        }
+
+        try {
+            journalRecords.set(journal.replay(this::apply));
+        } catch (IOException e) {
+            System.err.println("Error replaying journal: " + e.getMessage());
         }
 
-        if (item.getCategory() != null) {
-            saveCategory(item.getCategory());
+        if (journalRecords.get() >= checkpointInterval) {
+            checkpoint();
         }
+    }
 
-        Optional<InventoryItem> existingItem = findById(item.getId());
-        
-        if (existingItem.isPresent()) {
-            items = items.stream()
-                    .map(i -> i.getId().equals(item.getId()) ? item : i)
-                    .collect(Collectors.toList());
+    private void apply(JournalRecord record) {
+        switch (record.getOp()) {
+            case SAVE:
+                InventoryItem item = record.getItem();
+                if (item.getCategory() != null) {
+                    categories.register(item.getCategory());
+                }
+                put(item);
+                break;
+            case DELETE:
+                remove(record.getId());
+                break;
+            case QUANTITY:
+                StoredItem stored = items.get(record.getId());
+                if (stored != null) {
+                    replace(stored, withQuantity(stored.get(), record.getQuantity()));
+                }
+                break;
+        }
+    }
+
+    /**
+     * Stores a copy of {@code item}. Callers hold the item's stripe lock, except while
+     * loading.
+     */
+    private void put(InventoryItem item) {
+        if (item.getId() == null) {
+            System.err.println("Skipping item without an ID: " + item);
+            return;
+        }
+
+        InventoryItem copy = new InventoryItem(item);
+        copy.setCategory(categories.intern(item.getCategory()));
+        StoredItem existing = items.get(item.getId());
+        if (existing != null) {
+            // Updating in place keeps the original insertion position
+            replace(existing, copy);
+            return;
+        }
+
+        StoredItem stored = new StoredItem(nextSequence.getAndIncrement(), copy, version.incrementAndGet());
+        items.put(item.getId(), stored);
+        insertionOrder.put(stored.getSequence(), stored);
+        fireChange(stored, null, copy);
+    }
+
+    private void replace(StoredItem stored, InventoryItem item) {
+        InventoryItem before = stored.peek();
+        boolean keepHistory = oldestSnapshot != Long.MAX_VALUE;
+        stored.set(item, version.incrementAndGet(), keepHistory);
+        if (keepHistory) {
+            retained.add(stored);
+        }
+        fireChange(stored, before, item);
+    }
+
+    private boolean remove(String id) {
+        StoredItem stored = items.remove(id);
+        if (stored == null) {
+            return false;
+        }
+        if (oldestSnapshot != Long.MAX_VALUE) {
+            // Open snapshots still see the item until they are closed
+            stored.delete(version.incrementAndGet());
+            retained.add(stored);
         } else {
-            items.add(item);
+            version.incrementAndGet();
+            insertionOrder.remove(stored.getSequence());
+        }
+        if (categoryIndex != null || !listeners.isEmpty()) {
+            fireChange(stored, stored.peek(), null);
+        }
+        return true;
+    }
+
+    /**
+     * Called with the item's stripe lock held, so listeners see the changes to each id
+     * in the order they were made.
+     */
+    private void fireChange(StoredItem stored, InventoryItem before, InventoryItem after) {
+        CategoryIndex index = categoryIndex;
+        if (index != null) {
+            index.changed(stored, before, after);
+        }
+        for (ItemChangeListener listener : listeners) {
+            try {
+                listener.itemChanged(before, after);
+            } catch (RuntimeException e) {
+                System.err.println("Error notifying change listener: " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Listeners added while other threads are writing may or may not be told about
+     * those in-flight changes, so callers that mirror the repository should register
+     * first and then read the current state with {@link #findAll()}.
+     */
+    @Override
+    public boolean addChangeListener(ItemChangeListener listener) {
+        if (listener == null) {
+            throw new IllegalArgumentException("Listener cannot be null");
+        }
+        listeners.add(listener);
+        return true;
+    }
+
+    @Override
+    public void removeChangeListener(ItemChangeListener listener) {
+        listeners.remove(listener);
+    }
+
+    private boolean saveData() {
+        List<ItemCategory> categorySnapshot = categories.list();
+        SnapshotSaveEvent event = new SnapshotSaveEvent();
+        event.begin();
+        long start = saveMetrics != null ? saveMetrics.start() : 0;
+        boolean success = false;
+
+        try {
+            if (snapshotFormat == SnapshotFormat.BINARY) {
+                // Records of the snapshot being replaced stay readable through the
+                // existing mapping, which outlives the rename on POSIX file systems
+                fileHandler.writeToChannel(channel -> BinarySnapshot.write(channel, itemsView(), categorySnapshot));
+            } else {
+                fileHandler.writeToFile(out -> jsonSnapshot.write(out, itemsView(), categorySnapshot));
+            }
+            success = true;
+        } catch (IOException e) {
+            System.err.println("Error saving data: " + e.getMessage());
+        } finally {
+            if (saveMetrics != null) {
+                saveMetrics.stop(start, success);
+            }
+            event.end();
+            if (event.shouldCommit()) {
+                event.format = snapshotFormat.name();
+                event.itemCount = items.size();
+                event.bytesWritten = success ? fileSize() : 0;
+                event.success = success;
+                event.commit();
+            }
+        }
+        return success;
+    }
+
+    /**
+     * All items in insertion order, without decoding binary records for good. Only
+     * stable while writers are excluded by the checkpoint lock.
+     */
+    private Collection<InventoryItem> itemsView() {
+        return new AbstractCollection<InventoryItem>() {
+            @Override
+            public Iterator<InventoryItem> iterator() {
+                return insertionOrder.values().stream()
+                        .filter(stored -> !stored.isDeleted())
+                        .map(StoredItem::peek)
+                        .iterator();
+            }
+
+            @Override
+            public int size() {
+                return items.size();
+            }
+        };
+    }
+
+    /**
+     * Appends the records to the journal while the caller still holds the locks that
+     * ordered the change, without waiting for the write to become durable.
+     *
+     * @return the journal sequence to commit, 0 if there is nothing to commit, or -1
+     * if the journal failed and the change must go to a snapshot instead
+     */
+    private long record(List<JournalRecord> records) {
+        if (flusher != null) {
+            for (JournalRecord record : records) {
+                markDirty(record);
+            }
+            return 0;
+        }
+        if (journal == null || records.isEmpty()) {
+            return 0;
+        }
+
+        try {
+            long sequence = journal.write(records);
+            journalRecords.addAndGet(records.size());
+            return sequence;
+        } catch (IOException e) {
+            System.err.println("Error writing journal: " + e.getMessage());
+            return -1;
         }
-        
-        saveData();
+    }
+
+    /**
+     * Makes a change durable once the caller has released its locks.
+     */
+    private void persist(long sequence, boolean changed) {
+        if (!changed) {
+            return;
+        }
+
+        if (flusher != null) {
+            flusher.changed();
+            return;
+        }
+        if (journal == null || sequence < 0) {
+            // The snapshot is the only place these changes can go
+            checkpoint();
+            return;
+        }
+
+        try {
+            journal.commit(sequence);
+        } catch (IOException e) {
+            System.err.println("Error syncing journal: " + e.getMessage());
+        }
+
+        if (journalRecords.get() >= checkpointInterval) {
+            checkpointLock.writeLock().lock();
+            try {
+                // Another writer may have checkpointed while we waited for the lock
+                if (journalRecords.get() >= checkpointInterval) {
+                    writeCheckpoint();
+                }
+            } finally {
+                checkpointLock.writeLock().unlock();
+            }
+        }
+    }
+
+    /**
+     * Writes the full inventory to the snapshot file and clears the journal. The
+     * journal is only cleared once the snapshot has been written, so a crash in
+     * between replays records that are already in the snapshot. That is harmless
+     * because every record sets state rather than changing it: a save or a new
+     * quantity gives the same result when applied twice.
+     * Writers wait while the checkpoint runs; readers do not. In write-behind mode the
+     * pending changes are flushed first.
+     */
+    public void checkpoint() {
+        if (flusher != null) {
+            flusher.flush();
+        }
+        flushLock.lock();
+        checkpointLock.writeLock().lock();
+        try {
+            writeCheckpoint();
+        } finally {
+            checkpointLock.writeLock().unlock();
+            flushLock.unlock();
+        }
+    }
+
+    /**
+     * @return whether the snapshot was written
+     */
+    private boolean writeCheckpoint() {
+        // Keep the journal if the snapshot failed, it still holds the only copy
+        if (!saveData()) {
+            return false;
+        }
+        if (journal == null) {
+            return true;
+        }
+
+        try {
+            journal.reset();
+            journalRecords.set(0);
+        } catch (IOException e) {
+            System.err.println("Error resetting journal: " + e.getMessage());
+        }
+        return true;
+    }
+
+    /**
+     * Writes the pending write-behind changes now, in one pass, and returns once that has
+     * finished. Does nothing without write-behind, where changes are already persisted.
+     */
+    public void flush() {
+        if (flusher != null) {
+            flusher.flush();
+        }
+    }
+
+    /**
+     * Completes once every change made before the call is on disk. Without write-behind
+     * that is already the case when a mutation returns.
+     */
+    @Override
+    public CompletableFuture<Void> whenDurable() {
+        return flusher != null ? flusher.whenDurable() : CompletableFuture.completedFuture(null);
+    }
+
+    private void markDirty(JournalRecord record) {
+        dirty.merge(record.getItemId(), record.getOp() == JournalRecord.Operation.DELETE, Boolean::logicalOr);
+    }
+
+    /**
+     * Writes the current state of every item changed since the last flush. The ids are
+     * collected with writers held off, which is what makes a batch durable as a whole;
+     * the records are written after letting them go.
+     *
+     * <p>Replay appends new items in journal order, so the records have to recreate the
+     * insertion order: deletes come first, then the saves in insertion order. An item
+     * that was deleted and added again is deleted before it is saved, so that replay
+     * moves it to the end as well.
+     */
+    private void flushPending(Runnable seal) throws IOException {
+        flushLock.lock();
+        try {
+            List<JournalRecord> records;
+            checkpointLock.writeLock().lock();
+            try {
+                seal.run();
+                if (dirty.isEmpty()) {
+                    return;
+                }
+                if (journal == null) {
+                    if (!writeCheckpoint()) {
+                        throw new IOException("Snapshot could not be written");
+                    }
+                    dirty.clear();
+                    return;
+                }
+
+                records = new ArrayList<>(dirty.size());
+                List<StoredItem> saved = new ArrayList<>(dirty.size());
+                for (Map.Entry<String, Boolean> entry : dirty.entrySet()) {
+                    StoredItem stored = items.get(entry.getKey());
+                    if (stored == null || entry.getValue()) {
+                        records.add(JournalRecord.delete(entry.getKey()));
+                    }
+                    if (stored != null) {
+                        saved.add(stored);
+                    }
+                }
+                saved.sort(Comparator.comparingLong(StoredItem::getSequence));
+                for (StoredItem stored : saved) {
+                    records.add(JournalRecord.save(stored.get()));
+                }
+                dirty.clear();
+            } finally {
+                checkpointLock.writeLock().unlock();
+            }
+
+            try {
+                journal.write(records);
+                journalRecords.addAndGet(records.size());
+                if (journal.getSyncPolicy().getMode() != SyncPolicy.Mode.NEVER) {
+                    journal.sync();
+                }
+            } catch (IOException e) {
+                System.err.println("Error writing journal: " + e.getMessage());
+                checkpointLock.writeLock().lock();
+                try {
+                    // The snapshot is the only place these changes can go
+                    if (!writeCheckpoint()) {
+                        for (JournalRecord record : records) {
+                            markDirty(record);
+                        }
+                        throw e;
+                    }
+                } finally {
+                    checkpointLock.writeLock().unlock();
+                }
+            }
+
+            if (journalRecords.get() >= checkpointInterval) {
+                checkpointLock.writeLock().lock();
+                try {
+                    writeCheckpoint();
+                } finally {
+                    checkpointLock.writeLock().unlock();
+                }
+            }
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    @Override
+    public InventoryItem save(InventoryItem item) {
+        saveIf(item, null, "save");
         return item;
     }
 
-    private ItemCategory saveCategory(ItemCategory category) {
-        Optional<ItemCategory> existingCategory = categories.stream()
-                .filter(c -> c.getId() == category.getId())
-                .findFirst();
-        
-        if (existingCategory.isPresent()) {
-            categories = categories.stream()
-                    .map(c -> c.getId() == category.getId() ? category : c)
-                    .collect(Collectors.toList());
-        } else {
-            categories.add(category);
+    @Override
+    public boolean insertIfAbsent(InventoryItem item) {
+        return saveIf(item, false, "insertIfAbsent");
+    }
+
+    @Override
+    public boolean replaceIfPresent(InventoryItem item) {
+        return saveIf(item, true, "replaceIfPresent");
+    }
+
+    /**
+     * Saves the item if an item with its id exists, or does not, as {@code present}
+     * asks; null saves it either way. The check and the save happen under the id's
+     * stripe lock.
+     *
+     * @return whether the item was saved
+     */
+    private boolean saveIf(InventoryItem item, Boolean present, String operation) {
+        if (item == null) {
+            throw new IllegalArgumentException("Item cannot be null");
+        }
+        if (item.getId() == null) {
+            throw new IllegalArgumentException("Item ID cannot be null");
         }
-        
-        return category;
+
+        ItemMutationEvent event = new ItemMutationEvent();
+        event.begin();
+        long sequence;
+        checkpointLock.readLock().lock();
+        versionLock.readLock().lock();
+        ReentrantLock stripe = stripeFor(item.getId());
+        stripe.lock();
+        try {
+            if (present != null && items.containsKey(item.getId()) != present) {
+                return false;
+            }
+            if (item.getCategory() != null) {
+                categories.register(item.getCategory());
+            }
+            put(item);
+            sequence = record(List.of(JournalRecord.save(item)));
+        } finally {
+            stripe.unlock();
+            versionLock.readLock().unlock();
+            checkpointLock.readLock().unlock();
+        }
+
+        persist(sequence, true);
+        commit(event, operation, item.getId(), 1);
+        return true;
     }
 
     @Override
@@ -110,15 +674,144 @@ public class FileItemRepository implements ItemRepository {
         if (id == null) {
             return Optional.empty();
         }
-        
-        return items.stream()
-                .filter(item -> item.getId().equals(id))
-                .findFirst();
+
+        StoredItem stored = items.get(id);
+        return stored != null ? Optional.of(detach(stored.get())) : Optional.empty();
     }
 
     @Override
     public List<InventoryItem> findAll() {
-        return new ArrayList<>(items);
+        List<InventoryItem> result = new ArrayList<>(items.size());
+        for (StoredItem stored : insertionOrder.values()) {
+            if (!stored.isDeleted()) {
+                result.add(stored.get());
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Pages are read straight from the insertion-ordered map, so a page costs
+     * O(log n + limit) and nothing else is copied. The cursor is the insertion sequence
+     * of the page's first item, so items that exist for the whole walk are returned
+     * exactly once even while other threads add and delete items.
+     */
+    @Override
+    public ItemPage findPage(long cursor, int limit) {
+        ItemPage.checkRequest(cursor, limit);
+        List<InventoryItem> page = new ArrayList<>(Math.min(limit, items.size()));
+        for (StoredItem stored : insertionOrder.tailMap(cursor).values()) {
+            if (stored.isDeleted()) {
+                continue;
+            }
+            if (page.size() == limit) {
+                return new ItemPage(page, stored.getSequence());
+            }
+            page.add(stored.get());
+        }
+        return ItemPage.last(page);
+    }
+
+    /**
+     * A weakly consistent stream over the live items that reflects changes made while it
+     * runs, without copying the inventory. It splits well for parallel use.
+     */
+    @Override
+    public Stream<InventoryItem> stream() {
+        return insertionOrder.values().stream().filter(stored -> !stored.isDeleted()).map(StoredItem::get);
+    }
+
+    /**
+     * Takes a snapshot in constant time. It waits only for changes that are being
+     * applied right now, never for a checkpoint.
+     */
+    @Override
+    public ItemSnapshot snapshot() {
+        versionLock.writeLock().lock();
+        try {
+            long at = version.get();
+            openSnapshots.merge(at, 1, Integer::sum);
+            oldestSnapshot = openSnapshots.firstKey();
+            return new VersionSnapshot(at);
+        } finally {
+            versionLock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Waits for changes in flight, so every value they kept for older snapshots is in
+     * {@code retained} before it is swept.
+     */
+    private void release(long at) {
+        versionLock.writeLock().lock();
+        try {
+            openSnapshots.merge(at, -1, (count, change) -> count + change == 0 ? null : count + change);
+            oldestSnapshot = openSnapshots.isEmpty() ? Long.MAX_VALUE : openSnapshots.firstKey();
+        } finally {
+            versionLock.writeLock().unlock();
+        }
+        dropHistory();
+    }
+
+    /**
+     * Drops the old values and tombstones that no open snapshot can see any more. Each
+     * item is pruned under its stripe lock so a writer cannot add to the history while
+     * it is being cut.
+     */
+    private void dropHistory() {
+        for (StoredItem stored : retained) {
+            String id = stored.peek().getId();
+            ReentrantLock stripe = stripeFor(id);
+            stripe.lock();
+            try {
+                long oldest = oldestSnapshot;
+                if (stored.isDeletedBefore(oldest)) {
+                    insertionOrder.remove(stored.getSequence(), stored);
+                    retained.remove(stored);
+                } else if (!stored.prune(oldest) && !stored.isDeleted()) {
+                    retained.remove(stored);
+                }
+            } finally {
+                stripe.unlock();
+            }
+        }
+    }
+
+    @Override
+    public List<InventoryItem> findByCategory(int categoryId) {
+        return categoryIndex().find(categoryId);
+    }
+
+    @Override
+    public CategoryStats getCategoryStats(int categoryId) {
+        return categoryIndex().stats(categoryId);
+    }
+
+    /**
+     * The category index, built on first use. Writers are held off while it is built
+     * and keep it current from then on.
+     */
+    private CategoryIndex categoryIndex() {
+        CategoryIndex index = categoryIndex;
+        if (index != null) {
+            return index;
+        }
+
+        checkpointLock.writeLock().lock();
+        try {
+            if (categoryIndex == null) {
+                CategoryIndex created = new CategoryIndex();
+                for (StoredItem stored : insertionOrder.values()) {
+                    if (!stored.isDeleted()) {
+                        created.changed(stored, null, stored.get());
+                    }
+                }
+                categoryIndex = created;
+            }
+            return categoryIndex;
+        } finally {
+            checkpointLock.writeLock().unlock();
+        }
     }
 
     @Override
@@ -126,17 +819,357 @@ public class FileItemRepository implements ItemRepository {
         if (id == null) {
             return false;
         }
-        
-        int initialSize = items.size();
-        items = items.stream()
-                .filter(item -> !item.getId().equals(id))
-                .collect(Collectors.toList());
-        
-        boolean deleted = items.size() < initialSize;
-        if (deleted) {
-            saveData();
-        }
-        
+
+        ItemMutationEvent event = new ItemMutationEvent();
+        event.begin();
+        boolean deleted;
+        long sequence = 0;
+        checkpointLock.readLock().lock();
+        versionLock.readLock().lock();
+        ReentrantLock stripe = stripeFor(id);
+        stripe.lock();
+        try {
+            deleted = remove(id);
+            if (deleted) {
+                sequence = record(List.of(JournalRecord.delete(id)));
+            }
+        } finally {
+            stripe.unlock();
+            versionLock.readLock().unlock();
+            checkpointLock.readLock().unlock();
+        }
+
+        persist(sequence, deleted);
+        commit(event, "delete", id, deleted ? 1 : 0);
         return deleted;
     }
+
+    /**
+     * Saves all items and persists them once, as a single journal write or a single
+     * snapshot. Nothing is applied if any item or id is null. The whole batch is
+     * applied under the locks of every id involved, so other writers see all of it
+     * or none of it for each of those ids.
+     */
+    @Override
+    public List<InventoryItem> saveAll(Collection<InventoryItem> batch) {
+        saveAllIf(batch, null, "saveAll");
+        return new ArrayList<>(batch);
+    }
+
+    @Override
+    public List<String> insertAllIfAbsent(Collection<InventoryItem> batch) {
+        return saveAllIf(batch, false, "insertAllIfAbsent");
+    }
+
+    @Override
+    public List<String> replaceAllIfPresent(Collection<InventoryItem> batch) {
+        return saveAllIf(batch, true, "replaceAllIfPresent");
+    }
+
+    /**
+     * Like {@link #saveIf}, for a whole batch: either every item passes the check and
+     * all of them are saved, or nothing is.
+     *
+     * @return the ids that failed the check, in batch order
+     */
+    private List<String> saveAllIf(Collection<InventoryItem> batch, Boolean present, String operation) {
+        if (batch == null) {
+            throw new IllegalArgumentException("Items cannot be null");
+        }
+        List<String> ids = new ArrayList<>(batch.size());
+        for (InventoryItem item : batch) {
+            if (item == null) {
+                throw new IllegalArgumentException("Item cannot be null");
+            }
+            if (item.getId() == null) {
+                throw new IllegalArgumentException("Item ID cannot be null");
+            }
+            ids.add(item.getId());
+        }
+
+        ItemMutationEvent event = new ItemMutationEvent();
+        event.begin();
+        long sequence;
+        checkpointLock.readLock().lock();
+        versionLock.readLock().lock();
+        List<ReentrantLock> locked = lockStripes(ids);
+        try {
+            if (present != null) {
+                List<String> rejected = new ArrayList<>();
+                for (String id : ids) {
+                    if (items.containsKey(id) != present) {
+                        rejected.add(id);
+                    }
+                }
+                if (!rejected.isEmpty()) {
+                    return rejected;
+                }
+            }
+
+            List<JournalRecord> records = new ArrayList<>(batch.size());
+            for (InventoryItem item : batch) {
+                if (item.getCategory() != null) {
+                    categories.register(item.getCategory());
+                }
+                put(item);
+                records.add(JournalRecord.save(item));
+            }
+            sequence = record(records);
+        } finally {
+            unlock(locked);
+            versionLock.readLock().unlock();
+            checkpointLock.readLock().unlock();
+        }
+
+        persist(sequence, !batch.isEmpty());
+        commit(event, operation, null, batch.size());
+        return new ArrayList<>();
+    }
+
+    @Override
+    public int deleteAll(Collection<String> ids) {
+        if (ids == null) {
+            return 0;
+        }
+
+        List<String> candidates = new ArrayList<>(ids.size());
+        for (String id : ids) {
+            if (id != null) {
+                candidates.add(id);
+            }
+        }
+
+        ItemMutationEvent event = new ItemMutationEvent();
+        event.begin();
+        List<JournalRecord> records = new ArrayList<>();
+        long sequence;
+        checkpointLock.readLock().lock();
+        versionLock.readLock().lock();
+        List<ReentrantLock> locked = lockStripes(candidates);
+        try {
+            for (String id : candidates) {
+                if (remove(id)) {
+                    records.add(JournalRecord.delete(id));
+                }
+            }
+            sequence = record(records);
+        } finally {
+            unlock(locked);
+            versionLock.readLock().unlock();
+            checkpointLock.readLock().unlock();
+        }
+
+        persist(sequence, !records.isEmpty());
+        commit(event, "deleteAll", null, records.size());
+        return records.size();
+    }
+
+    /**
+     * Applies the change under the item's stripe lock and journals only the new quantity.
+     */
+    @Override
+    public Optional<InventoryItem> adjustQuantity(String id, int delta) {
+        if (id == null) {
+            return Optional.empty();
+        }
+
+        ItemMutationEvent event = new ItemMutationEvent();
+        event.begin();
+        InventoryItem updated;
+        long sequence = 0;
+        checkpointLock.readLock().lock();
+        versionLock.readLock().lock();
+        ReentrantLock stripe = stripeFor(id);
+        stripe.lock();
+        try {
+            StoredItem stored = items.get(id);
+            if (stored == null) {
+                return Optional.empty();
+            }
+
+            InventoryItem current = stored.get();
+            long quantity = (long) current.getQuantity() + delta;
+            if (quantity < 0) {
+                throw new IllegalArgumentException("Insufficient quantity for item " + id + ": "
+                        + current.getQuantity() + " in stock, change of " + delta + " requested");
+            }
+            if (quantity > Integer.MAX_VALUE) {
+                throw new IllegalArgumentException("Quantity for item " + id + " would overflow");
+            }
+
+            updated = current;
+            if (delta != 0) {
+                updated = withQuantity(current, (int) quantity);
+                replace(stored, updated);
+                sequence = record(List.of(JournalRecord.quantity(id, (int) quantity)));
+            }
+        } finally {
+            stripe.unlock();
+            versionLock.readLock().unlock();
+            checkpointLock.readLock().unlock();
+        }
+
+        persist(sequence, delta != 0);
+        commit(event, "adjustQuantity", id, delta != 0 ? 1 : 0);
+        return Optional.of(detach(updated));
+    }
+
+    @Override
+    public CompareAndSetResult compareAndSetQuantity(String id, int expectedQuantity, int newQuantity) {
+        if (newQuantity < 0) {
+            throw new IllegalArgumentException("Quantity cannot be negative");
+        }
+        if (id == null) {
+            return CompareAndSetResult.NOT_FOUND;
+        }
+
+        ItemMutationEvent event = new ItemMutationEvent();
+        event.begin();
+        long sequence = 0;
+        boolean changed = false;
+        checkpointLock.readLock().lock();
+        versionLock.readLock().lock();
+        ReentrantLock stripe = stripeFor(id);
+        stripe.lock();
+        try {
+            StoredItem stored = items.get(id);
+            if (stored == null) {
+                return CompareAndSetResult.NOT_FOUND;
+            }
+            if (stored.get().getQuantity() != expectedQuantity) {
+                return CompareAndSetResult.MISMATCH;
+            }
+
+            if (newQuantity != expectedQuantity) {
+                replace(stored, withQuantity(stored.get(), newQuantity));
+                sequence = record(List.of(JournalRecord.quantity(id, newQuantity)));
+                changed = true;
+            }
+        } finally {
+            stripe.unlock();
+            versionLock.readLock().unlock();
+            checkpointLock.readLock().unlock();
+        }
+
+        persist(sequence, changed);
+        commit(event, "compareAndSetQuantity", id, changed ? 1 : 0);
+        return CompareAndSetResult.SET;
+    }
+
+    /**
+     * Records a completed change. Changes that throw, or that change no items, such as
+     * a deleteAll whose ids are all missing, are not recorded.
+     */
+    private static void commit(ItemMutationEvent event, String operation, String itemId, int itemCount) {
+        event.end();
+        if (itemCount > 0 && event.shouldCommit()) {
+            event.operation = operation;
+            event.itemId = itemId;
+            event.itemCount = itemCount;
+            event.commit();
+        }
+    }
+
+    /**
+     * A copy the caller may modify, including its category, which is otherwise shared
+     * with every item in the same category.
+     */
+    private static InventoryItem detach(InventoryItem item) {
+        InventoryItem copy = new InventoryItem(item);
+        if (copy.getCategory() != null) {
+            copy.setCategory(new ItemCategory(copy.getCategory()));
+        }
+        return copy;
+    }
+
+    private static InventoryItem withQuantity(InventoryItem item, int quantity) {
+        InventoryItem copy = new InventoryItem(item);
+        copy.setQuantity(quantity);
+        return copy;
+    }
+
+    /**
+     * Walks the insertion order and reads each item as of the snapshot's version, so
+     * items added after it was taken are skipped and deleted ones still show.
+     */
+    private final class VersionSnapshot implements ItemSnapshot {
+        private final long at;
+        private final AtomicBoolean open = new AtomicBoolean(true);
+
+        VersionSnapshot(long at) {
+            this.at = at;
+        }
+
+        @Override
+        public long getVersion() {
+            return at;
+        }
+
+        @Override
+        public Stream<InventoryItem> stream() {
+            if (!open.get()) {
+                throw new IllegalStateException("Snapshot is closed");
+            }
+            return insertionOrder.values().stream().map(stored -> stored.getAt(at)).filter(Objects::nonNull);
+        }
+
+        @Override
+        public void close() {
+            if (open.compareAndSet(true, false)) {
+                release(at);
+            }
+        }
+    }
+
+    private ReentrantLock stripeFor(String id) {
+        return stripes[stripeIndex(id)];
+    }
+
+    private static int stripeIndex(String id) {
+        int hash = id.hashCode();
+        return (hash ^ (hash >>> 16)) & (LOCK_STRIPES - 1);
+    }
+
+    /**
+     * Locks the stripes of all ids in ascending stripe order, which keeps concurrent
+     * batches from deadlocking each other.
+     */
+    private List<ReentrantLock> lockStripes(Collection<String> ids) {
+        TreeSet<Integer> indexes = new TreeSet<>();
+        for (String id : ids) {
+            indexes.add(stripeIndex(id));
+        }
+
+        List<ReentrantLock> locked = new ArrayList<>(indexes.size());
+        for (int index : indexes) {
+            stripes[index].lock();
+            locked.add(stripes[index]);
+        }
+        return locked;
+    }
+
+    private static void unlock(List<ReentrantLock> locked) {
+        for (int i = locked.size() - 1; i >= 0; i--) {
+            locked.get(i).unlock();
+        }
+    }
+
+    /**
+     * Flushes pending write-behind changes, checkpoints any journaled changes and
+     * releases the journal file.
+     */
+    @Override
+    public void close() {
+        if (flusher != null) {
+            flusher.close();
+        }
+        if (journal == null) {
+            return;
+        }
+
+        if (journalRecords.get() > 0) {
+            checkpoint();
+        }
+        journal.close();
+    }
 }
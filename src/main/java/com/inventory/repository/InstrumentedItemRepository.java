@@ -0,0 +1,277 @@
+package com.inventory.repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Stream;
+
+import com.inventory.metrics.InventoryMetrics;
+import com.inventory.metrics.OperationMetrics;
+import com.inventory.model.InventoryItem;
+
+/**
+ * Records the count, errors and latency of every call to another repository under the
+ * "repository" layer of an {@link InventoryMetrics}. {@link #stream()} and
+ * {@link #snapshot()} are passed through untimed, since their work happens as the caller
+ * consumes them.
+ */
+public class InstrumentedItemRepository implements ItemRepository {
+    public static final String LAYER = "repository";
+
+    private final ItemRepository delegate;
+    private final OperationMetrics saveMetrics;
+    private final OperationMetrics insertIfAbsentMetrics;
+    private final OperationMetrics replaceIfPresentMetrics;
+    private final OperationMetrics findByIdMetrics;
+    private final OperationMetrics findAllMetrics;
+    private final OperationMetrics deleteMetrics;
+    private final OperationMetrics findPageMetrics;
+    private final OperationMetrics findByCategoryMetrics;
+    private final OperationMetrics getCategoryStatsMetrics;
+    private final OperationMetrics saveAllMetrics;
+    private final OperationMetrics insertAllIfAbsentMetrics;
+    private final OperationMetrics replaceAllIfPresentMetrics;
+    private final OperationMetrics deleteAllMetrics;
+    private final OperationMetrics adjustQuantityMetrics;
+    private final OperationMetrics compareAndSetQuantityMetrics;
+
+    public InstrumentedItemRepository(ItemRepository delegate, InventoryMetrics metrics) {
+        this.delegate = delegate;
+        this.saveMetrics = metrics.operation(LAYER, "save");
+        this.insertIfAbsentMetrics = metrics.operation(LAYER, "insertIfAbsent");
+        this.replaceIfPresentMetrics = metrics.operation(LAYER, "replaceIfPresent");
+        this.findByIdMetrics = metrics.operation(LAYER, "findById");
+        this.findAllMetrics = metrics.operation(LAYER, "findAll");
+        this.deleteMetrics = metrics.operation(LAYER, "delete");
+        this.findPageMetrics = metrics.operation(LAYER, "findPage");
+        this.findByCategoryMetrics = metrics.operation(LAYER, "findByCategory");
+        this.getCategoryStatsMetrics = metrics.operation(LAYER, "getCategoryStats");
+        this.saveAllMetrics = metrics.operation(LAYER, "saveAll");
+        this.insertAllIfAbsentMetrics = metrics.operation(LAYER, "insertAllIfAbsent");
+        this.replaceAllIfPresentMetrics = metrics.operation(LAYER, "replaceAllIfPresent");
+        this.deleteAllMetrics = metrics.operation(LAYER, "deleteAll");
+        this.adjustQuantityMetrics = metrics.operation(LAYER, "adjustQuantity");
+        this.compareAndSetQuantityMetrics = metrics.operation(LAYER, "compareAndSetQuantity");
+    }
+
+    @Override
+    public InventoryItem save(InventoryItem item) {
+        long start = saveMetrics.start();
+        boolean success = false;
+        try {
+            InventoryItem result = delegate.save(item);
+            success = true;
+            return result;
+        } finally {
+            saveMetrics.stop(start, success);
+        }
+    }
+
+    @Override
+    public boolean insertIfAbsent(InventoryItem item) {
+        long start = insertIfAbsentMetrics.start();
+        boolean success = false;
+        try {
+            boolean result = delegate.insertIfAbsent(item);
+            success = true;
+            return result;
+        } finally {
+            insertIfAbsentMetrics.stop(start, success);
+        }
+    }
+
+    @Override
+    public boolean replaceIfPresent(InventoryItem item) {
+        long start = replaceIfPresentMetrics.start();
+        boolean success = false;
+        try {
+            boolean result = delegate.replaceIfPresent(item);
+            success = true;
+            return result;
+        } finally {
+            replaceIfPresentMetrics.stop(start, success);
+        }
+    }
+
+    @Override
+    public Optional<InventoryItem> findById(String id) {
+        long start = findByIdMetrics.start();
+        boolean success = false;
+        try {
+            Optional<InventoryItem> result = delegate.findById(id);
+            success = true;
+            return result;
+        } finally {
+            findByIdMetrics.stop(start, success);
+        }
+    }
+
+    @Override
+    public List<InventoryItem> findAll() {
+        long start = findAllMetrics.start();
+        boolean success = false;
+        try {
+            List<InventoryItem> result = delegate.findAll();
+            success = true;
+            return result;
+        } finally {
+            findAllMetrics.stop(start, success);
+        }
+    }
+
+    @Override
+    public boolean delete(String id) {
+        long start = deleteMetrics.start();
+        boolean success = false;
+        try {
+            boolean result = delegate.delete(id);
+            success = true;
+            return result;
+        } finally {
+            deleteMetrics.stop(start, success);
+        }
+    }
+
+    @Override
+    public ItemPage findPage(long cursor, int limit) {
+        long start = findPageMetrics.start();
+        boolean success = false;
+        try {
+            ItemPage result = delegate.findPage(cursor, limit);
+            success = true;
+            return result;
+        } finally {
+            findPageMetrics.stop(start, success);
+        }
+    }
+
+    @Override
+    public List<InventoryItem> findByCategory(int categoryId) {
+        long start = findByCategoryMetrics.start();
+        boolean success = false;
+        try {
+            List<InventoryItem> result = delegate.findByCategory(categoryId);
+            success = true;
+            return result;
+        } finally {
+            findByCategoryMetrics.stop(start, success);
+        }
+    }
+
+    @Override
+    public CategoryStats getCategoryStats(int categoryId) {
+        long start = getCategoryStatsMetrics.start();
+        boolean success = false;
+        try {
+            CategoryStats result = delegate.getCategoryStats(categoryId);
+            success = true;
+            return result;
+        } finally {
+            getCategoryStatsMetrics.stop(start, success);
+        }
+    }
+
+    @Override
+    public List<InventoryItem> saveAll(Collection<InventoryItem> items) {
+        long start = saveAllMetrics.start();
+        boolean success = false;
+        try {
+            List<InventoryItem> result = delegate.saveAll(items);
+            success = true;
+            return result;
+        } finally {
+            saveAllMetrics.stop(start, success);
+        }
+    }
+
+    @Override
+    public List<String> insertAllIfAbsent(Collection<InventoryItem> items) {
+        long start = insertAllIfAbsentMetrics.start();
+        boolean success = false;
+        try {
+            List<String> result = delegate.insertAllIfAbsent(items);
+            success = true;
+            return result;
+        } finally {
+            insertAllIfAbsentMetrics.stop(start, success);
+        }
+    }
+
+    @Override
+    public List<String> replaceAllIfPresent(Collection<InventoryItem> items) {
+        long start = replaceAllIfPresentMetrics.start();
+        boolean success = false;
+        try {
+            List<String> result = delegate.replaceAllIfPresent(items);
+            success = true;
+            return result;
+        } finally {
+            replaceAllIfPresentMetrics.stop(start, success);
+        }
+    }
+
+    @Override
+    public int deleteAll(Collection<String> ids) {
+        long start = deleteAllMetrics.start();
+        boolean success = false;
+        try {
+            int result = delegate.deleteAll(ids);
+            success = true;
+            return result;
+        } finally {
+            deleteAllMetrics.stop(start, success);
+        }
+    }
+
+    @Override
+    public Optional<InventoryItem> adjustQuantity(String id, int delta) {
+        long start = adjustQuantityMetrics.start();
+        boolean success = false;
+        try {
+            Optional<InventoryItem> result = delegate.adjustQuantity(id, delta);
+            success = true;
+            return result;
+        } finally {
+            adjustQuantityMetrics.stop(start, success);
+        }
+    }
+
+    @Override
+    public CompareAndSetResult compareAndSetQuantity(String id, int expectedQuantity, int newQuantity) {
+        long start = compareAndSetQuantityMetrics.start();
+        boolean success = false;
+        try {
+            CompareAndSetResult result = delegate.compareAndSetQuantity(id, expectedQuantity, newQuantity);
+            success = true;
+            return result;
+        } finally {
+            compareAndSetQuantityMetrics.stop(start, success);
+        }
+    }
+
+    @Override
+    public Stream<InventoryItem> stream() {
+        return delegate.stream();
+    }
+
+    @Override
+    public ItemSnapshot snapshot() {
+        return delegate.snapshot();
+    }
+
+    @Override
+    public CompletableFuture<Void> whenDurable() {
+        return delegate.whenDurable();
+    }
+
+    @Override
+    public boolean addChangeListener(ItemChangeListener listener) {
+        return delegate.addChangeListener(listener);
+    }
+
+    @Override
+    public void removeChangeListener(ItemChangeListener listener) {
+        delegate.removeChangeListener(listener);
+    }
+}
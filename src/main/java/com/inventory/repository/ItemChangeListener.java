@@ -0,0 +1,17 @@
+package com.inventory.repository;
+
+import com.inventory.model.InventoryItem;
+
+/**
+ * Told about each change to a repository's items, in the order the changes were made
+ * to any one id. {@code before} is null for a new item and {@code after} is null for a
+ * deleted one. Both are the repository's own instances and must not be modified.
+ *
+ * <p>Listeners run on the writing thread while the item's lock is held, so they
+ * should be quick and must not write to the repository.
+ */
+@FunctionalInterface
+public interface ItemChangeListener {
+
+    void itemChanged(InventoryItem before, InventoryItem after);
+}
@@ -0,0 +1,294 @@
+package com.inventory.repository;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+
+/**
+ * Append-only log of repository mutations, one compact JSON record per line.
+ * Records are replayed on top of the last snapshot at startup and discarded
+ * once a checkpoint has written a new snapshot.
+ *
+ * <p>Appends are thread-safe. With {@link SyncPolicy#always()} an append returns
+ * only once its record is on disk; appenders that arrive while a flush is running
+ * wait for the next one, so concurrent writers share a single fsync.
+ */
+public class ItemJournal implements AutoCloseable {
+    private static final byte NEWLINE = '\n';
+
+    private final Path path;
+    private final SyncPolicy syncPolicy;
+    private final Gson gson;
+    private final Object syncLock = new Object();
+    private FileChannel channel;
+    private ScheduledExecutorService syncer;
+    private volatile long appendedCount;
+    private long syncedCount;
+    private boolean syncing;
+
+    public ItemJournal(String filePath) {
+        this(filePath, SyncPolicy.always());
+    }
+
+    public ItemJournal(String filePath, SyncPolicy syncPolicy) {
+        this.path = Paths.get(filePath);
+        this.syncPolicy = syncPolicy;
+        this.gson = new Gson();
+    }
+
+    /**
+     * Opens the journal and feeds every complete record to the visitor in write order.
+     * A torn or corrupt tail left behind by a crash is truncated so that new records
+     * are appended after the last good one.
+     *
+     * @return the number of records replayed
+     */
+    synchronized int replay(Consumer<JournalRecord> visitor) throws IOException {
+        FileChannel ch = open();
+        ch.position(0);
+
+        ByteBuffer buffer = ByteBuffer.allocate(64 * 1024);
+        ByteArrayOutputStream line = new ByteArrayOutputStream(256);
+        long offset = 0;
+        long validLength = 0;
+        int count = 0;
+        boolean corrupt = false;
+
+        while (!corrupt && ch.read(buffer) != -1) {
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                byte b = buffer.get();
+                offset++;
+                if (b != NEWLINE) {
+                    line.write(b);
+                    continue;
+                }
+
+                JournalRecord record = parse(line.toString(StandardCharsets.UTF_8));
+                line.reset();
+                if (record == null) {
+                    corrupt = true;
+                    break;
+                }
+                visitor.accept(record);
+                validLength = offset;
+                count++;
+            }
+            buffer.clear();
+        }
+
+        if (validLength < ch.size()) {
+            System.err.println("Discarding " + (ch.size() - validLength) + " bytes of incomplete journal data");
+            ch.truncate(validLength);
+        }
+        ch.position(validLength);
+        return count;
+    }
+
+    void append(JournalRecord record) throws IOException {
+        appendAll(List.of(record));
+    }
+
+    /**
+     * Appends the records with a single write and, under {@link SyncPolicy#always()},
+     * a single flush.
+     */
+    void appendAll(List<JournalRecord> records) throws IOException {
+        commit(write(records));
+    }
+
+    /**
+     * Writes the records without waiting for them to become durable. Callers that need
+     * to order the write against other state can do so here and {@link #commit(long)}
+     * outside their critical section.
+     *
+     * @return the sequence to pass to {@link #commit(long)}
+     */
+    long write(List<JournalRecord> records) throws IOException {
+        if (records.isEmpty()) {
+            return 0;
+        }
+
+        StringBuilder lines = new StringBuilder(records.size() * 128);
+        for (JournalRecord record : records) {
+            gson.toJson(record, lines);
+            lines.append('\n');
+        }
+        byte[] bytes = lines.toString().getBytes(StandardCharsets.UTF_8);
+        synchronized (this) {
+            ByteBuffer buffer = ByteBuffer.wrap(bytes);
+            FileChannel ch = open();
+            while (buffer.hasRemaining()) {
+                ch.write(buffer);
+            }
+            appendedCount += records.size();
+            return appendedCount;
+        }
+    }
+
+    /**
+     * Waits until the write that returned {@code sequence} is durable, as far as the
+     * sync policy asks for it.
+     */
+    void commit(long sequence) throws IOException {
+        if (syncPolicy.getMode() == SyncPolicy.Mode.ALWAYS) {
+            awaitSync(sequence);
+        }
+    }
+
+    /**
+     * Forces every record appended so far to disk, regardless of the sync policy.
+     */
+    public void sync() throws IOException {
+        awaitSync(appendedCount);
+    }
+
+    /**
+     * Drops all records. Only call this after the state they describe has been
+     * written to a snapshot.
+     */
+    synchronized void reset() throws IOException {
+        FileChannel ch = open();
+        ch.truncate(0);
+        ch.position(0);
+    }
+
+    public synchronized long size() throws IOException {
+        return open().size();
+    }
+
+    public SyncPolicy getSyncPolicy() {
+        return syncPolicy;
+    }
+
+    @Override
+    public synchronized void close() {
+        if (channel == null) {
+            return;
+        }
+        if (syncer != null) {
+            syncer.shutdownNow();
+            syncer = null;
+        }
+        try {
+            if (syncPolicy.getMode() != SyncPolicy.Mode.NEVER) {
+                channel.force(false);
+            }
+            channel.close();
+        } catch (IOException e) {
+            System.err.println("Error closing journal: " + e.getMessage());
+        }
+        channel = null;
+    }
+
+    private void awaitSync(long sequence) throws IOException {
+        synchronized (syncLock) {
+            // Whoever is flushing now may have started before our record was written,
+            // so wait for that flush to finish and check again
+            while (syncing && syncedCount < sequence) {
+                try {
+                    syncLock.wait();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new InterruptedIOException("Interrupted while waiting for journal sync");
+                }
+            }
+            if (syncedCount >= sequence) {
+                return;
+            }
+            syncing = true;
+        }
+
+        // Everything counted in appendedCount has already been written to the channel
+        long target = appendedCount;
+        IOException failure = null;
+        try {
+            FileChannel ch;
+            synchronized (this) {
+                ch = channel;
+            }
+            // A closed journal was already forced by close()
+            if (ch != null) {
+                ch.force(false);
+            }
+        } catch (IOException e) {
+            failure = e;
+        }
+
+        synchronized (syncLock) {
+            syncing = false;
+            if (failure == null) {
+                syncedCount = Math.max(syncedCount, target);
+            }
+            syncLock.notifyAll();
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    private FileChannel open() throws IOException {
+        if (channel == null) {
+            Path parent = path.toAbsolutePath().getParent();
+            if (parent != null) {
+                parent.toFile().mkdirs();
+            }
+            channel = FileChannel.open(path, StandardOpenOption.CREATE,
+                    StandardOpenOption.READ, StandardOpenOption.WRITE);
+            channel.position(channel.size());
+            startSyncer();
+        }
+        return channel;
+    }
+
+    private void startSyncer() {
+        if (syncPolicy.getMode() != SyncPolicy.Mode.INTERVAL) {
+            return;
+        }
+
+        syncer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "journal-sync");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long interval = syncPolicy.getIntervalMillis();
+        syncer.scheduleWithFixedDelay(() -> {
+            try {
+                if (appendedCount > syncedCount()) {
+                    sync();
+                }
+            } catch (IOException e) {
+                System.err.println("Error syncing journal: " + e.getMessage());
+            }
+        }, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    private long syncedCount() {
+        synchronized (syncLock) {
+            return syncedCount;
+        }
+    }
+
+    private JournalRecord parse(String line) {
+        try {
+            JournalRecord record = gson.fromJson(line, JournalRecord.class);
+            return record != null && record.isValid() ? record : null;
+        } catch (JsonParseException e) {
+            return null;
+        }
+    }
+}
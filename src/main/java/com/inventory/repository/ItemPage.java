@@ -0,0 +1,51 @@
+package com.inventory.repository;
+
+import java.util.Collections;
+import java.util.List;
+
+import com.inventory.model.InventoryItem;
+
+/**
+ * One page of items from {@link ItemRepository#findPage(long, int)}, with the cursor
+ * to pass to get the next one.
+ */
+public final class ItemPage {
+    public static final long FIRST = 0;
+    private static final long END = -1;
+
+    private final List<InventoryItem> items;
+    private final long nextCursor;
+
+    public ItemPage(List<InventoryItem> items, long nextCursor) {
+        this.items = Collections.unmodifiableList(items);
+        this.nextCursor = nextCursor;
+    }
+
+    public static ItemPage last(List<InventoryItem> items) {
+        return new ItemPage(items, END);
+    }
+
+    public List<InventoryItem> getItems() {
+        return items;
+    }
+
+    public boolean hasNext() {
+        return nextCursor != END;
+    }
+
+    /**
+     * The cursor of the following page. Only meaningful if {@link #hasNext()}.
+     */
+    public long getNextCursor() {
+        return nextCursor;
+    }
+
+    static void checkRequest(long cursor, int limit) {
+        if (cursor < 0) {
+            throw new IllegalArgumentException("Cursor cannot be negative");
+        }
+        if (limit <= 0) {
+            throw new IllegalArgumentException("Page limit must be positive");
+        }
+    }
+}
@@ -1,17 +1,195 @@
 package com.inventory.repository;
 
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Stream;
 
 import com.inventory.model.InventoryItem;
 
 public interface ItemRepository {
     
     InventoryItem save(InventoryItem item);
+
+    /**
+     * Saves {@code item} only if there is no item with its id yet.
+     *
+     * <p>This default checks and saves in two steps, so implementations that allow
+     * concurrent writers must override it to do both atomically.
+     *
+     * @return whether the item was saved
+     */
+    default boolean insertIfAbsent(InventoryItem item) {
+        if (findById(item.getId()).isPresent()) {
+            return false;
+        }
+        save(item);
+        return true;
+    }
+
+    /**
+     * Saves {@code item} only if there is an item with its id already, atomically in
+     * the same way as {@link #insertIfAbsent(InventoryItem)}.
+     *
+     * @return whether the item was saved
+     */
+    default boolean replaceIfPresent(InventoryItem item) {
+        if (findById(item.getId()).isEmpty()) {
+            return false;
+        }
+        save(item);
+        return true;
+    }
     
     Optional<InventoryItem> findById(String id);
     
     List<InventoryItem> findAll();
 
     boolean delete(String id);
+
+    /**
+     * Returns up to {@code limit} items in the same order as {@link #findAll()}, starting
+     * at {@code cursor}. Pass {@link ItemPage#FIRST} for the first page and then each
+     * page's {@link ItemPage#getNextCursor()}.
+     *
+     * <p>This default pages through a full {@link #findAll()} copy, so implementations
+     * should override it.
+     */
+    default ItemPage findPage(long cursor, int limit) {
+        ItemPage.checkRequest(cursor, limit);
+        List<InventoryItem> all = findAll();
+        int from = (int) Math.min(cursor, all.size());
+        int to = (int) Math.min((long) from + limit, all.size());
+        List<InventoryItem> page = new ArrayList<>(all.subList(from, to));
+        return to < all.size() ? new ItemPage(page, to) : ItemPage.last(page);
+    }
+
+    /**
+     * All items in the same order as {@link #findAll()}, as a stream that can be split
+     * for parallel processing. The items are read-only.
+     */
+    default Stream<InventoryItem> stream() {
+        return findAll().stream();
+    }
+
+    /**
+     * The items whose category has the given id, in the same order as {@link #findAll()}.
+     */
+    default List<InventoryItem> findByCategory(int categoryId) {
+        List<InventoryItem> result = new ArrayList<>();
+        for (InventoryItem item : findAll()) {
+            if (item.getCategory() != null && item.getCategory().getId() == categoryId) {
+                result.add(item);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Item count, units and value of one category. This default scans {@link #findAll()};
+     * implementations should keep the totals up to date instead.
+     */
+    default CategoryStats getCategoryStats(int categoryId) {
+        int count = 0;
+        long units = 0;
+        double value = 0;
+        for (InventoryItem item : findByCategory(categoryId)) {
+            count++;
+            units += item.getQuantity();
+            value += item.getTotalValue();
+        }
+        return new CategoryStats(categoryId, count, units, value);
+    }
+
+    /**
+     * A consistent point-in-time view of every item. This default copies the whole
+     * inventory through {@link #findAll()}; implementations that keep versions can
+     * take it in constant time.
+     */
+    default ItemSnapshot snapshot() {
+        return new CopiedSnapshot(findAll());
+    }
+
+    /**
+     * Completes once every change made before the call is durable. Repositories that
+     * persist before a mutation returns complete it immediately.
+     */
+    default CompletableFuture<Void> whenDurable() {
+        return CompletableFuture.completedFuture(null);
+    }
+
+    List<InventoryItem> saveAll(Collection<InventoryItem> items);
+
+    /**
+     * Saves all items if none of their ids exist yet, and otherwise saves none of them.
+     * Like {@link #insertIfAbsent(InventoryItem)}, implementations that allow concurrent
+     * writers must override this default to check and save atomically.
+     *
+     * @return the ids that already exist, in batch order; empty if the items were saved
+     */
+    default List<String> insertAllIfAbsent(Collection<InventoryItem> items) {
+        List<String> existing = new ArrayList<>();
+        for (InventoryItem item : items) {
+            if (findById(item.getId()).isPresent()) {
+                existing.add(item.getId());
+            }
+        }
+        if (existing.isEmpty()) {
+            saveAll(items);
+        }
+        return existing;
+    }
+
+    /**
+     * Saves all items if every one of their ids exists, and otherwise saves none of
+     * them, atomically in the same way as {@link #insertAllIfAbsent(Collection)}.
+     *
+     * @return the ids that do not exist, in batch order; empty if the items were saved
+     */
+    default List<String> replaceAllIfPresent(Collection<InventoryItem> items) {
+        List<String> missing = new ArrayList<>();
+        for (InventoryItem item : items) {
+            if (findById(item.getId()).isEmpty()) {
+                missing.add(item.getId());
+            }
+        }
+        if (missing.isEmpty()) {
+            saveAll(items);
+        }
+        return missing;
+    }
+
+    int deleteAll(Collection<String> ids);
+
+    /**
+     * Atomically adds {@code delta} to the item's quantity.
+     *
+     * @return the item after the change, or empty if there is no item with that id
+     * @throws IllegalArgumentException if the quantity would drop below zero
+     */
+    Optional<InventoryItem> adjustQuantity(String id, int delta);
+
+    /**
+     * Atomically sets the item's quantity to {@code newQuantity} if it currently is
+     * {@code expectedQuantity}.
+     *
+     * @return {@link CompareAndSetResult#SET} if the quantity was set, otherwise whether
+     * the item had another quantity or does not exist
+     */
+    CompareAndSetResult compareAndSetQuantity(String id, int expectedQuantity, int newQuantity);
+
+    /**
+     * Registers a listener for every later change to this repository.
+     *
+     * @return false if this repository does not publish changes, in which case the
+     * listener is never called
+     */
+    default boolean addChangeListener(ItemChangeListener listener) {
+        return false;
+    }
+
+    default void removeChangeListener(ItemChangeListener listener) {
+    }
 }
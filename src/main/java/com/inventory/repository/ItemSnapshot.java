@@ -0,0 +1,33 @@
+package com.inventory.repository;
+
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+import com.inventory.model.InventoryItem;
+
+/**
+ * A point-in-time view of every item in a repository, in insertion order. Changes made
+ * after the snapshot was taken are not visible through it, and a batch change is either
+ * entirely visible or not at all. Close the snapshot when done so the repository can
+ * drop the old values it keeps for it.
+ *
+ * <p>The items are the repository's own instances and must not be modified.
+ */
+public interface ItemSnapshot extends AutoCloseable, Iterable<InventoryItem> {
+
+    /**
+     * The repository version the snapshot shows. Later snapshots have equal or higher
+     * versions.
+     */
+    long getVersion();
+
+    Stream<InventoryItem> stream();
+
+    @Override
+    default Iterator<InventoryItem> iterator() {
+        return stream().iterator();
+    }
+
+    @Override
+    void close();
+}
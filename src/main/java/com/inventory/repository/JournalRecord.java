@@ -0,0 +1,106 @@
+package com.inventory.repository;
+
+import java.util.Objects;
+
+import com.inventory.model.InventoryItem;
+
+class JournalRecord {
+
+    enum Operation {
+        SAVE,
+        DELETE,
+        /** Sets an item's quantity. Replaying it again leaves the same result. */
+        QUANTITY
+    }
+
+    private Operation op;
+    private InventoryItem item;
+    private String id;
+    private Integer quantity;
+
+    JournalRecord() {
+    }
+
+    private JournalRecord(Operation op, InventoryItem item, String id, Integer quantity) {
+        this.op = op;
+        this.item = item;
+        this.id = id;
+        this.quantity = quantity;
+    }
+
+    static JournalRecord save(InventoryItem item) {
+        return new JournalRecord(Operation.SAVE, item, null, null);
+    }
+
+    static JournalRecord delete(String id) {
+        return new JournalRecord(Operation.DELETE, null, id, null);
+    }
+
+    /**
+     * A quantity change recorded as the new quantity only, so stock movements cost a
+     * few bytes of journal regardless of the size of the item. Unlike a difference it
+     * can be replayed on top of a snapshot that already contains it.
+     */
+    static JournalRecord quantity(String id, int quantity) {
+        return new JournalRecord(Operation.QUANTITY, null, id, quantity);
+    }
+
+    Operation getOp() {
+        return op;
+    }
+
+    InventoryItem getItem() {
+        return item;
+    }
+
+    String getId() {
+        return id;
+    }
+
+    /**
+     * The id of the changed item, whatever the operation.
+     */
+    String getItemId() {
+        return op == Operation.SAVE ? item.getId() : id;
+    }
+
+    int getQuantity() {
+        return quantity;
+    }
+
+    boolean isValid() {
+        if (op == Operation.SAVE) {
+            return item != null && item.getId() != null;
+        }
+        if (op == Operation.QUANTITY) {
+            return id != null && quantity != null && quantity >= 0;
+        }
+        return op == Operation.DELETE && id != null;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        JournalRecord that = (JournalRecord) o;
+        return op == that.op &&
+                Objects.equals(item, that.item) &&
+                Objects.equals(id, that.id) &&
+                Objects.equals(quantity, that.quantity);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(op, item, id, quantity);
+    }
+
+    @Override
+    public String toString() {
+        return "JournalRecord{" +
+                "op=" + op +
+                ", item=" + item +
+                ", id='" + id + '\'' +
+                ", quantity=" + quantity +
+                '}';
+    }
+}
@@ -0,0 +1,106 @@
+package com.inventory.repository;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.util.function.Consumer;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonSyntaxException;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+import com.google.gson.stream.MalformedJsonException;
+import com.inventory.model.InventoryItem;
+import com.inventory.model.ItemCategory;
+
+/**
+ * Reads and writes the pretty-printed JSON snapshot format one item at a time, so only
+ * the resulting objects are held in memory and never the file content or a parsed tree.
+ */
+final class JsonSnapshot {
+    private final Gson gson;
+    private final TypeAdapter<InventoryItem> itemAdapter;
+    private final TypeAdapter<ItemCategory> categoryAdapter;
+
+    JsonSnapshot() {
+        this.gson = new GsonBuilder().setPrettyPrinting().create();
+        this.itemAdapter = gson.getAdapter(InventoryItem.class);
+        this.categoryAdapter = gson.getAdapter(ItemCategory.class);
+    }
+
+    /**
+     * Feeds every item and category to the consumers in file order. Malformed or
+     * truncated content is reported as JsonSyntaxException, like Gson.fromJson would.
+     */
+    void read(Reader in, Consumer<InventoryItem> items, Consumer<ItemCategory> categories) throws IOException {
+        try (JsonReader reader = gson.newJsonReader(in)) {
+            // Same leniency Gson.fromJson applied when the file was read as a String
+            reader.setLenient(true);
+            readData(reader, items, categories);
+        } catch (MalformedJsonException e) {
+            throw new JsonSyntaxException(e);
+        }
+    }
+
+    private void readData(JsonReader reader, Consumer<InventoryItem> items,
+                          Consumer<ItemCategory> categories) throws IOException {
+        JsonToken token;
+        try {
+            token = reader.peek();
+        } catch (EOFException e) {
+            // Empty file
+            return;
+        }
+        if (token == JsonToken.NULL) {
+            return;
+        }
+
+        try {
+            reader.beginObject();
+            while (reader.hasNext()) {
+                String name = reader.nextName();
+                if (reader.peek() == JsonToken.NULL) {
+                    reader.nextNull();
+                } else if (name.equals("items")) {
+                    reader.beginArray();
+                    while (reader.hasNext()) {
+                        items.accept(itemAdapter.read(reader));
+                    }
+                    reader.endArray();
+                } else if (name.equals("categories")) {
+                    reader.beginArray();
+                    while (reader.hasNext()) {
+                        categories.accept(categoryAdapter.read(reader));
+                    }
+                    reader.endArray();
+                } else {
+                    reader.skipValue();
+                }
+            }
+            reader.endObject();
+        } catch (EOFException | IllegalStateException e) {
+            throw new JsonSyntaxException(e);
+        }
+    }
+
+    void write(Writer out, Iterable<InventoryItem> items, Iterable<ItemCategory> categories) throws IOException {
+        JsonWriter writer = gson.newJsonWriter(out);
+        writer.beginObject();
+        writer.name("items").beginArray();
+        for (InventoryItem item : items) {
+            itemAdapter.write(writer, item);
+        }
+        writer.endArray();
+        writer.name("categories").beginArray();
+        for (ItemCategory category : categories) {
+            categoryAdapter.write(writer, category);
+        }
+        writer.endArray();
+        writer.endObject();
+        writer.flush();
+    }
+}
@@ -0,0 +1,89 @@
+package com.inventory.repository;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.inventory.model.InventoryItem;
+import com.inventory.model.ItemCategory;
+
+/**
+ * Converts snapshot files between the JSON and binary formats.
+ *
+ * Usage: SnapshotConverter &lt;source&gt; &lt;target&gt; [json|binary]
+ * Without a format the target is written in the format the source is not in.
+ */
+public class SnapshotConverter {
+
+    public static void main(String[] args) {
+        if (args.length < 2 || args.length > 3) {
+            System.err.println("Usage: SnapshotConverter <source> <target> [json|binary]");
+            System.exit(2);
+        }
+
+        try {
+            Path source = Paths.get(args[0]);
+            Path target = Paths.get(args[1]);
+            SnapshotFormat format = args.length == 3
+                    ? SnapshotFormat.valueOf(args[2].toUpperCase())
+                    : BinarySnapshot.isBinarySnapshot(source) ? SnapshotFormat.JSON : SnapshotFormat.BINARY;
+            int count = convert(source, target, format);
+            System.out.println("Wrote " + count + " items to " + target + " as " + format);
+        } catch (IOException | IllegalArgumentException e) {
+            System.err.println("ERROR: " + e.getMessage());
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Writes the content of {@code source}, in either format, to {@code target} in
+     * {@code format}. The target is replaced atomically.
+     *
+     * @return the number of items written
+     */
+    public static int convert(Path source, Path target, SnapshotFormat format) throws IOException {
+        if (!Files.isRegularFile(source)) {
+            throw new IOException("Snapshot not found: " + source);
+        }
+
+        List<InventoryItem> items;
+        List<ItemCategory> categories;
+        if (BinarySnapshot.isBinarySnapshot(source)) {
+            BinarySnapshot snapshot = BinarySnapshot.open(source);
+            items = new AbstractList<InventoryItem>() {
+                @Override
+                public InventoryItem get(int index) {
+                    return snapshot.readItem(index);
+                }
+
+                @Override
+                public int size() {
+                    return snapshot.size();
+                }
+            };
+            categories = snapshot.getCategories();
+        } else {
+            // Later duplicates of an id replace earlier ones, as they do when loading
+            Map<String, InventoryItem> byId = new LinkedHashMap<>();
+            List<ItemCategory> jsonCategories = new ArrayList<>();
+            new JsonSnapshot().read(new FileHandler(source.toString()).openReader(),
+                    item -> byId.put(item.getId(), item), jsonCategories::add);
+            items = new ArrayList<>(byId.values());
+            categories = jsonCategories;
+        }
+
+        FileHandler output = new FileHandler(target.toString());
+        if (format == SnapshotFormat.BINARY) {
+            output.writeToChannel(channel -> BinarySnapshot.write(channel, items, categories));
+        } else {
+            output.writeToFile(out -> new JsonSnapshot().write(out, items, categories));
+        }
+        return items.size();
+    }
+}
@@ -0,0 +1,12 @@
+package com.inventory.repository;
+
+/**
+ * On-disk format of the snapshot file. Existing snapshots are loaded in whichever
+ * format they were written in; this only decides how new snapshots are written.
+ */
+public enum SnapshotFormat {
+    /** Pretty-printed JSON, see {@link JsonSnapshot}. */
+    JSON,
+    /** Memory-mapped binary records, see {@link BinarySnapshot}. */
+    BINARY
+}
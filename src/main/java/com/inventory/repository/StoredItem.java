@@ -0,0 +1,160 @@
+package com.inventory.repository;
+
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+
+import com.inventory.model.InventoryItem;
+
+/**
+ * Repository slot for one item. The sequence fixes the item's position in insertion
+ * order for as long as it exists. Items loaded from a binary snapshot start out as a
+ * reference to their record and are only decoded the first time they are read.
+ *
+ * <p>Each value carries the repository version that made it current. While snapshots
+ * are open, replacing the value keeps the old one in a chain of older versions, and a
+ * deleted item stays in insertion order as a tombstone, so {@link #getAt(long)} can
+ * answer for any open snapshot. Once no snapshot needs them, {@link #prune(long)} drops
+ * the old values.
+ */
+final class StoredItem {
+    private static final AtomicReferenceFieldUpdater<StoredItem, InventoryItem> ITEM =
+            AtomicReferenceFieldUpdater.newUpdater(StoredItem.class, InventoryItem.class, "item");
+
+    private final long sequence;
+    private final BinarySnapshot snapshot;
+    private final int ordinal;
+
+    // Written in the order older, since, item and read in the reverse order, so a reader
+    // that sees a new item also sees its version, and one that sees a new version also
+    // sees the value it replaced
+    private volatile ItemVersion older;
+    private volatile long since;
+    private volatile InventoryItem item;
+    private volatile long deletedAt = Long.MAX_VALUE;
+
+    StoredItem(long sequence, InventoryItem item, long version) {
+        this.sequence = sequence;
+        this.snapshot = null;
+        this.ordinal = -1;
+        this.since = version;
+        this.item = item;
+    }
+
+    StoredItem(long sequence, BinarySnapshot snapshot, int ordinal) {
+        this.sequence = sequence;
+        this.snapshot = snapshot;
+        this.ordinal = ordinal;
+    }
+
+    long getSequence() {
+        return sequence;
+    }
+
+    InventoryItem get() {
+        InventoryItem current = item;
+        if (current == null) {
+            // Only install the decoded record if no writer replaced the item meanwhile
+            InventoryItem decoded = snapshot.readItem(ordinal);
+            current = ITEM.compareAndSet(this, null, decoded) ? decoded : item;
+        }
+        return current;
+    }
+
+    /**
+     * Returns the item without keeping a decoded copy, for one-off passes such as
+     * writing a new snapshot.
+     */
+    InventoryItem peek() {
+        InventoryItem current = item;
+        return current != null ? current : snapshot.readItem(ordinal);
+    }
+
+    /**
+     * Whether this slot is a tombstone, kept only for snapshots taken before the delete.
+     * A tombstone still returns its last value from {@link #get()}.
+     */
+    boolean isDeleted() {
+        return deletedAt != Long.MAX_VALUE;
+    }
+
+    /**
+     * The item as of repository {@code version}, or null if it did not exist then.
+     */
+    InventoryItem getAt(long version) {
+        if (deletedAt <= version) {
+            return null;
+        }
+        InventoryItem current = item;
+        if (since <= version) {
+            // A null item was never replaced, so the record is still the value
+            return current != null ? current : snapshot.readItem(ordinal);
+        }
+        for (ItemVersion value = older; value != null; value = value.older) {
+            if (value.since <= version) {
+                return value.item;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Makes {@code item} current as of {@code version}. The caller holds the item's
+     * stripe lock.
+     *
+     * @param keepHistory whether an open snapshot may still need the value replaced
+     */
+    void set(InventoryItem item, long version, boolean keepHistory) {
+        older = keepHistory ? new ItemVersion(peek(), since, older) : null;
+        since = version;
+        this.item = item;
+    }
+
+    /**
+     * Turns this slot into a tombstone as of {@code version}, for the open snapshots
+     * that can still see the item.
+     */
+    void delete(long version) {
+        deletedAt = version;
+    }
+
+    /**
+     * Drops the older values that no snapshot at or after {@code oldestSnapshot} can
+     * see. Readers of those snapshots stop before reaching the dropped values, so this
+     * is safe while they run.
+     *
+     * @return whether older values remain
+     */
+    boolean prune(long oldestSnapshot) {
+        long newerSince = since;
+        if (newerSince <= oldestSnapshot) {
+            older = null;
+            return false;
+        }
+        for (ItemVersion value = older; value != null; value = value.older) {
+            if (value.since <= oldestSnapshot) {
+                value.older = null;
+                break;
+            }
+        }
+        return older != null;
+    }
+
+    /**
+     * Whether this tombstone is invisible to every snapshot at or after
+     * {@code oldestSnapshot}.
+     */
+    boolean isDeletedBefore(long oldestSnapshot) {
+        return isDeleted() && deletedAt <= oldestSnapshot;
+    }
+
+    private static final class ItemVersion {
+        final InventoryItem item;
+        final long since;
+        volatile ItemVersion older;
+
+        ItemVersion(InventoryItem item, long since, ItemVersion older) {
+            this.item = item;
+            this.since = since;
+            this.older = older;
+        }
+    }
+}
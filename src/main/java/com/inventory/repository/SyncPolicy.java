@@ -0,0 +1,93 @@
+package com.inventory.repository;
+
+import java.util.Objects;
+
+/**
+ * When written data is forced to disk. {@code always} flushes before a write returns,
+ * {@code every(ms)} flushes in the background at most {@code ms} after a write, and
+ * {@code never} leaves flushing to the operating system.
+ */
+public final class SyncPolicy {
+
+    public enum Mode {
+        ALWAYS,
+        INTERVAL,
+        NEVER
+    }
+
+    private static final SyncPolicy ALWAYS = new SyncPolicy(Mode.ALWAYS, 0);
+    private static final SyncPolicy NEVER = new SyncPolicy(Mode.NEVER, 0);
+
+    private final Mode mode;
+    private final long intervalMillis;
+
+    private SyncPolicy(Mode mode, long intervalMillis) {
+        this.mode = mode;
+        this.intervalMillis = intervalMillis;
+    }
+
+    public static SyncPolicy always() {
+        return ALWAYS;
+    }
+
+    public static SyncPolicy never() {
+        return NEVER;
+    }
+
+    public static SyncPolicy every(long intervalMillis) {
+        if (intervalMillis <= 0) {
+            throw new IllegalArgumentException("Sync interval must be positive");
+        }
+        return new SyncPolicy(Mode.INTERVAL, intervalMillis);
+    }
+
+    /**
+     * Parses {@code always}, {@code never} or an interval in milliseconds.
+     */
+    public static SyncPolicy parse(String value) {
+        if (value == null || value.trim().isEmpty()) {
+            throw new IllegalArgumentException("Sync policy cannot be empty");
+        }
+
+        String policy = value.trim().toLowerCase();
+        switch (policy) {
+            case "always":
+                return always();
+            case "never":
+                return never();
+            default:
+                try {
+                    return every(Long.parseLong(policy.endsWith("ms")
+                            ? policy.substring(0, policy.length() - 2) : policy));
+                } catch (NumberFormatException e) {
+                    throw new IllegalArgumentException("Invalid sync policy: " + value);
+                }
+        }
+    }
+
+    public Mode getMode() {
+        return mode;
+    }
+
+    public long getIntervalMillis() {
+        return intervalMillis;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        SyncPolicy that = (SyncPolicy) o;
+        return intervalMillis == that.intervalMillis && mode == that.mode;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(mode, intervalMillis);
+    }
+
+    @Override
+    public String toString() {
+        return mode == Mode.INTERVAL ? intervalMillis + "ms" : mode.name().toLowerCase();
+    }
+}
@@ -0,0 +1,133 @@
+package com.inventory.repository;
+
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.IntSupplier;
+
+/**
+ * Background thread that flushes a write-behind repository's pending changes once per
+ * interval, or sooner when enough of them pile up.
+ *
+ * <p>Changes are grouped into generations. Each flush seals the current generation
+ * while writers are excluded and completes its future once the sealed changes are
+ * durable, so a caller that waits on {@link #whenDurable()} after making a change
+ * waits for the flush that contains it, or at worst for the one after.
+ */
+final class WriteBehindFlusher implements AutoCloseable {
+
+    /**
+     * Writes the pending changes. Calls {@code seal} while writers are excluded, right
+     * before capturing what to write.
+     */
+    interface Task {
+        void flush(Runnable seal) throws IOException;
+    }
+
+    private final WriteBehindPolicy policy;
+    private final Task task;
+    private final IntSupplier pending;
+    private final Object signal = new Object();
+    private final Thread thread;
+    private volatile CompletableFuture<Void> generation = new CompletableFuture<>();
+    private CompletableFuture<Void> sealed;
+    private volatile boolean closed;
+
+    WriteBehindFlusher(WriteBehindPolicy policy, Task task, IntSupplier pending) {
+        this.policy = policy;
+        this.task = task;
+        this.pending = pending;
+        this.thread = new Thread(this::run, "write-behind");
+        this.thread.setDaemon(true);
+        this.thread.start();
+    }
+
+    /**
+     * Completes once every change made before the call is durable.
+     */
+    CompletableFuture<Void> whenDurable() {
+        return generation;
+    }
+
+    /**
+     * Called after each change, outside the repository's locks. Wakes the flusher once
+     * the threshold is reached and blocks the caller while the pending limit is.
+     */
+    void changed() {
+        int waiting = pending.getAsInt();
+        if (waiting < policy.getFlushThreshold()) {
+            return;
+        }
+
+        CompletableFuture<Void> next = generation;
+        synchronized (signal) {
+            signal.notifyAll();
+        }
+        if (waiting >= policy.getMaxPending() && Thread.currentThread() != thread) {
+            try {
+                next.join();
+            } catch (CompletionException e) {
+                // The writer only waits for room; the failure is reported to the callers
+                // waiting on that generation
+            }
+        }
+    }
+
+    /**
+     * Flushes now, on the calling thread, and returns once the flush has finished.
+     */
+    synchronized void flush() {
+        sealed = null;
+        try {
+            task.flush(this::seal);
+            if (sealed != null) {
+                sealed.complete(null);
+            }
+        } catch (IOException | RuntimeException e) {
+            System.err.println("Error flushing pending changes: " + e.getMessage());
+            if (sealed != null) {
+                sealed.completeExceptionally(e);
+            }
+        }
+    }
+
+    private void seal() {
+        sealed = generation;
+        generation = new CompletableFuture<>();
+    }
+
+    private void run() {
+        while (!closed) {
+            synchronized (signal) {
+                if (!closed && pending.getAsInt() < policy.getFlushThreshold()) {
+                    try {
+                        signal.wait(policy.getIntervalMillis());
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                }
+            }
+            if (!closed) {
+                flush();
+            }
+        }
+    }
+
+    /**
+     * Stops the background thread and flushes whatever is still pending.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        // Not interrupted: that would close the file channel of a flush in progress
+        synchronized (signal) {
+            signal.notifyAll();
+        }
+        try {
+            thread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        flush();
+    }
+}
@@ -0,0 +1,87 @@
+package com.inventory.repository;
+
+import java.util.Objects;
+
+/**
+ * How a write-behind repository batches changes. Changes are flushed at most
+ * {@code intervalMillis} after they are made, or as soon as {@code flushThreshold} items
+ * are waiting. Once {@code maxPending} items are waiting, writers block until the next
+ * flush has finished.
+ */
+public final class WriteBehindPolicy {
+    public static final int DEFAULT_FLUSH_THRESHOLD = 1000;
+    public static final int DEFAULT_MAX_PENDING = 10000;
+
+    private final long intervalMillis;
+    private final int flushThreshold;
+    private final int maxPending;
+
+    private WriteBehindPolicy(long intervalMillis, int flushThreshold, int maxPending) {
+        this.intervalMillis = intervalMillis;
+        this.flushThreshold = flushThreshold;
+        this.maxPending = maxPending;
+    }
+
+    public static WriteBehindPolicy every(long intervalMillis) {
+        return every(intervalMillis, DEFAULT_FLUSH_THRESHOLD, DEFAULT_MAX_PENDING);
+    }
+
+    public static WriteBehindPolicy every(long intervalMillis, int flushThreshold, int maxPending) {
+        if (intervalMillis <= 0) {
+            throw new IllegalArgumentException("Flush interval must be positive");
+        }
+        if (flushThreshold <= 0 || maxPending < flushThreshold) {
+            throw new IllegalArgumentException("Flush threshold must be positive and no larger than the pending limit");
+        }
+        return new WriteBehindPolicy(intervalMillis, flushThreshold, maxPending);
+    }
+
+    /**
+     * Parses a flush interval in milliseconds, such as {@code 100} or {@code 100ms}, using
+     * the default threshold and pending limit.
+     */
+    public static WriteBehindPolicy parse(String value) {
+        if (value == null || value.trim().isEmpty()) {
+            throw new IllegalArgumentException("Write-behind interval cannot be empty");
+        }
+
+        String interval = value.trim().toLowerCase();
+        try {
+            return every(Long.parseLong(interval.endsWith("ms")
+                    ? interval.substring(0, interval.length() - 2) : interval));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid write-behind interval: " + value);
+        }
+    }
+
+    public long getIntervalMillis() {
+        return intervalMillis;
+    }
+
+    public int getFlushThreshold() {
+        return flushThreshold;
+    }
+
+    public int getMaxPending() {
+        return maxPending;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        WriteBehindPolicy that = (WriteBehindPolicy) o;
+        return intervalMillis == that.intervalMillis && flushThreshold == that.flushThreshold
+                && maxPending == that.maxPending;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(intervalMillis, flushThreshold, maxPending);
+    }
+
+    @Override
+    public String toString() {
+        return intervalMillis + "ms";
+    }
+}
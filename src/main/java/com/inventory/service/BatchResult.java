@@ -0,0 +1,87 @@
+package com.inventory.service;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Outcome of a batch operation: the ids that were applied and the entries that were
+ * rejected, identified by their position in the submitted batch.
+ */
+public class BatchResult {
+    private final List<String> succeededIds;
+    private final List<Failure> failures;
+
+    public BatchResult(List<String> succeededIds, List<Failure> failures) {
+        this.succeededIds = Collections.unmodifiableList(succeededIds);
+        this.failures = Collections.unmodifiableList(failures);
+    }
+
+    public List<String> getSucceededIds() {
+        return succeededIds;
+    }
+
+    public List<Failure> getFailures() {
+        return failures;
+    }
+
+    public int getSuccessCount() {
+        return succeededIds.size();
+    }
+
+    public boolean hasFailures() {
+        return !failures.isEmpty();
+    }
+
+    @Override
+    public String toString() {
+        return "BatchResult{" +
+                "succeeded=" + succeededIds.size() +
+                ", failures=" + failures +
+                '}';
+    }
+
+    public static class Failure {
+        private final int index;
+        private final String id;
+        private final String message;
+
+        public Failure(int index, String id, String message) {
+            this.index = index;
+            this.id = id;
+            this.message = message;
+        }
+
+        public int getIndex() {
+            return index;
+        }
+
+        public String getId() {
+            return id;
+        }
+
+        public String getMessage() {
+            return message;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            Failure failure = (Failure) o;
+            return index == failure.index &&
+                    Objects.equals(id, failure.id) &&
+                    Objects.equals(message, failure.message);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(index, id, message);
+        }
+
+        @Override
+        public String toString() {
+            return "#" + index + " (" + id + "): " + message;
+        }
+    }
+}
@@ -0,0 +1,186 @@
+package com.inventory.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.LockSupport;
+
+import com.inventory.model.InventoryItem;
+import com.inventory.repository.ItemChangeListener;
+
+/**
+ * Numbers every repository change and keeps the most recent ones in a fixed-size ring.
+ *
+ * <p>A writer only takes the next sequence, stores the change in its slot and wakes
+ * any listener thread that is waiting, so it never waits for a listener. Each listener
+ * has a thread of its own that follows the ring. A listener that falls more than the
+ * ring's capacity behind skips ahead and is told what it missed. Readers tell a change
+ * that has not been stored yet from one that has been overwritten by comparing the
+ * slot's sequence with the one they want.
+ *
+ * <p>Sequences are only meaningful within one feed, and a feed lasts as long as the
+ * process. Each feed therefore has a random epoch that callers hand back with their
+ * sequence, so a sequence from an earlier run is never mistaken for one of this run's.
+ */
+final class ChangeFeed implements ItemChangeListener {
+    static final int DEFAULT_CAPACITY = 1 << 16;
+
+    private final AtomicReferenceArray<InventoryChange> ring;
+    private final int mask;
+    private final String epoch = UUID.randomUUID().toString();
+    private final AtomicLong sequence = new AtomicLong();
+    private final List<Subscription> subscriptions = new CopyOnWriteArrayList<>();
+
+    ChangeFeed(int capacity) {
+        if (Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("Capacity must be a power of two");
+        }
+        this.ring = new AtomicReferenceArray<>(capacity);
+        this.mask = capacity - 1;
+    }
+
+    /**
+     * Called under the changed item's lock, so the changes to any one id are numbered in
+     * the order they were made.
+     */
+    @Override
+    public void itemChanged(InventoryItem before, InventoryItem after) {
+        if ((after != null ? after : before).getId() == null) {
+            return;
+        }
+
+        long next = sequence.incrementAndGet();
+        ring.set(slot(next), new InventoryChange(next, before, after));
+        for (Subscription subscription : subscriptions) {
+            if (subscription.waiting) {
+                subscription.waiting = false;
+                LockSupport.unpark(subscription.thread);
+            }
+        }
+    }
+
+    String epoch() {
+        return epoch;
+    }
+
+    long latestSequence() {
+        return sequence.get();
+    }
+
+    /**
+     * @param epoch the epoch that {@code after} was issued in, or null if the caller has
+     * not read from the feed before, which is only accepted together with sequence 0
+     */
+    ChangePage since(String epoch, long after, int limit) {
+        long latest = sequence.get();
+        boolean sameFeed = epoch != null ? this.epoch.equals(epoch) : after == 0;
+        if (!sameFeed || after > latest || latest - after > ring.length()) {
+            return new ChangePage(this.epoch, new ArrayList<>(), false, latest);
+        }
+
+        List<InventoryChange> changes = new ArrayList<>((int) Math.min(limit, latest - after));
+        long last = after;
+        for (long wanted = after + 1; wanted <= latest && changes.size() < limit; wanted++) {
+            InventoryChange change = ring.get(slot(wanted));
+            if (change == null || change.getSequence() < wanted) {
+                // Numbered but not stored yet; the caller picks it up next time
+                break;
+            }
+            if (change.getSequence() > wanted) {
+                if (changes.isEmpty()) {
+                    return new ChangePage(this.epoch, changes, false, latest);
+                }
+                break;
+            }
+            changes.add(change);
+            last = wanted;
+        }
+        return new ChangePage(this.epoch, changes, true, last);
+    }
+
+    /**
+     * Starts delivering the changes made from now on to {@code listener}.
+     */
+    void subscribe(InventoryChangeListener listener) {
+        Subscription subscription = new Subscription(listener, sequence.get());
+        subscriptions.add(subscription);
+        subscription.thread.start();
+    }
+
+    void unsubscribe(InventoryChangeListener listener) {
+        for (Subscription subscription : subscriptions) {
+            if (subscription.listener == listener) {
+                subscriptions.remove(subscription);
+                subscription.close();
+            }
+        }
+    }
+
+    private int slot(long sequence) {
+        return (int) (sequence & mask);
+    }
+
+    private final class Subscription implements Runnable {
+        final InventoryChangeListener listener;
+        final Thread thread;
+        volatile boolean waiting;
+        private volatile boolean closed;
+        private long delivered;
+
+        Subscription(InventoryChangeListener listener, long delivered) {
+            this.listener = listener;
+            this.delivered = delivered;
+            this.thread = new Thread(this, "change-listener");
+            this.thread.setDaemon(true);
+        }
+
+        @Override
+        public void run() {
+            while (!closed) {
+                long wanted = delivered + 1;
+                InventoryChange change = ring.get(slot(wanted));
+                if (change != null && change.getSequence() == wanted) {
+                    deliver(change);
+                    delivered = wanted;
+                } else if (change != null && change.getSequence() > wanted) {
+                    long oldest = sequence.get() - mask;
+                    missed(wanted, oldest - 1);
+                    delivered = oldest - 1;
+                } else {
+                    waiting = true;
+                    // A writer that stored the change before seeing the flag will not
+                    // wake us, so look again before parking
+                    change = ring.get(slot(wanted));
+                    if (change == null || change.getSequence() < wanted) {
+                        LockSupport.park(this);
+                    }
+                    waiting = false;
+                }
+            }
+        }
+
+        private void deliver(InventoryChange change) {
+            try {
+                listener.changed(change);
+            } catch (RuntimeException e) {
+                System.err.println("Error notifying change listener: " + e.getMessage());
+            }
+        }
+
+        private void missed(long first, long last) {
+            try {
+                listener.missed(first, last);
+            } catch (RuntimeException e) {
+                System.err.println("Error notifying change listener: " + e.getMessage());
+            }
+        }
+
+        void close() {
+            closed = true;
+            LockSupport.unpark(thread);
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.inventory.service;
+
+import java.util.List;
+
+/**
+ * Result of {@link InventoryService#getChangesSince(String, long, int)}: the changes after
+ * the requested sequence, oldest first.
+ */
+public class ChangePage {
+    private final String epoch;
+    private final List<InventoryChange> changes;
+    private final boolean complete;
+    private final long lastSequence;
+
+    public ChangePage(String epoch, List<InventoryChange> changes, boolean complete, long lastSequence) {
+        this.epoch = epoch;
+        this.changes = changes;
+        this.complete = complete;
+        this.lastSequence = lastSequence;
+    }
+
+    /**
+     * The epoch that the sequences in this page belong to, to pass back together with
+     * {@link #getLastSequence()}. It changes when the process restarts. Null if the
+     * repository does not publish changes.
+     */
+    public String getEpoch() {
+        return epoch;
+    }
+
+    public List<InventoryChange> getChanges() {
+        return changes;
+    }
+
+    /**
+     * False if changes right after the requested sequence are no longer kept, or the
+     * sequence was not issued by this run of the feed, for example because it came from
+     * before a restart. The caller has to re-read the inventory and continue from
+     * {@link #getEpoch()} and {@link #getLastSequence()}.
+     */
+    public boolean isComplete() {
+        return complete;
+    }
+
+    /**
+     * The sequence to ask for next time: that of the last change returned, or the latest
+     * sequence if the page is incomplete.
+     */
+    public long getLastSequence() {
+        return lastSequence;
+    }
+
+    @Override
+    public String toString() {
+        return "ChangePage{" +
+                "epoch='" + epoch + '\'' +
+                ", changes=" + changes.size() +
+                ", complete=" + complete +
+                ", lastSequence=" + lastSequence +
+                '}';
+    }
+}
@@ -0,0 +1,50 @@
+package com.inventory.service;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Outcome of an import: how many rows were read and imported, and the rows that were
+ * rejected. Only the first {@link #MAX_REPORTED_FAILURES} rejections are kept; failure
+ * indexes are line numbers in the file.
+ */
+public class ImportResult {
+    public static final int MAX_REPORTED_FAILURES = 1000;
+
+    private final long rowCount;
+    private final long importedCount;
+    private final long failureCount;
+    private final List<BatchResult.Failure> failures;
+
+    public ImportResult(long rowCount, long importedCount, long failureCount, List<BatchResult.Failure> failures) {
+        this.rowCount = rowCount;
+        this.importedCount = importedCount;
+        this.failureCount = failureCount;
+        this.failures = Collections.unmodifiableList(failures);
+    }
+
+    public long getRowCount() {
+        return rowCount;
+    }
+
+    public long getImportedCount() {
+        return importedCount;
+    }
+
+    public long getFailureCount() {
+        return failureCount;
+    }
+
+    public List<BatchResult.Failure> getFailures() {
+        return failures;
+    }
+
+    @Override
+    public String toString() {
+        return "ImportResult{" +
+                "rows=" + rowCount +
+                ", imported=" + importedCount +
+                ", failed=" + failureCount +
+                '}';
+    }
+}
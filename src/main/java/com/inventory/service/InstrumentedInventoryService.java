@@ -0,0 +1,273 @@
+package com.inventory.service;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.channels.WritableByteChannel;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.LongConsumer;
+import java.util.stream.Stream;
+
+import com.inventory.metrics.InventoryMetrics;
+import com.inventory.metrics.OperationMetrics;
+import com.inventory.model.InventoryItem;
+import com.inventory.repository.ItemPage;
+import com.inventory.repository.ItemRepository;
+
+/**
+ * An {@link InventoryService} that records the count, errors and latency of its
+ * operations under the "service" layer of an {@link InventoryMetrics}. Overloads that
+ * delegate to another public method, such as {@link #sortItems(String, boolean)} or
+ * {@link #exportItems(java.nio.file.Path)}, are recorded once, under that method.
+ * Validation failures count as errors.
+ */
+public class InstrumentedInventoryService extends InventoryService {
+    public static final String LAYER = "service";
+
+    private final OperationMetrics addItemMetrics;
+    private final OperationMetrics updateItemMetrics;
+    private final OperationMetrics deleteItemMetrics;
+    private final OperationMetrics adjustQuantityMetrics;
+    private final OperationMetrics compareAndSetQuantityMetrics;
+    private final OperationMetrics addItemsMetrics;
+    private final OperationMetrics updateItemsMetrics;
+    private final OperationMetrics deleteItemsMetrics;
+    private final OperationMetrics importItemsMetrics;
+    private final OperationMetrics exportItemsMetrics;
+    private final OperationMetrics findItemByIdMetrics;
+    private final OperationMetrics getAllItemsMetrics;
+    private final OperationMetrics getItemsPageMetrics;
+    private final OperationMetrics getInventoryStatsMetrics;
+    private final OperationMetrics searchItemsMetrics;
+    private final OperationMetrics sortItemsMetrics;
+
+    public InstrumentedInventoryService(ItemRepository itemRepository, Validator validator, InventoryMetrics metrics) {
+        super(itemRepository, validator);
+        this.addItemMetrics = metrics.operation(LAYER, "addItem");
+        this.updateItemMetrics = metrics.operation(LAYER, "updateItem");
+        this.deleteItemMetrics = metrics.operation(LAYER, "deleteItem");
+        this.adjustQuantityMetrics = metrics.operation(LAYER, "adjustQuantity");
+        this.compareAndSetQuantityMetrics = metrics.operation(LAYER, "compareAndSetQuantity");
+        this.addItemsMetrics = metrics.operation(LAYER, "addItems");
+        this.updateItemsMetrics = metrics.operation(LAYER, "updateItems");
+        this.deleteItemsMetrics = metrics.operation(LAYER, "deleteItems");
+        this.importItemsMetrics = metrics.operation(LAYER, "importItems");
+        this.exportItemsMetrics = metrics.operation(LAYER, "exportItems");
+        this.findItemByIdMetrics = metrics.operation(LAYER, "findItemById");
+        this.getAllItemsMetrics = metrics.operation(LAYER, "getAllItems");
+        this.getItemsPageMetrics = metrics.operation(LAYER, "getItemsPage");
+        this.getInventoryStatsMetrics = metrics.operation(LAYER, "getInventoryStats");
+        this.searchItemsMetrics = metrics.operation(LAYER, "searchItems");
+        this.sortItemsMetrics = metrics.operation(LAYER, "sortItems");
+    }
+
+    @Override
+    public InventoryItem addItem(InventoryItem item) {
+        long start = addItemMetrics.start();
+        boolean success = false;
+        try {
+            InventoryItem result = super.addItem(item);
+            success = true;
+            return result;
+        } finally {
+            addItemMetrics.stop(start, success);
+        }
+    }
+
+    @Override
+    public InventoryItem updateItem(InventoryItem item) {
+        long start = updateItemMetrics.start();
+        boolean success = false;
+        try {
+            InventoryItem result = super.updateItem(item);
+            success = true;
+            return result;
+        } finally {
+            updateItemMetrics.stop(start, success);
+        }
+    }
+
+    @Override
+    public boolean deleteItem(String id) {
+        long start = deleteItemMetrics.start();
+        boolean success = false;
+        try {
+            boolean result = super.deleteItem(id);
+            success = true;
+            return result;
+        } finally {
+            deleteItemMetrics.stop(start, success);
+        }
+    }
+
+    @Override
+    public InventoryItem adjustQuantity(String id, int delta) {
+        long start = adjustQuantityMetrics.start();
+        boolean success = false;
+        try {
+            InventoryItem result = super.adjustQuantity(id, delta);
+            success = true;
+            return result;
+        } finally {
+            adjustQuantityMetrics.stop(start, success);
+        }
+    }
+
+    @Override
+    public boolean compareAndSetQuantity(String id, int expectedQuantity, int newQuantity) {
+        long start = compareAndSetQuantityMetrics.start();
+        boolean success = false;
+        try {
+            boolean result = super.compareAndSetQuantity(id, expectedQuantity, newQuantity);
+            success = true;
+            return result;
+        } finally {
+            compareAndSetQuantityMetrics.stop(start, success);
+        }
+    }
+
+    @Override
+    public BatchResult addItems(Collection<InventoryItem> items, boolean skipInvalid) {
+        long start = addItemsMetrics.start();
+        boolean success = false;
+        try {
+            BatchResult result = super.addItems(items, skipInvalid);
+            success = true;
+            return result;
+        } finally {
+            addItemsMetrics.stop(start, success);
+        }
+    }
+
+    @Override
+    public BatchResult updateItems(Collection<InventoryItem> items, boolean skipInvalid) {
+        long start = updateItemsMetrics.start();
+        boolean success = false;
+        try {
+            BatchResult result = super.updateItems(items, skipInvalid);
+            success = true;
+            return result;
+        } finally {
+            updateItemsMetrics.stop(start, success);
+        }
+    }
+
+    @Override
+    public BatchResult deleteItems(Collection<String> ids, boolean skipInvalid) {
+        long start = deleteItemsMetrics.start();
+        boolean success = false;
+        try {
+            BatchResult result = super.deleteItems(ids, skipInvalid);
+            success = true;
+            return result;
+        } finally {
+            deleteItemsMetrics.stop(start, success);
+        }
+    }
+
+    @Override
+    public ImportResult importItems(Reader in, ItemFileFormat format, LongConsumer progress) throws IOException {
+        long start = importItemsMetrics.start();
+        boolean success = false;
+        try {
+            ImportResult result = super.importItems(in, format, progress);
+            success = true;
+            return result;
+        } finally {
+            importItemsMetrics.stop(start, success);
+        }
+    }
+
+    @Override
+    public long exportItems(WritableByteChannel channel, ItemFileFormat format, Stream<InventoryItem> items)
+            throws IOException {
+        long start = exportItemsMetrics.start();
+        boolean success = false;
+        try {
+            long result = super.exportItems(channel, format, items);
+            success = true;
+            return result;
+        } finally {
+            exportItemsMetrics.stop(start, success);
+        }
+    }
+
+    @Override
+    public Optional<InventoryItem> findItemById(String id) {
+        long start = findItemByIdMetrics.start();
+        boolean success = false;
+        try {
+            Optional<InventoryItem> result = super.findItemById(id);
+            success = true;
+            return result;
+        } finally {
+            findItemByIdMetrics.stop(start, success);
+        }
+    }
+
+    @Override
+    public List<InventoryItem> getAllItems() {
+        long start = getAllItemsMetrics.start();
+        boolean success = false;
+        try {
+            List<InventoryItem> result = super.getAllItems();
+            success = true;
+            return result;
+        } finally {
+            getAllItemsMetrics.stop(start, success);
+        }
+    }
+
+    @Override
+    public ItemPage getItemsPage(long cursor, int limit) {
+        long start = getItemsPageMetrics.start();
+        boolean success = false;
+        try {
+            ItemPage result = super.getItemsPage(cursor, limit);
+            success = true;
+            return result;
+        } finally {
+            getItemsPageMetrics.stop(start, success);
+        }
+    }
+
+    @Override
+    public InventoryStats getInventoryStats() {
+        long start = getInventoryStatsMetrics.start();
+        boolean success = false;
+        try {
+            InventoryStats result = super.getInventoryStats();
+            success = true;
+            return result;
+        } finally {
+            getInventoryStatsMetrics.stop(start, success);
+        }
+    }
+
+    @Override
+    public List<InventoryItem> searchItems(String keyword) {
+        long start = searchItemsMetrics.start();
+        boolean success = false;
+        try {
+            List<InventoryItem> result = super.searchItems(keyword);
+            success = true;
+            return result;
+        } finally {
+            searchItemsMetrics.stop(start, success);
+        }
+    }
+
+    @Override
+    public List<InventoryItem> sortItems(String sortBy, boolean ascending, int offset, int limit) {
+        long start = sortItemsMetrics.start();
+        boolean success = false;
+        try {
+            List<InventoryItem> result = super.sortItems(sortBy, ascending, offset, limit);
+            success = true;
+            return result;
+        } finally {
+            sortItemsMetrics.stop(start, success);
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.inventory.service;
+
+import com.inventory.model.InventoryItem;
+
+/**
+ * One change to the inventory, numbered by a sequence that increases by one with every
+ * change the service sees. {@code before} is null for an added item and {@code after}
+ * is null for a deleted one. Both are the repository's own instances and must not be
+ * modified.
+ */
+public final class InventoryChange {
+
+    public enum Type {
+        ADDED,
+        UPDATED,
+        DELETED
+    }
+
+    private final long sequence;
+    private final Type type;
+    private final InventoryItem before;
+    private final InventoryItem after;
+
+    InventoryChange(long sequence, InventoryItem before, InventoryItem after) {
+        this.sequence = sequence;
+        this.type = before == null ? Type.ADDED : after == null ? Type.DELETED : Type.UPDATED;
+        this.before = before;
+        this.after = after;
+    }
+
+    public long getSequence() {
+        return sequence;
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public String getItemId() {
+        return after != null ? after.getId() : before.getId();
+    }
+
+    public InventoryItem getBefore() {
+        return before;
+    }
+
+    public InventoryItem getAfter() {
+        return after;
+    }
+
+    @Override
+    public String toString() {
+        return "InventoryChange{" +
+                "sequence=" + sequence +
+                ", type=" + type +
+                ", itemId='" + getItemId() + '\'' +
+                '}';
+    }
+}
@@ -0,0 +1,19 @@
+package com.inventory.service;
+
+/**
+ * Receives inventory changes in sequence order on a thread of its own. See
+ * {@link InventoryService#addChangeListener(InventoryChangeListener)}.
+ */
+@FunctionalInterface
+public interface InventoryChangeListener {
+
+    void changed(InventoryChange change);
+
+    /**
+     * Called instead of {@link #changed(InventoryChange)} for changes the listener fell
+     * too far behind to receive. A listener that mirrors the inventory should re-read it,
+     * for example with {@link InventoryService#getChangesSince(long, int)} or a snapshot.
+     */
+    default void missed(long firstSequence, long lastSequence) {
+    }
+}
@@ -1,40 +1,74 @@
 package com.inventory.service;
 
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.LongConsumer;
+import java.util.function.Predicate;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
+import com.inventory.metrics.SearchEvent;
+import com.inventory.metrics.SortEvent;
 import com.inventory.model.InventoryItem;
+import com.inventory.repository.CategoryStats;
+import com.inventory.repository.CompareAndSetResult;
+import com.inventory.repository.ItemPage;
 import com.inventory.repository.ItemRepository;
+import com.inventory.repository.ItemSnapshot;
 
 public class InventoryService {
     private final ItemRepository itemRepository;
     private final Validator validator;
+    private final Object indexLock = new Object();
+    private volatile SearchIndex searchIndex;
+    private volatile SortIndex sortIndex;
+    private volatile StatsIndex statsIndex;
+    private volatile LowStockIndex lowStockIndex;
+    private final ChangeFeed changeFeed;
+    private volatile boolean indexesUnsupported;
 
     public InventoryService(ItemRepository itemRepository, Validator validator) {
         this.itemRepository = itemRepository;
         this.validator = validator;
+        // Created up front so that every change is numbered, not just those made after
+        // the feed is first read
+        ChangeFeed feed = new ChangeFeed(ChangeFeed.DEFAULT_CAPACITY);
+        this.changeFeed = itemRepository.addChangeListener(feed) ? feed : null;
     }
 
     public InventoryItem addItem(InventoryItem item) {
         validateItem(item);
 
-        if (itemRepository.findById(item.getId()).isPresent()) {
+        if (!itemRepository.insertIfAbsent(item)) {
             throw new IllegalArgumentException("Item with ID " + item.getId() + " already exists");
         }
-        
-        return itemRepository.save(item);
+        return item;
     }
 
     public InventoryItem updateItem(InventoryItem item) {
         validateItem(item);
 
-        if (itemRepository.findById(item.getId()).isEmpty()) {
+        if (!itemRepository.replaceIfPresent(item)) {
             throw new IllegalArgumentException("Item with ID " + item.getId() + " not found");
         }
-        
-        return itemRepository.save(item);
+        return item;
     }
 
     public boolean deleteItem(String id) {
@@ -45,6 +79,199 @@ public class InventoryService {
         return itemRepository.delete(id);
     }
 
+    /**
+     * Atomically adds {@code delta} (which may be negative) to the item's quantity.
+     * Throws IllegalArgumentException if the item does not exist or the change would
+     * leave less than zero in stock.
+     */
+    public InventoryItem adjustQuantity(String id, int delta) {
+        if (!validator.validateId(id)) {
+            throw new IllegalArgumentException("Invalid item ID");
+        }
+
+        return itemRepository.adjustQuantity(id, delta)
+                .orElseThrow(() -> new IllegalArgumentException("Item with ID " + id + " not found"));
+    }
+
+    /**
+     * Like {@link #addItem(InventoryItem)}, but the future completes only once the new
+     * item is durable. With a write-behind repository the item is visible as soon as this
+     * returns and the future follows at the next flush; invalid items are still rejected
+     * by throwing.
+     */
+    public CompletableFuture<InventoryItem> addItemAsync(InventoryItem item) {
+        InventoryItem saved = addItem(item);
+        return itemRepository.whenDurable().thenApply(durable -> saved);
+    }
+
+    public CompletableFuture<InventoryItem> updateItemAsync(InventoryItem item) {
+        InventoryItem saved = updateItem(item);
+        return itemRepository.whenDurable().thenApply(durable -> saved);
+    }
+
+    public CompletableFuture<Boolean> deleteItemAsync(String id) {
+        boolean deleted = deleteItem(id);
+        return itemRepository.whenDurable().thenApply(durable -> deleted);
+    }
+
+    public CompletableFuture<InventoryItem> adjustQuantityAsync(String id, int delta) {
+        InventoryItem adjusted = adjustQuantity(id, delta);
+        return itemRepository.whenDurable().thenApply(durable -> adjusted);
+    }
+
+    /**
+     * Sets the item's quantity to {@code newQuantity} only if it is currently
+     * {@code expectedQuantity}. Returns false if another change got there first.
+     */
+    public boolean compareAndSetQuantity(String id, int expectedQuantity, int newQuantity) {
+        if (!validator.validateId(id)) {
+            throw new IllegalArgumentException("Invalid item ID");
+        }
+        if (!validator.validateQuantity(newQuantity)) {
+            throw new IllegalArgumentException("Quantity cannot be negative");
+        }
+
+        CompareAndSetResult result = itemRepository.compareAndSetQuantity(id, expectedQuantity, newQuantity);
+        if (result == CompareAndSetResult.NOT_FOUND) {
+            throw new IllegalArgumentException("Item with ID " + id + " not found");
+        }
+        return result == CompareAndSetResult.SET;
+    }
+
+    public BatchResult addItems(Collection<InventoryItem> items) {
+        return addItems(items, false);
+    }
+
+    /**
+     * Validates the whole batch before anything is saved, then saves the accepted items
+     * with a single repository call that also checks that none of them exist yet. Unless
+     * {@code skipInvalid} is set, any rejected item fails the whole batch with an
+     * IllegalArgumentException and nothing is saved.
+     */
+    public BatchResult addItems(Collection<InventoryItem> items, boolean skipInvalid) {
+        return saveBatch(items, skipInvalid, false);
+    }
+
+    public BatchResult updateItems(Collection<InventoryItem> items) {
+        return updateItems(items, false);
+    }
+
+    /**
+     * Batch counterpart of {@link #updateItem(InventoryItem)}, with the same all-or-nothing
+     * behaviour as {@link #addItems(Collection, boolean)} unless {@code skipInvalid} is set.
+     */
+    public BatchResult updateItems(Collection<InventoryItem> items, boolean skipInvalid) {
+        return saveBatch(items, skipInvalid, true);
+    }
+
+    public BatchResult deleteItems(Collection<String> ids) {
+        return deleteItems(ids, false);
+    }
+
+    /**
+     * Deletes the given ids with a single repository call. Invalid, duplicate and unknown
+     * ids are rejected; unless {@code skipInvalid} is set, any rejection fails the whole
+     * batch and nothing is deleted.
+     */
+    public BatchResult deleteItems(Collection<String> ids, boolean skipInvalid) {
+        if (ids == null) {
+            throw new IllegalArgumentException("Item IDs cannot be null");
+        }
+        
+        Set<String> accepted = new HashSet<>();
+        List<String> acceptedInOrder = new ArrayList<>();
+        List<BatchResult.Failure> failures = new ArrayList<>();
+        int index = 0;
+        for (String id : ids) {
+            if (!validator.validateId(id)) {
+                failures.add(new BatchResult.Failure(index, id, "Invalid item ID"));
+            } else if (!accepted.add(id)) {
+                failures.add(new BatchResult.Failure(index, id, "Item with ID " + id + " appears more than once"));
+            } else if (itemRepository.findById(id).isEmpty()) {
+                failures.add(new BatchResult.Failure(index, id, "Item with ID " + id + " not found"));
+            } else {
+                acceptedInOrder.add(id);
+            }
+            index++;
+        }
+        
+        rejectIfStrict(failures, skipInvalid);
+        if (!acceptedInOrder.isEmpty()) {
+            itemRepository.deleteAll(acceptedInOrder);
+        }
+        return new BatchResult(acceptedInOrder, failures);
+    }
+
+    /**
+     * Imports the items in a .csv or .jsonl file, see {@link ItemFileFormat}. Rows are
+     * converted and validated in parallel; rows that are invalid, whose id already exists
+     * or that repeat an earlier id in the file are skipped and reported, and the rest are
+     * saved with a single repository call.
+     *
+     * @param progress told the number of rows processed so far as the import advances;
+     * may be null
+     */
+    public ImportResult importItems(Path file, LongConsumer progress) throws IOException {
+        ItemFileFormat format = ItemFileFormat.fromPath(file);
+        try (Reader in = new InputStreamReader(Files.newInputStream(file), StandardCharsets.UTF_8)) {
+            return importItems(in, format, progress);
+        }
+    }
+
+    public ImportResult importItems(Reader in, ItemFileFormat format, LongConsumer progress) throws IOException {
+        if (in == null || format == null) {
+            throw new IllegalArgumentException("Input and format cannot be null");
+        }
+        
+        return new ItemImporter(itemRepository, this::validateItem).importItems(in, format, progress);
+    }
+
+    /**
+     * Writes every item to a .csv or .jsonl file, see {@link ItemFileFormat}, and returns
+     * how many were written. Items are streamed from a repository snapshot straight into
+     * a buffered channel, so the file shows the inventory at one point in time and memory
+     * use does not grow with the inventory.
+     */
+    public long exportItems(Path file) throws IOException {
+        return exportItems(file, item -> true);
+    }
+
+    public long exportItemsByCategory(Path file, int categoryId) throws IOException {
+        return exportItems(file, item -> item.getCategory() != null && item.getCategory().getId() == categoryId);
+    }
+
+    /**
+     * Writes the items {@link #searchItems(String)} would return for the keyword. Matches
+     * are found by streaming over a repository snapshot rather than from the search index, so no
+     * result list is built.
+     */
+    public long exportSearchResults(Path file, String keyword) throws IOException {
+        if (keyword == null || keyword.trim().isEmpty()) {
+            return exportItems(file);
+        }
+
+        String searchTerm = keyword.toLowerCase();
+        return exportItems(file, item -> matches(item, searchTerm));
+    }
+
+    public long exportItems(WritableByteChannel channel, ItemFileFormat format, Stream<InventoryItem> items)
+            throws IOException {
+        if (channel == null || format == null || items == null) {
+            throw new IllegalArgumentException("Output, format and items cannot be null");
+        }
+
+        return new ItemExporter().export(items, format, channel);
+    }
+
+    private long exportItems(Path file, Predicate<InventoryItem> filter) throws IOException {
+        ItemFileFormat format = ItemFileFormat.fromPath(file);
+        try (ItemSnapshot snapshot = itemRepository.snapshot();
+             FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE,
+                     StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            return exportItems(channel, format, snapshot.stream().filter(filter));
+        }
+    }
+
     public Optional<InventoryItem> findItemById(String id) {
         if (!validator.validateId(id)) {
             throw new IllegalArgumentException("Invalid item ID");
@@ -57,45 +284,407 @@ public class InventoryService {
         return itemRepository.findAll();
     }
 
+    /**
+     * One page of all items, in repository order. See {@link ItemRepository#findPage(long, int)}.
+     */
+    public ItemPage getItemsPage(long cursor, int limit) {
+        if (cursor < 0 || limit <= 0) {
+            throw new IllegalArgumentException("Cursor cannot be negative and limit must be positive");
+        }
+        
+        return itemRepository.findPage(cursor, limit);
+    }
+
+    /**
+     * All items as a stream that does not copy the inventory. The items are read-only.
+     */
+    public Stream<InventoryItem> streamItems() {
+        return itemRepository.stream();
+    }
+
+    /**
+     * A consistent view of all items as of now, for reports that read the whole
+     * inventory while it keeps changing. See {@link ItemRepository#snapshot()}; close it
+     * when done.
+     */
+    public ItemSnapshot snapshotItems() {
+        return itemRepository.snapshot();
+    }
+
+    public List<InventoryItem> getItemsByCategory(int categoryId) {
+        return itemRepository.findByCategory(categoryId);
+    }
+
+    public CategoryStats getCategoryStats(int categoryId) {
+        return itemRepository.getCategoryStats(categoryId);
+    }
+
+    /**
+     * Item count, units, value and price range of the whole inventory. Maintained as items
+     * change, so this does not scan.
+     */
+    public InventoryStats getInventoryStats() {
+        StatsIndex index = statsIndex();
+        if (index != null) {
+            return index.stats();
+        }
+        
+        StatsIndex.Accumulator accumulator = new StatsIndex.Accumulator();
+        itemRepository.findAll().forEach(accumulator::accept);
+        return accumulator.toStats();
+    }
+
+    /**
+     * Recomputes the inventory statistics in parallel from a snapshot taken right after
+     * reading the maintained ones, and compares the two. Changes made between those two
+     * moments can show up as drift, so verify again before acting on a mismatch.
+     */
+    public StatsVerification verifyInventoryStats() {
+        InventoryStats maintained = getInventoryStats();
+        try (ItemSnapshot snapshot = itemRepository.snapshot()) {
+            InventoryStats recomputed = snapshot.stream().parallel()
+                    .collect(StatsIndex.Accumulator::new, StatsIndex.Accumulator::accept, StatsIndex.Accumulator::combine)
+                    .toStats();
+            return new StatsVerification(maintained, recomputed);
+        }
+    }
+
+    /**
+     * Up to {@code limit} items at or below their reorder threshold, the furthest below
+     * first. Items without a threshold of their own or from their category never count
+     * as low on stock.
+     */
+    public List<InventoryItem> getLowStockItems(int limit) {
+        if (limit < 0) {
+            throw new IllegalArgumentException("Limit cannot be negative");
+        }
+        
+        LowStockIndex index = lowStockIndex();
+        if (index != null) {
+            return index.lowStock(limit);
+        }
+        
+        return itemRepository.findAll().stream()
+                .filter(item -> item.getEffectiveReorderThreshold() != null
+                        && item.getQuantity() <= item.getEffectiveReorderThreshold())
+                .sorted(Comparator.comparingLong(item ->
+                        (long) item.getQuantity() - item.getEffectiveReorderThreshold()))
+                .limit(limit)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Registers a listener for items going into or out of low stock through any change
+     * to the repository. The listener runs on the thread making the change.
+     *
+     * @return false if the repository does not publish changes, in which case the
+     * listener is never called
+     */
+    public boolean addLowStockListener(LowStockListener listener) {
+        if (listener == null) {
+            throw new IllegalArgumentException("Listener cannot be null");
+        }
+        
+        LowStockIndex index = lowStockIndex();
+        if (index == null) {
+            return false;
+        }
+        index.addListener(listener);
+        return true;
+    }
+
+    public void removeLowStockListener(LowStockListener listener) {
+        LowStockIndex index = lowStockIndex;
+        if (index != null) {
+            index.removeListener(listener);
+        }
+    }
+
+    /**
+     * Delivers every change made from now on to {@code listener} as an
+     * {@link InventoryChange}, in sequence order, on a thread of its own. Writers never
+     * wait for listeners; a listener that falls too far behind is told which changes it
+     * missed.
+     *
+     * @return false if the repository does not publish changes, in which case the
+     * listener is never called
+     */
+    public boolean addChangeListener(InventoryChangeListener listener) {
+        if (listener == null) {
+            throw new IllegalArgumentException("Listener cannot be null");
+        }
+
+        if (changeFeed == null) {
+            return false;
+        }
+        changeFeed.subscribe(listener);
+        return true;
+    }
+
+    public void removeChangeListener(InventoryChangeListener listener) {
+        if (changeFeed != null) {
+            changeFeed.unsubscribe(listener);
+        }
+    }
+
+    /**
+     * Up to {@code limit} of the changes numbered after {@code sequence} in
+     * {@code epoch}, oldest first. Changes are numbered from when the service is created
+     * and only the most recent ones are kept; see {@link ChangePage#isComplete()} for
+     * when the caller has to re-read the inventory instead.
+     *
+     * @param epoch the epoch of the page or {@link #getChangeEpoch()} call that
+     * {@code sequence} came from, or null to start from sequence 0 of this run
+     */
+    public ChangePage getChangesSince(String epoch, long sequence, int limit) {
+        if (sequence < 0 || limit <= 0) {
+            throw new IllegalArgumentException("Sequence cannot be negative and limit must be positive");
+        }
+
+        return changeFeed != null ? changeFeed.since(epoch, sequence, limit)
+                : new ChangePage(null, new ArrayList<>(), false, 0);
+    }
+
+    /**
+     * The epoch of this run's change sequences, to pass to
+     * {@link #getChangesSince(String, long, int)} together with
+     * {@link #getLatestChangeSequence()}.
+     */
+    public String getChangeEpoch() {
+        return changeFeed != null ? changeFeed.epoch() : null;
+    }
+
+    /**
+     * The sequence of the latest change, to pass to
+     * {@link #getChangesSince(String, long, int)} after reading the inventory.
+     */
+    public long getLatestChangeSequence() {
+        return changeFeed != null ? changeFeed.latestSequence() : 0;
+    }
+
     public List<InventoryItem> searchItems(String keyword) {
+        SearchEvent event = new SearchEvent();
+        event.begin();
+        List<InventoryItem> result = search(keyword, event);
+        event.end();
+        if (event.shouldCommit()) {
+            event.keyword = keyword;
+            event.matchedRows = result.size();
+            event.commit();
+        }
+        return result;
+    }
+
+    private List<InventoryItem> search(String keyword, SearchEvent event) {
         if (keyword == null || keyword.trim().isEmpty()) {
             return getAllItems();
         }
         
+        SearchIndex index = searchIndex();
+        if (index != null) {
+            event.indexed = true;
+            return index.search(keyword);
+        }
+        
         String searchTerm = keyword.toLowerCase();
         return itemRepository.findAll().stream()
-                .filter(item -> 
-                    item.getName().toLowerCase().contains(searchTerm) || 
-                    item.getDescription().toLowerCase().contains(searchTerm) ||
-                    (item.getCategory() != null && 
-                     item.getCategory().getName().toLowerCase().contains(searchTerm)))
+                .filter(item -> matches(item, searchTerm))
                 .collect(Collectors.toList());
     }
 
+    /**
+     * The scan counterpart of {@link SearchIndex#search(String)}. The description is
+     * optional, so any of the fields may be null.
+     */
+    private static boolean matches(InventoryItem item, String searchTerm) {
+        return contains(item.getName(), searchTerm) || 
+                contains(item.getDescription(), searchTerm) ||
+                (item.getCategory() != null && 
+                 contains(item.getCategory().getName(), searchTerm));
+    }
+
+    private static boolean contains(String text, String searchTerm) {
+        return text != null && text.toLowerCase().contains(searchTerm);
+    }
+
     public List<InventoryItem> sortItems(String sortBy, boolean ascending) {
-        Comparator<InventoryItem> comparator;
+        return sortItems(sortBy, ascending, 0, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Returns one page of items sorted by "name", "price", "quantity" or, for anything
+     * else, id. Items with equal keys keep their repository order. Only the requested
+     * page is read from the sorted index; nothing is sorted or copied up front.
+     */
+    public List<InventoryItem> sortItems(String sortBy, boolean ascending, int offset, int limit) {
+        if (offset < 0 || limit < 0) {
+            throw new IllegalArgumentException("Offset and limit cannot be negative");
+        }
         
-        switch (sortBy.toLowerCase()) {
-            case "name":
-                comparator = Comparator.comparing(InventoryItem::getName);
-                break;
-            case "price":
-                comparator = Comparator.comparing(InventoryItem::getPrice);
-                break;
-            case "quantity":
-                comparator = Comparator.comparing(InventoryItem::getQuantity);
-                break;
-            default:
-                comparator = Comparator.comparing(InventoryItem::getId);
+        SortEvent event = new SortEvent();
+        event.begin();
+        List<InventoryItem> result = sort(SortIndex.SortKey.of(sortBy), ascending, offset, limit, event);
+        event.end();
+        if (event.shouldCommit()) {
+            event.sortBy = sortBy;
+            event.ascending = ascending;
+            event.offset = offset;
+            event.limit = limit;
+            event.returnedRows = result.size();
+            event.commit();
+        }
+        return result;
+    }
+
+    private List<InventoryItem> sort(SortIndex.SortKey key, boolean ascending, int offset, int limit, SortEvent event) {
+        SortIndex index = sortIndex();
+        if (index != null) {
+            event.indexed = true;
+            return index.page(key, ascending, offset, limit);
         }
         
-        if (!ascending) {
-            comparator = comparator.reversed();
+        Comparator<InventoryItem> comparator = ascending ? key.comparator() : key.comparator().reversed();
+        try (ItemSnapshot snapshot = itemRepository.snapshot()) {
+            return snapshot.stream()
+                    .sorted(comparator)
+                    .skip(offset)
+                    .limit(limit)
+                    .collect(Collectors.toList());
+        }
+    }
+
+    /**
+     * The search index, built on first use. Null if the repository does not publish
+     * changes, in which case searches scan {@link ItemRepository#findAll()}. The other
+     * indexes below work the same way.
+     */
+    private SearchIndex searchIndex() {
+        SearchIndex index = searchIndex;
+        if (index != null || indexesUnsupported) {
+            return index;
+        }
+
+        synchronized (indexLock) {
+            if (searchIndex == null && !indexesUnsupported) {
+                searchIndex = attach(new SearchIndex());
+            }
+            return searchIndex;
+        }
+    }
+
+    private SortIndex sortIndex() {
+        SortIndex index = sortIndex;
+        if (index != null || indexesUnsupported) {
+            return index;
+        }
+
+        synchronized (indexLock) {
+            if (sortIndex == null && !indexesUnsupported) {
+                sortIndex = attach(new SortIndex());
+            }
+            return sortIndex;
+        }
+    }
+
+    private StatsIndex statsIndex() {
+        StatsIndex index = statsIndex;
+        if (index != null || indexesUnsupported) {
+            return index;
+        }
+
+        synchronized (indexLock) {
+            if (statsIndex == null && !indexesUnsupported) {
+                statsIndex = attach(new StatsIndex());
+            }
+            return statsIndex;
+        }
+    }
+
+    private LowStockIndex lowStockIndex() {
+        LowStockIndex index = lowStockIndex;
+        if (index != null || indexesUnsupported) {
+            return index;
+        }
+
+        synchronized (indexLock) {
+            if (lowStockIndex == null && !indexesUnsupported) {
+                lowStockIndex = attach(new LowStockIndex());
+            }
+            return lowStockIndex;
         }
+    }
+
+    private <T extends ItemIndex> T attach(T index) {
+        if (index.attach(itemRepository)) {
+            return index;
+        }
+        indexesUnsupported = true;
+        return null;
+    }
+
+    /**
+     * Validates the batch and saves the accepted items in one repository call that
+     * checks, atomically with the save, that each id exists or does not as
+     * {@code present} asks. Items that fail that check are reported like any other
+     * rejected item.
+     */
+    private BatchResult saveBatch(Collection<InventoryItem> items, boolean skipInvalid, boolean present) {
+        requireBatch(items);
         
-        return itemRepository.findAll().stream()
-                .sorted(comparator)
-                .collect(Collectors.toList());
+        Set<String> batchIds = new HashSet<>();
+        List<InventoryItem> accepted = new ArrayList<>();
+        Map<String, Integer> indexes = new HashMap<>();
+        List<BatchResult.Failure> failures = new ArrayList<>();
+        int index = 0;
+        for (InventoryItem item : items) {
+            try {
+                validateItem(item);
+                if (!batchIds.add(item.getId())) {
+                    throw new IllegalArgumentException("Item with ID " + item.getId() + " appears more than once");
+                }
+                accepted.add(item);
+                indexes.put(item.getId(), index);
+            } catch (IllegalArgumentException e) {
+                failures.add(new BatchResult.Failure(index, item != null ? item.getId() : null, e.getMessage()));
+            }
+            index++;
+        }
+        rejectIfStrict(failures, skipInvalid);
+
+        while (!accepted.isEmpty()) {
+            List<String> rejected = present
+                    ? itemRepository.replaceAllIfPresent(accepted) : itemRepository.insertAllIfAbsent(accepted);
+            if (rejected.isEmpty()) {
+                break;
+            }
+            for (String id : rejected) {
+                failures.add(new BatchResult.Failure(indexes.get(id), id,
+                        "Item with ID " + id + (present ? " not found" : " already exists")));
+            }
+            failures.sort(Comparator.comparingInt(BatchResult.Failure::getIndex));
+            rejectIfStrict(failures, skipInvalid);
+            Set<String> rejectedIds = new HashSet<>(rejected);
+            accepted.removeIf(item -> rejectedIds.contains(item.getId()));
+        }
+
+        List<String> ids = new ArrayList<>(accepted.size());
+        for (InventoryItem item : accepted) {
+            ids.add(item.getId());
+        }
+        return new BatchResult(ids, failures);
+    }
+
+    private void rejectIfStrict(List<BatchResult.Failure> failures, boolean skipInvalid) {
+        if (!skipInvalid && !failures.isEmpty()) {
+            throw new IllegalArgumentException("Batch rejected, " + failures.size()
+                    + " invalid entries. First: " + failures.get(0));
+        }
+    }
+
+    private void requireBatch(Collection<InventoryItem> items) {
+        if (items == null) {
+            throw new IllegalArgumentException("Items cannot be null");
+        }
     }
 
     private void validateItem(InventoryItem item) {
@@ -119,6 +708,10 @@ public class InventoryService {
             throw new IllegalArgumentException("Invalid item price");
         }
         
+        if (item.getReorderThreshold() != null && !validator.validateQuantity(item.getReorderThreshold())) {
+            throw new IllegalArgumentException("Invalid reorder threshold");
+        }
+        
         if (item.getCategory() == null) {
             throw new IllegalArgumentException("Item category cannot be null");
         }
@@ -0,0 +1,79 @@
+package com.inventory.service;
+
+import java.util.Objects;
+
+/**
+ * Inventory-wide totals at a point in time. Price figures are 0 when there are no items.
+ */
+public class InventoryStats {
+    private final int itemCount;
+    private final long totalUnits;
+    private final double totalValue;
+    private final double minPrice;
+    private final double maxPrice;
+    private final double averagePrice;
+
+    public InventoryStats(int itemCount, long totalUnits, double totalValue,
+                          double minPrice, double maxPrice, double averagePrice) {
+        this.itemCount = itemCount;
+        this.totalUnits = totalUnits;
+        this.totalValue = totalValue;
+        this.minPrice = minPrice;
+        this.maxPrice = maxPrice;
+        this.averagePrice = averagePrice;
+    }
+
+    public int getItemCount() {
+        return itemCount;
+    }
+
+    public long getTotalUnits() {
+        return totalUnits;
+    }
+
+    public double getTotalValue() {
+        return totalValue;
+    }
+
+    public double getMinPrice() {
+        return minPrice;
+    }
+
+    public double getMaxPrice() {
+        return maxPrice;
+    }
+
+    public double getAveragePrice() {
+        return averagePrice;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        InventoryStats that = (InventoryStats) o;
+        return itemCount == that.itemCount &&
+                totalUnits == that.totalUnits &&
+                Double.compare(that.totalValue, totalValue) == 0 &&
+                Double.compare(that.minPrice, minPrice) == 0 &&
+                Double.compare(that.maxPrice, maxPrice) == 0 &&
+                Double.compare(that.averagePrice, averagePrice) == 0;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(itemCount, totalUnits, totalValue, minPrice, maxPrice, averagePrice);
+    }
+
+    @Override
+    public String toString() {
+        return "InventoryStats{" +
+                "itemCount=" + itemCount +
+                ", totalUnits=" + totalUnits +
+                ", totalValue=" + totalValue +
+                ", minPrice=" + minPrice +
+                ", maxPrice=" + maxPrice +
+                ", averagePrice=" + averagePrice +
+                '}';
+    }
+}
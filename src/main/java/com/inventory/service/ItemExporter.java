@@ -0,0 +1,110 @@
+package com.inventory.service;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+import com.google.gson.Gson;
+import com.inventory.model.InventoryItem;
+import com.inventory.model.ItemCategory;
+
+/**
+ * Writes items to a channel as CSV or JSONL, one item at a time. Characters are encoded
+ * into a fixed byte buffer that is written to the channel whenever it fills, so the
+ * memory used does not depend on how many items are exported.
+ */
+final class ItemExporter {
+    static final int BUFFER_SIZE = 64 * 1024;
+
+    private final Gson gson = new Gson();
+
+    /**
+     * Writes every item of {@code items} and returns how many were written. The channel
+     * is left open.
+     */
+    long export(Stream<InventoryItem> items, ItemFileFormat format, WritableByteChannel channel) throws IOException {
+        Writer out = Channels.newWriter(channel, StandardCharsets.UTF_8.newEncoder(), BUFFER_SIZE);
+        if (format == ItemFileFormat.CSV) {
+            writeCsvRow(out, ItemFileFormat.CSV_HEADER);
+        }
+
+        long count = 0;
+        Iterator<InventoryItem> iterator = items.iterator();
+        while (iterator.hasNext()) {
+            InventoryItem item = iterator.next();
+            if (format == ItemFileFormat.CSV) {
+                writeCsv(out, item);
+            } else {
+                gson.toJson(item, InventoryItem.class, out);
+                out.write('\n');
+            }
+            count++;
+        }
+        out.flush();
+        return count;
+    }
+
+    private static void writeCsv(Writer out, InventoryItem item) throws IOException {
+        ItemCategory category = item.getCategory();
+        writeCsvRow(out,
+                item.getId(),
+                item.getName(),
+                item.getDescription(),
+                Integer.toString(item.getQuantity()),
+                Double.toString(item.getPrice()),
+                category != null ? Integer.toString(category.getId()) : "",
+                category != null ? category.getName() : "",
+                category != null ? category.getDescription() : "",
+                item.getReorderThreshold() != null ? item.getReorderThreshold().toString() : "");
+    }
+
+    private static void writeCsvRow(Writer out, String... fields) throws IOException {
+        for (int i = 0; i < fields.length; i++) {
+            if (i > 0) {
+                out.write(',');
+            }
+            writeCsvField(out, fields[i]);
+        }
+        out.write('\n');
+    }
+
+    /**
+     * Writes one field, quoted when it contains a comma, quote or line break, with quotes
+     * doubled as RFC 4180 requires.
+     */
+    private static void writeCsvField(Writer out, String value) throws IOException {
+        if (value == null) {
+            return;
+        }
+        if (!needsQuotes(value)) {
+            out.write(value);
+            return;
+        }
+
+        out.write('"');
+        int start = 0;
+        for (int i = 0; i < value.length(); i++) {
+            if (value.charAt(i) == '"') {
+                out.write(value, start, i + 1 - start);
+                out.write('"');
+                start = i + 1;
+            }
+        }
+        out.write(value, start, value.length() - start);
+        out.write('"');
+    }
+
+    private static boolean needsQuotes(String value) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == ',' || c == '"' || c == '\n' || c == '\r') {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,35 @@
+package com.inventory.service;
+
+import java.nio.file.Path;
+import java.util.Locale;
+
+/**
+ * Flat file formats for importing and exporting items.
+ *
+ * <p>CSV rows have the columns id, name, description, quantity, price, categoryId,
+ * categoryName, categoryDescription and reorderThreshold. Only the header row and the
+ * reorderThreshold column are optional, and an empty threshold means none; every item
+ * needs a category. Fields follow RFC 4180 quoting.
+ * JSONL files hold one item per line in the same JSON form as the data file.
+ */
+public enum ItemFileFormat {
+    CSV,
+    JSONL;
+
+    static final String[] CSV_HEADER = {"id", "name", "description", "quantity", "price",
+            "categoryId", "categoryName", "categoryDescription", "reorderThreshold"};
+
+    /**
+     * Picks the format from the file extension: .csv, or .jsonl / .ndjson.
+     */
+    public static ItemFileFormat fromPath(Path path) {
+        String name = path.getFileName().toString().toLowerCase(Locale.ROOT);
+        if (name.endsWith(".csv")) {
+            return CSV;
+        }
+        if (name.endsWith(".jsonl") || name.endsWith(".ndjson")) {
+            return JSONL;
+        }
+        throw new IllegalArgumentException("Unknown file format, expected .csv or .jsonl: " + path);
+    }
+}
@@ -0,0 +1,296 @@
+package com.inventory.service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+import java.util.function.LongConsumer;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+import com.inventory.model.InventoryItem;
+import com.inventory.model.ItemCategory;
+import com.inventory.repository.ItemRepository;
+
+/**
+ * Imports items from a CSV or JSONL stream in three stages: the calling thread splits
+ * the input into chunks of rows, a pool with one thread per core converts and validates
+ * each chunk, and the calling thread then folds the chunks in file order, dropping ids
+ * seen earlier in the file, and saves everything accepted with one
+ * {@link ItemRepository#insertAllIfAbsent} call. Rows whose id is already stored are
+ * found by that call rather than looked up one by one.
+ *
+ * <p>At most a few chunks per worker are in flight, so the input is never held in
+ * memory; only the accepted items are, until they are saved.
+ */
+final class ItemImporter {
+    static final int CHUNK_SIZE = 4096;
+    private static final int CHUNKS_PER_WORKER = 4;
+
+    private final ItemRepository itemRepository;
+    private final Consumer<InventoryItem> validator;
+    private final Gson gson = new Gson();
+
+    /**
+     * @param validator throws IllegalArgumentException for an item that must not be imported
+     */
+    ItemImporter(ItemRepository itemRepository, Consumer<InventoryItem> validator) {
+        this.itemRepository = itemRepository;
+        this.validator = validator;
+    }
+
+    ImportResult importItems(Reader in, ItemFileFormat format, LongConsumer progress) throws IOException {
+        int workers = Runtime.getRuntime().availableProcessors();
+        ExecutorService executor = Executors.newFixedThreadPool(workers, runnable -> {
+            Thread thread = new Thread(runnable, "item-import");
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            return run(in, format, progress, executor, workers * CHUNKS_PER_WORKER);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private ImportResult run(Reader in, ItemFileFormat format, LongConsumer progress,
+                             ExecutorService executor, int maxInFlight) throws IOException {
+        Collector collector = new Collector(progress);
+        Deque<Future<Chunk>> inFlight = new ArrayDeque<>();
+        RowSource source = format == ItemFileFormat.CSV ? new CsvSource(in) : new JsonlSource(in);
+
+        Chunk chunk = source.nextChunk();
+        while (chunk != null) {
+            Chunk submitted = chunk;
+            inFlight.add(executor.submit(() -> convert(submitted, format)));
+            if (inFlight.size() >= maxInFlight) {
+                collector.fold(await(inFlight.poll()));
+            }
+            chunk = source.nextChunk();
+        }
+        while (!inFlight.isEmpty()) {
+            collector.fold(await(inFlight.poll()));
+        }
+
+        collector.save(itemRepository);
+        return new ImportResult(collector.rows, collector.accepted.size(), collector.failureCount, collector.failures);
+    }
+
+    private static Chunk await(Future<Chunk> future) throws IOException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Import interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Import worker failed", e.getCause());
+        }
+    }
+
+    /**
+     * Turns every row of the chunk into an item or an error message. Runs on a worker.
+     */
+    private Chunk convert(Chunk chunk, ItemFileFormat format) {
+        for (int i = 0; i < chunk.size; i++) {
+            try {
+                InventoryItem item = format == ItemFileFormat.CSV
+                        ? fromCsv(chunk.rows[i]) : fromJson(chunk.rows[i][0]);
+                chunk.ids[i] = item != null ? item.getId() : null;
+                validator.accept(item);
+                chunk.items[i] = item;
+            } catch (IllegalArgumentException | JsonParseException e) {
+                chunk.errors[i] = e.getMessage();
+            }
+            chunk.rows[i] = null;
+        }
+        return chunk;
+    }
+
+    private static InventoryItem fromCsv(String[] fields) {
+        if (fields.length < ItemFileFormat.CSV_HEADER.length - 1 || fields.length > ItemFileFormat.CSV_HEADER.length) {
+            throw new IllegalArgumentException("Expected " + (ItemFileFormat.CSV_HEADER.length - 1) + " or "
+                    + ItemFileFormat.CSV_HEADER.length + " fields, found " + fields.length);
+        }
+
+        InventoryItem item = new InventoryItem(fields[0], fields[1], fields[2],
+                parseInt(fields[3], "quantity"), parseDouble(fields[4], "price"), null);
+        if (!fields[5].isEmpty()) {
+            item.setCategory(new ItemCategory(parseInt(fields[5], "category ID"), fields[6], fields[7]));
+        }
+        if (fields.length > 8 && !fields[8].isEmpty()) {
+            item.setReorderThreshold(parseInt(fields[8], "reorder threshold"));
+        }
+        return item;
+    }
+
+    private InventoryItem fromJson(String line) {
+        InventoryItem item = gson.fromJson(line, InventoryItem.class);
+        if (item == null) {
+            throw new IllegalArgumentException("Empty row");
+        }
+        return item;
+    }
+
+    private static int parseInt(String value, String name) {
+        try {
+            return Integer.parseInt(value.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid " + name + " '" + value + "'");
+        }
+    }
+
+    private static double parseDouble(String value, String name) {
+        try {
+            return Double.parseDouble(value.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid " + name + " '" + value + "'");
+        }
+    }
+
+    /**
+     * Folds converted chunks in file order on the calling thread.
+     */
+    private static final class Collector {
+        final LongConsumer progress;
+        final Set<String> seen = new HashSet<>();
+        final List<InventoryItem> accepted = new ArrayList<>();
+        final List<Long> acceptedLines = new ArrayList<>();
+        final List<BatchResult.Failure> failures = new ArrayList<>();
+        long rows;
+        long failureCount;
+
+        Collector(LongConsumer progress) {
+            this.progress = progress;
+        }
+
+        void fold(Chunk chunk) {
+            for (int i = 0; i < chunk.size; i++) {
+                String error = chunk.errors[i];
+                if (error == null && !seen.add(chunk.ids[i])) {
+                    error = "Item with ID " + chunk.ids[i] + " appears more than once";
+                }
+                if (error == null) {
+                    accepted.add(chunk.items[i]);
+                    acceptedLines.add(chunk.lines[i]);
+                } else {
+                    fail(chunk.lines[i], chunk.ids[i], error);
+                }
+            }
+            rows += chunk.size;
+            if (progress != null) {
+                progress.accept(rows);
+            }
+        }
+
+        /**
+         * Saves the accepted items. Ids the repository already holds are reported as
+         * failures and the rest are saved.
+         */
+        void save(ItemRepository itemRepository) {
+            while (!accepted.isEmpty()) {
+                List<String> existing = itemRepository.insertAllIfAbsent(accepted);
+                if (existing.isEmpty()) {
+                    return;
+                }
+                Set<String> rejected = new HashSet<>(existing);
+                for (int i = accepted.size() - 1; i >= 0; i--) {
+                    String id = accepted.get(i).getId();
+                    if (rejected.contains(id)) {
+                        fail(acceptedLines.get(i), id, "Item with ID " + id + " already exists");
+                        accepted.remove(i);
+                        acceptedLines.remove(i);
+                    }
+                }
+                failures.sort(Comparator.comparingInt(BatchResult.Failure::getIndex));
+            }
+        }
+
+        private void fail(long line, String id, String error) {
+            failureCount++;
+            if (failures.size() < ImportResult.MAX_REPORTED_FAILURES) {
+                failures.add(new BatchResult.Failure((int) line, id, error));
+            }
+        }
+    }
+
+    private static final class Chunk {
+        final String[][] rows = new String[CHUNK_SIZE][];
+        final long[] lines = new long[CHUNK_SIZE];
+        final String[] ids = new String[CHUNK_SIZE];
+        final InventoryItem[] items = new InventoryItem[CHUNK_SIZE];
+        final String[] errors = new String[CHUNK_SIZE];
+        int size;
+
+        boolean isFull() {
+            return size == CHUNK_SIZE;
+        }
+    }
+
+    private interface RowSource {
+        /**
+         * The next chunk of rows, or null at the end of the input.
+         */
+        Chunk nextChunk() throws IOException;
+    }
+
+    private static final class CsvSource implements RowSource {
+        private final CsvReader reader;
+        private boolean first = true;
+
+        CsvSource(Reader in) {
+            this.reader = new CsvReader(in);
+        }
+
+        @Override
+        public Chunk nextChunk() throws IOException {
+            Chunk chunk = new Chunk();
+            String[] row;
+            while (!chunk.isFull() && (row = reader.next()) != null) {
+                if (first) {
+                    first = false;
+                    if (row.length > 0 && row[0].trim().equalsIgnoreCase(ItemFileFormat.CSV_HEADER[0])) {
+                        continue;
+                    }
+                }
+                chunk.lines[chunk.size] = reader.getLineNumber();
+                chunk.rows[chunk.size++] = row;
+            }
+            return chunk.size > 0 ? chunk : null;
+        }
+    }
+
+    private static final class JsonlSource implements RowSource {
+        private final BufferedReader reader;
+        private long lineNumber;
+
+        JsonlSource(Reader in) {
+            this.reader = in instanceof BufferedReader ? (BufferedReader) in : new BufferedReader(in, 64 * 1024);
+        }
+
+        @Override
+        public Chunk nextChunk() throws IOException {
+            Chunk chunk = new Chunk();
+            String line;
+            while (!chunk.isFull() && (line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank()) {
+                    continue;
+                }
+                chunk.lines[chunk.size] = lineNumber;
+                chunk.rows[chunk.size++] = new String[] {line};
+            }
+            return chunk.size > 0 ? chunk : null;
+        }
+    }
+}
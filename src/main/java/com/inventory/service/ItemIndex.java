@@ -0,0 +1,131 @@
+package com.inventory.service;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import com.inventory.model.InventoryItem;
+import com.inventory.repository.ItemChangeListener;
+import com.inventory.repository.ItemRepository;
+
+/**
+ * Base for the service's secondary indexes, which mirror the repository by listening to
+ * its changes. The repository reports the changes to one id in order, and changes to
+ * different ids may arrive from several threads at once, so each index keeps its state in
+ * concurrent structures and updates only the entries of the changed item. Queries take no
+ * lock and see every change that completed before they started.
+ */
+abstract class ItemIndex implements ItemChangeListener {
+    /**
+     * Held for reading while a change is applied, and for writing only while the whole
+     * index is replaced, so that no change is lost to a rebuild.
+     */
+    protected final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /**
+     * The latest state of each id changed while {@link #attach} reads the repository, or
+     * null once the index is built. Guarded by {@link #lock}.
+     */
+    private Map<String, Optional<InventoryItem>> attaching;
+
+    /**
+     * Starts listening to {@code repository} and indexes its current items.
+     *
+     * <p>Writers are not held up while {@code findAll} runs. Changes reported in the
+     * meantime are collected, and the latest state of each changed id replaces whatever
+     * {@code findAll} returned for it. A change that {@code findAll} already saw may
+     * still be reported after the index is built, so {@link #put} and {@link #remove}
+     * must be safe to repeat.
+     *
+     * @return false if the repository does not publish changes, in which case the index
+     * cannot be kept current and must not be used
+     */
+    final boolean attach(ItemRepository repository) {
+        lock.writeLock().lock();
+        try {
+            attaching = Collections.synchronizedMap(new LinkedHashMap<>());
+            if (!repository.addChangeListener(this)) {
+                attaching = null;
+                return false;
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        Map<String, InventoryItem> items = new LinkedHashMap<>();
+        for (InventoryItem item : repository.findAll()) {
+            if (item.getId() != null) {
+                items.put(item.getId(), item);
+            }
+        }
+
+        lock.writeLock().lock();
+        try {
+            for (Map.Entry<String, Optional<InventoryItem>> change : attaching.entrySet()) {
+                if (change.getValue().isPresent()) {
+                    items.put(change.getKey(), change.getValue().get());
+                } else {
+                    items.remove(change.getKey());
+                }
+            }
+            attaching = null;
+            rebuild(items.values());
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public final void itemChanged(InventoryItem before, InventoryItem after) {
+        lock.readLock().lock();
+        try {
+            if (attaching != null) {
+                InventoryItem changed = after != null ? after : before;
+                if (changed != null && changed.getId() != null) {
+                    attaching.put(changed.getId(), Optional.ofNullable(after));
+                }
+                return;
+            }
+            if (after != null) {
+                if (after.getId() != null) {
+                    put(before, after);
+                }
+            } else if (before != null && before.getId() != null) {
+                remove(before);
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        afterChange();
+    }
+
+    /**
+     * Called after each change, once the lock is released, for work that needs the
+     * write lock. Does nothing unless overridden.
+     */
+    protected void afterChange() {
+    }
+
+    /**
+     * Replaces the contents of the index with {@code items}, in repository order. Called
+     * under the write lock.
+     */
+    protected abstract void rebuild(Collection<InventoryItem> items);
+
+    /**
+     * Adds the item, or replaces the indexed item with the same id.
+     *
+     * @param before the item the repository replaced, or null if it is new. The index may
+     * already hold {@code item} instead, if the change was in the items it was built from
+     */
+    protected abstract void put(InventoryItem before, InventoryItem item);
+
+    /**
+     * Removes the indexed item with the id of {@code before}, if there is one.
+     */
+    protected abstract void remove(InventoryItem before);
+}
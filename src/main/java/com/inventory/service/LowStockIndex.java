@@ -0,0 +1,130 @@
+package com.inventory.service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.inventory.model.InventoryItem;
+
+/**
+ * Items that have a reorder threshold, ordered by how far their quantity is above it,
+ * so the items most in need of restocking come first. An item is low on stock when its
+ * quantity is at or below its {@link InventoryItem#getEffectiveReorderThreshold()}.
+ *
+ * <p>Each change costs O(log n), and listing k low-stock items costs O(log n + k).
+ * Listeners are told when a change moves an item into or out of low stock; they run on
+ * the writing thread, possibly on several threads at once for different items, and must
+ * not write to the repository.
+ */
+final class LowStockIndex extends ItemIndex {
+    private static final Comparator<Entry> ORDER = Comparator
+            .comparingLong((Entry entry) -> entry.surplus)
+            .thenComparingLong(entry -> entry.rank);
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private final NavigableSet<Entry> bySurplus = new ConcurrentSkipListSet<>(ORDER);
+    private final List<LowStockListener> listeners = new CopyOnWriteArrayList<>();
+    private final AtomicLong nextRank = new AtomicLong();
+    private boolean rebuilding;
+
+    void addListener(LowStockListener listener) {
+        listeners.add(listener);
+    }
+
+    void removeListener(LowStockListener listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * Up to {@code limit} low-stock items, furthest below their threshold first.
+     */
+    List<InventoryItem> lowStock(int limit) {
+        List<InventoryItem> result = new ArrayList<>();
+        for (Entry entry : bySurplus) {
+            if (result.size() == limit || entry.surplus > 0) {
+                break;
+            }
+            result.add(entry.item);
+        }
+        return result;
+    }
+
+    @Override
+    protected void rebuild(Collection<InventoryItem> items) {
+        entries.clear();
+        bySurplus.clear();
+        rebuilding = true;
+        try {
+            for (InventoryItem item : items) {
+                if (item.getId() != null) {
+                    put(null, item);
+                }
+            }
+        } finally {
+            rebuilding = false;
+        }
+    }
+
+    @Override
+    protected void put(InventoryItem before, InventoryItem item) {
+        Entry previous = entries.remove(item.getId());
+        long rank;
+        if (previous != null) {
+            bySurplus.remove(previous);
+            rank = previous.rank;
+        } else {
+            rank = nextRank.getAndIncrement();
+        }
+
+        Integer threshold = item.getEffectiveReorderThreshold();
+        Entry entry = null;
+        if (threshold != null) {
+            entry = new Entry(item, (long) item.getQuantity() - threshold, rank);
+            entries.put(item.getId(), entry);
+            bySurplus.add(entry);
+        }
+
+        boolean wasLow = previous != null && previous.isLow();
+        boolean isLow = entry != null && entry.isLow();
+        if (wasLow != isLow && !rebuilding) {
+            for (LowStockListener listener : listeners) {
+                try {
+                    listener.lowStockChanged(item, isLow);
+                } catch (RuntimeException e) {
+                    System.err.println("Error notifying low stock listener: " + e.getMessage());
+                }
+            }
+        }
+    }
+
+    @Override
+    protected void remove(InventoryItem before) {
+        Entry entry = entries.remove(before.getId());
+        if (entry != null) {
+            bySurplus.remove(entry);
+        }
+    }
+
+    private static final class Entry {
+        final InventoryItem item;
+        final long surplus;
+        final long rank;
+
+        Entry(InventoryItem item, long surplus, long rank) {
+            this.item = item;
+            this.surplus = surplus;
+            this.rank = rank;
+        }
+
+        boolean isLow() {
+            return surplus <= 0;
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package com.inventory.service;
+
+import com.inventory.model.InventoryItem;
+
+/**
+ * Told when a change takes an item to or above its reorder threshold. See
+ * {@link InventoryService#addLowStockListener(LowStockListener)}.
+ */
+@FunctionalInterface
+public interface LowStockListener {
+
+    /**
+     * @param item the item after the change; read-only
+     * @param lowStock true if the item is now at or below its threshold, false if it has
+     * just been restocked above it
+     */
+    void lowStockChanged(InventoryItem item, boolean lowStock);
+}
@@ -0,0 +1,422 @@
+package com.inventory.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import com.inventory.model.InventoryItem;
+import com.inventory.repository.ItemRepository;
+
+/**
+ * Trigram index over the lowercased name, description and category name of every item,
+ * kept up to date by listening to the repository.
+ *
+ * <p>Each item gets a document number in the order it was first seen, which matches the
+ * repository's insertion order, so results come back in the same order as a scan of
+ * {@link ItemRepository#findAll()}. A search looks up the posting list of each trigram in
+ * the keyword, intersects them starting from the shortest, and checks the remaining
+ * candidates with the same {@code contains} test a scan would use. Keywords shorter than
+ * three characters are checked against every item's cached lowercase text.
+ *
+ * <p>Deletes and text changes leave stale postings behind, which the final check filters
+ * out. Once they outnumber the live items a background thread builds a compact copy of
+ * the index while changes keep being applied to the current one. Changes made in the
+ * meantime are queued and replayed onto the copy before it replaces the current index,
+ * which is the only moment writers wait.
+ */
+final class SearchIndex extends ItemIndex {
+    private static final int GRAM_LENGTH = 3;
+    private static final int MIN_REBUILD_CHANGES = 1024;
+
+    private final AtomicBoolean compacting = new AtomicBoolean();
+    private volatile Generation current = new Generation();
+    private volatile Queue<InventoryItem[]> pending;
+
+    /**
+     * Returns the items whose name, description or category name contains the keyword,
+     * ignoring case, in repository order.
+     */
+    List<InventoryItem> search(String keyword) {
+        String term = keyword.toLowerCase();
+        Generation generation = current;
+        if (term.length() < GRAM_LENGTH) {
+            return generation.scan(term);
+        }
+
+        List<InventoryItem> result = new ArrayList<>();
+        int[] candidates = generation.candidates(term);
+        for (int i = 0; i < candidates.length; i++) {
+            Document document = generation.documents.get(candidates[i]);
+            if (document != null && document.matches(term)) {
+                result.add(document.item);
+            }
+        }
+        return result;
+    }
+
+    int size() {
+        return current.documentIds.size();
+    }
+
+    @Override
+    protected void rebuild(Collection<InventoryItem> items) {
+        Generation generation = new Generation();
+        for (InventoryItem item : items) {
+            if (item.getId() != null) {
+                generation.index(item);
+            }
+        }
+        current = generation;
+    }
+
+    @Override
+    protected void put(InventoryItem before, InventoryItem item) {
+        Generation generation = current;
+        generation.index(item);
+        queue(null, item);
+        compactIfStale(generation);
+    }
+
+    @Override
+    protected void remove(InventoryItem before) {
+        Generation generation = current;
+        generation.remove(before.getId());
+        queue(before, null);
+        compactIfStale(generation);
+    }
+
+    private void queue(InventoryItem removed, InventoryItem saved) {
+        Queue<InventoryItem[]> changes = pending;
+        if (changes != null) {
+            changes.add(new InventoryItem[] {removed, saved});
+        }
+    }
+
+    private void compactIfStale(Generation generation) {
+        if (generation.staleChanges.get() > Math.max(MIN_REBUILD_CHANGES, generation.documentIds.size())
+                && compacting.compareAndSet(false, true)) {
+            Thread thread = new Thread(this::compact, "search-index-compaction");
+            thread.setDaemon(true);
+            thread.start();
+        }
+    }
+
+    private void compact() {
+        try {
+            Generation source;
+            lock.writeLock().lock();
+            try {
+                // Every change applied from here on is also queued for the copy
+                source = current;
+                pending = new ConcurrentLinkedQueue<>();
+            } finally {
+                lock.writeLock().unlock();
+            }
+
+            Generation copy = new Generation();
+            int count = source.documentCount.get();
+            for (int i = 0; i < count; i++) {
+                Document document = source.documents.get(i);
+                if (document != null) {
+                    copy.index(document.item);
+                }
+            }
+            replay(copy);
+
+            lock.writeLock().lock();
+            try {
+                replay(copy);
+                if (current == source) {
+                    current = copy;
+                }
+            } finally {
+                pending = null;
+                lock.writeLock().unlock();
+            }
+        } catch (RuntimeException e) {
+            pending = null;
+            System.err.println("Error compacting search index: " + e.getMessage());
+        } finally {
+            compacting.set(false);
+        }
+    }
+
+    /**
+     * Applies the queued changes to {@code copy} in the order they were made. Replaying a
+     * change the copy already has is harmless.
+     */
+    private void replay(Generation copy) {
+        InventoryItem[] change;
+        while ((change = pending.poll()) != null) {
+            if (change[1] != null) {
+                copy.index(change[1]);
+            } else {
+                copy.remove(change[0].getId());
+            }
+        }
+    }
+
+    /**
+     * One complete copy of the index. Writers of different items update it at the same
+     * time; readers use whichever copy is current when they start.
+     */
+    private static final class Generation {
+        final Map<String, Integer> documentIds = new ConcurrentHashMap<>();
+        final Map<Long, PostingList> postings = new ConcurrentHashMap<>();
+        final DocumentTable documents = new DocumentTable();
+        final AtomicInteger documentCount = new AtomicInteger();
+        final AtomicInteger staleChanges = new AtomicInteger();
+
+        List<InventoryItem> scan(String term) {
+            List<InventoryItem> result = new ArrayList<>();
+            int count = documentCount.get();
+            for (int i = 0; i < count; i++) {
+                Document document = documents.get(i);
+                if (document != null && document.matches(term)) {
+                    result.add(document.item);
+                }
+            }
+            return result;
+        }
+
+        /**
+         * Document numbers that contain every trigram of {@code term}, in ascending order.
+         */
+        int[] candidates(String term) {
+            long[] grams = new long[term.length()];
+            int count = grams(term, null, null, grams);
+            PostingList[] lists = new PostingList[count];
+            long[] bySize = new long[count];
+            for (int i = 0; i < count; i++) {
+                lists[i] = postings.get(grams[i]);
+                if (lists[i] == null) {
+                    return new int[0];
+                }
+                // Sizes change under concurrent writers, so sort on the ones seen here
+                bySize[i] = (long) lists[i].size() << 32 | i;
+            }
+            Arrays.sort(bySize);
+
+            int[] result = lists[(int) bySize[0]].toArray();
+            int size = result.length;
+            for (int i = 1; i < count && size > 0; i++) {
+                size = lists[(int) bySize[i]].retainAll(result, size);
+            }
+            return size == result.length ? result : Arrays.copyOf(result, size);
+        }
+
+        void index(InventoryItem item) {
+            Document document = new Document(item);
+            Integer existing = documentIds.get(item.getId());
+            if (existing == null) {
+                int number = documentCount.getAndIncrement();
+                documents.set(number, document);
+                documentIds.put(item.getId(), number);
+                addPostings(number, document);
+                return;
+            }
+
+            // Keep the document number so the item keeps its place in the results
+            Document previous = documents.getAndSet(existing, document);
+            if (!document.sameText(previous)) {
+                addPostings(existing, document);
+                staleChanges.incrementAndGet();
+            }
+        }
+
+        void remove(String id) {
+            Integer number = documentIds.remove(id);
+            if (number != null) {
+                documents.set(number, null);
+                staleChanges.incrementAndGet();
+            }
+        }
+
+        private void addPostings(int number, Document document) {
+            long[] buffer = new long[document.length()];
+            int count = grams(document.name, document.description, document.category, buffer);
+            for (int i = 0; i < count; i++) {
+                postings.computeIfAbsent(buffer[i], gram -> new PostingList()).add(number);
+            }
+        }
+    }
+
+    /**
+     * Documents by number, in chunks that double in size so the table grows without
+     * copying what is already in it.
+     */
+    private static final class DocumentTable {
+        private static final int FIRST_CHUNK_BITS = 4;
+
+        private final AtomicReferenceArray<AtomicReferenceArray<Document>> chunks =
+                new AtomicReferenceArray<>(Integer.SIZE - FIRST_CHUNK_BITS);
+
+        Document get(int number) {
+            int position = number + (1 << FIRST_CHUNK_BITS);
+            AtomicReferenceArray<Document> chunk = chunks.get(chunk(position));
+            return chunk != null ? chunk.get(position - Integer.highestOneBit(position)) : null;
+        }
+
+        void set(int number, Document document) {
+            getAndSet(number, document);
+        }
+
+        Document getAndSet(int number, Document document) {
+            int position = number + (1 << FIRST_CHUNK_BITS);
+            int index = chunk(position);
+            AtomicReferenceArray<Document> chunk = chunks.get(index);
+            if (chunk == null) {
+                chunks.compareAndSet(index, null, new AtomicReferenceArray<>(Integer.highestOneBit(position)));
+                chunk = chunks.get(index);
+            }
+            return chunk.getAndSet(position - Integer.highestOneBit(position), document);
+        }
+
+        private static int chunk(int position) {
+            return Integer.SIZE - 1 - Integer.numberOfLeadingZeros(position) - FIRST_CHUNK_BITS;
+        }
+    }
+
+    /**
+     * Collects the distinct trigrams of the given strings into {@code buffer}, sorted, and
+     * returns how many there are. Null strings are skipped.
+     */
+    private static int grams(String first, String second, String third, long[] buffer) {
+        int count = 0;
+        for (String text : new String[] {first, second, third}) {
+            if (text == null) {
+                continue;
+            }
+            for (int i = 0; i + GRAM_LENGTH <= text.length(); i++) {
+                buffer[count++] = gram(text, i);
+            }
+        }
+        Arrays.sort(buffer, 0, count);
+
+        int distinct = 0;
+        for (int i = 0; i < count; i++) {
+            if (distinct == 0 || buffer[distinct - 1] != buffer[i]) {
+                buffer[distinct++] = buffer[i];
+            }
+        }
+        return distinct;
+    }
+
+    private static long gram(String text, int start) {
+        return ((long) text.charAt(start) << 32) | ((long) text.charAt(start + 1) << 16) | text.charAt(start + 2);
+    }
+
+    private static final class Document {
+        final InventoryItem item;
+        final String name;
+        final String description;
+        final String category;
+
+        Document(InventoryItem item) {
+            this.item = item;
+            this.name = lowerCase(item.getName());
+            this.description = lowerCase(item.getDescription());
+            this.category = item.getCategory() != null ? lowerCase(item.getCategory().getName()) : null;
+        }
+
+        boolean matches(String term) {
+            return (name != null && name.contains(term))
+                    || (description != null && description.contains(term))
+                    || (category != null && category.contains(term));
+        }
+
+        boolean sameText(Document other) {
+            return other != null
+                    && Objects.equals(name, other.name)
+                    && Objects.equals(description, other.description)
+                    && Objects.equals(category, other.category);
+        }
+
+        int length() {
+            return (name != null ? name.length() : 0)
+                    + (description != null ? description.length() : 0)
+                    + (category != null ? category.length() : 0);
+        }
+
+        private static String lowerCase(String text) {
+            return text != null ? text.toLowerCase() : null;
+        }
+    }
+
+    /**
+     * Ascending document numbers, mostly appended to the end since new items get the
+     * highest number. Each list is locked on its own, so writers only wait for each other
+     * when their items share a trigram.
+     */
+    private static final class PostingList {
+        private int[] documents = new int[4];
+        private int size;
+
+        synchronized void add(int number) {
+            if (size > 0 && documents[size - 1] >= number) {
+                insert(number);
+                return;
+            }
+            if (size == documents.length) {
+                documents = Arrays.copyOf(documents, size * 2);
+            }
+            documents[size++] = number;
+        }
+
+        synchronized int size() {
+            return size;
+        }
+
+        synchronized int[] toArray() {
+            return Arrays.copyOf(documents, size);
+        }
+
+        /**
+         * Keeps only the first {@code count} entries of {@code candidates} that are also
+         * in this list, and returns how many are left. Both are ascending, so each lookup
+         * gallops forward from where the previous one stopped.
+         */
+        synchronized int retainAll(int[] candidates, int count) {
+            int kept = 0;
+            int from = 0;
+            for (int i = 0; i < count && from < size; i++) {
+                int target = candidates[i];
+                int bound = 1;
+                while (from + bound < size && documents[from + bound] < target) {
+                    bound <<= 1;
+                }
+                int position = Arrays.binarySearch(documents, from + (bound >> 1), Math.min(from + bound + 1, size), target);
+                if (position >= 0) {
+                    candidates[kept++] = target;
+                    from = position + 1;
+                } else {
+                    from = -position - 1;
+                }
+            }
+            return kept;
+        }
+
+        private void insert(int number) {
+            int position = Arrays.binarySearch(documents, 0, size, number);
+            if (position >= 0) {
+                return;
+            }
+            position = -position - 1;
+            if (size == documents.length) {
+                documents = Arrays.copyOf(documents, size * 2);
+            }
+            System.arraycopy(documents, position, documents, position + 1, size - position);
+            documents[position] = number;
+            size++;
+        }
+    }
+}
@@ -0,0 +1,182 @@
+package com.inventory.service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.inventory.model.InventoryItem;
+
+/**
+ * Items kept in order by each {@link SortKey}, so a page of sorted results costs
+ * O(log n + offset + limit) instead of a full sort.
+ *
+ * <p>Items with equal keys stay in repository order in both directions, as they would
+ * after a stable sort of {@code findAll()}. Each item keeps the rank it was first given,
+ * so updates do not move it among its equals.
+ *
+ * <p>Each order is a concurrent skip list, so changes to different items do not wait for
+ * each other. A page read while an item is being moved may miss that item.
+ */
+final class SortIndex extends ItemIndex {
+
+    enum SortKey {
+        NAME(Comparator.comparing(InventoryItem::getName, Comparator.nullsFirst(Comparator.naturalOrder()))),
+        PRICE(Comparator.comparingDouble(InventoryItem::getPrice)),
+        QUANTITY(Comparator.comparingInt(InventoryItem::getQuantity)),
+        ID(Comparator.comparing(InventoryItem::getId, Comparator.nullsFirst(Comparator.naturalOrder())));
+
+        private final Comparator<InventoryItem> comparator;
+
+        SortKey(Comparator<InventoryItem> comparator) {
+            this.comparator = comparator;
+        }
+
+        Comparator<InventoryItem> comparator() {
+            return comparator;
+        }
+
+        /**
+         * Maps the names accepted by {@link InventoryService#sortItems(String, boolean)},
+         * falling back to {@link #ID}.
+         */
+        static SortKey of(String sortBy) {
+            switch (sortBy.toLowerCase()) {
+                case "name":
+                    return NAME;
+                case "price":
+                    return PRICE;
+                case "quantity":
+                    return QUANTITY;
+                default:
+                    return ID;
+            }
+        }
+    }
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private final Map<SortKey, ConcurrentSkipListMap<Entry, InventoryItem>> orders = new EnumMap<>(SortKey.class);
+    private final AtomicLong nextRank = new AtomicLong();
+
+    SortIndex() {
+        for (SortKey key : SortKey.values()) {
+            orders.put(key, new ConcurrentSkipListMap<>(entryOrder(key)));
+        }
+    }
+
+    /**
+     * Returns up to {@code limit} items after skipping the first {@code offset} in the
+     * requested order.
+     */
+    List<InventoryItem> page(SortKey key, boolean ascending, int offset, int limit) {
+        ConcurrentSkipListMap<Entry, InventoryItem> order = orders.get(key);
+        List<InventoryItem> result = new ArrayList<>(Math.min(limit, Math.max(0, entries.size() - offset)));
+        if (limit == 0) {
+            return result;
+        }
+
+        if (ascending) {
+            collect(order, offset, limit, result);
+            return result;
+        }
+
+        // Walk the distinct keys from the top, taking each group of equal keys in rank order
+        int skip = offset;
+        Map.Entry<Entry, InventoryItem> last = order.lastEntry();
+        while (last != null && result.size() < limit) {
+            Entry first = new Entry(last.getKey().item, Long.MIN_VALUE);
+            NavigableMap<Entry, InventoryItem> group = order.subMap(first, true, last.getKey(), true);
+            int groupSize = group.size();
+            if (skip >= groupSize) {
+                skip -= groupSize;
+            } else {
+                collect(group, skip, limit, result);
+                skip = 0;
+            }
+            last = order.lowerEntry(first);
+        }
+        return result;
+    }
+
+    private static void collect(NavigableMap<Entry, InventoryItem> entries, int skip, int limit,
+            List<InventoryItem> result) {
+        Iterator<InventoryItem> iterator = entries.values().iterator();
+        for (int i = 0; i < skip && iterator.hasNext(); i++) {
+            iterator.next();
+        }
+        while (iterator.hasNext() && result.size() < limit) {
+            result.add(iterator.next());
+        }
+    }
+
+    @Override
+    protected void rebuild(Collection<InventoryItem> items) {
+        entries.clear();
+        for (Map<Entry, InventoryItem> order : orders.values()) {
+            order.clear();
+        }
+        for (InventoryItem item : items) {
+            if (item.getId() != null) {
+                put(null, item);
+            }
+        }
+    }
+
+    @Override
+    protected void put(InventoryItem before, InventoryItem item) {
+        Entry previous = entries.get(item.getId());
+        if (previous == null) {
+            Entry entry = new Entry(item, nextRank.getAndIncrement());
+            entries.put(item.getId(), entry);
+            for (Map<Entry, InventoryItem> order : orders.values()) {
+                order.put(entry, item);
+            }
+            return;
+        }
+
+        // Orders whose key did not change keep their entry, which still compares equal
+        Entry entry = new Entry(item, previous.rank);
+        entries.put(item.getId(), entry);
+        for (Map.Entry<SortKey, ConcurrentSkipListMap<Entry, InventoryItem>> order : orders.entrySet()) {
+            if (order.getKey().comparator().compare(previous.item, item) != 0) {
+                order.getValue().remove(previous);
+            }
+            order.getValue().put(entry, item);
+        }
+    }
+
+    @Override
+    protected void remove(InventoryItem before) {
+        Entry entry = entries.remove(before.getId());
+        if (entry != null) {
+            for (Map<Entry, InventoryItem> order : orders.values()) {
+                order.remove(entry);
+            }
+        }
+    }
+
+    private static Comparator<Entry> entryOrder(SortKey key) {
+        Comparator<InventoryItem> items = key.comparator();
+        return (a, b) -> {
+            int result = items.compare(a.item, b.item);
+            return result != 0 ? result : Long.compare(a.rank, b.rank);
+        };
+    }
+
+    private static final class Entry {
+        final InventoryItem item;
+        final long rank;
+
+        Entry(InventoryItem item, long rank) {
+            this.item = item;
+            this.rank = rank;
+        }
+    }
+}
@@ -0,0 +1,132 @@
+package com.inventory.service;
+
+import java.util.Collection;
+import java.util.DoubleSummaryStatistics;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.DoubleAdder;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.inventory.model.InventoryItem;
+
+/**
+ * Running inventory totals, adjusted by each change instead of recomputed. Prices are
+ * also counted in a sorted map so the minimum and maximum survive deletes at O(log n).
+ *
+ * <p>The index remembers the item it counted for each id and subtracts that one, not the
+ * {@code before} the repository reports. A change that was already in the items the
+ * index was built from can still be delivered once the index is attached, and this way
+ * it only replaces the item with itself.
+ *
+ * <p>Adding and subtracting prices leaves rounding residue in the double sums, so they
+ * are reset to exactly zero whenever the last item is removed, under the write lock so
+ * that no change in flight is lost.
+ *
+ * <p>The totals are read without stopping writers, so stats taken while changes are
+ * being applied may count some of those changes in one figure and not yet in another.
+ */
+final class StatsIndex extends ItemIndex {
+    private final Map<String, InventoryItem> items = new ConcurrentHashMap<>();
+    private final LongAdder totalUnits = new LongAdder();
+    private final DoubleAdder totalValue = new DoubleAdder();
+    private final DoubleAdder priceSum = new DoubleAdder();
+    private final ConcurrentSkipListMap<Double, Integer> prices = new ConcurrentSkipListMap<>();
+
+    InventoryStats stats() {
+        int count = items.size();
+        Map.Entry<Double, Integer> lowest = prices.firstEntry();
+        Map.Entry<Double, Integer> highest = prices.lastEntry();
+        if (count == 0 || lowest == null || highest == null) {
+            return new InventoryStats(0, 0, 0, 0, 0, 0);
+        }
+        return new InventoryStats(count, totalUnits.sum(), totalValue.sum(),
+                lowest.getKey(), highest.getKey(), priceSum.sum() / count);
+    }
+
+    @Override
+    protected void rebuild(Collection<InventoryItem> all) {
+        items.clear();
+        totalUnits.reset();
+        totalValue.reset();
+        priceSum.reset();
+        prices.clear();
+        for (InventoryItem item : all) {
+            if (item.getId() != null) {
+                put(null, item);
+            }
+        }
+    }
+
+    @Override
+    protected void put(InventoryItem before, InventoryItem item) {
+        subtract(items.put(item.getId(), item));
+        totalUnits.add(item.getQuantity());
+        totalValue.add(item.getTotalValue());
+        priceSum.add(item.getPrice());
+        prices.merge(item.getPrice(), 1, Integer::sum);
+    }
+
+    @Override
+    protected void remove(InventoryItem before) {
+        subtract(items.remove(before.getId()));
+    }
+
+    @Override
+    protected void afterChange() {
+        if (!items.isEmpty() || (totalValue.sum() == 0 && priceSum.sum() == 0)) {
+            return;
+        }
+
+        lock.writeLock().lock();
+        try {
+            if (items.isEmpty()) {
+                totalUnits.reset();
+                totalValue.reset();
+                priceSum.reset();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void subtract(InventoryItem item) {
+        if (item == null) {
+            return;
+        }
+
+        totalUnits.add(-item.getQuantity());
+        totalValue.add(-item.getTotalValue());
+        priceSum.add(-item.getPrice());
+        prices.computeIfPresent(item.getPrice(), (price, seen) -> seen > 1 ? seen - 1 : null);
+    }
+
+    /**
+     * Computes the same figures from scratch. Safe to use from parallel streams.
+     */
+    static final class Accumulator {
+        private final DoubleSummaryStatistics prices = new DoubleSummaryStatistics();
+        private final DoubleSummaryStatistics values = new DoubleSummaryStatistics();
+        private long units;
+
+        void accept(InventoryItem item) {
+            prices.accept(item.getPrice());
+            values.accept(item.getTotalValue());
+            units += item.getQuantity();
+        }
+
+        void combine(Accumulator other) {
+            prices.combine(other.prices);
+            values.combine(other.values);
+            units += other.units;
+        }
+
+        InventoryStats toStats() {
+            if (prices.getCount() == 0) {
+                return new InventoryStats(0, 0, 0, 0, 0, 0);
+            }
+            return new InventoryStats((int) prices.getCount(), units, values.getSum(),
+                    prices.getMin(), prices.getMax(), prices.getAverage());
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.inventory.service;
+
+/**
+ * Result of {@link InventoryService#verifyInventoryStats()}: the maintained statistics
+ * next to the ones recomputed from every item.
+ */
+public class StatsVerification {
+    /**
+     * Relative difference in the floating point figures that still counts as agreement.
+     * Running totals are updated by adding and subtracting, so their last bits can
+     * differ from a fresh sum.
+     */
+    public static final double TOLERANCE = 1e-9;
+
+    private final InventoryStats maintained;
+    private final InventoryStats recomputed;
+
+    public StatsVerification(InventoryStats maintained, InventoryStats recomputed) {
+        this.maintained = maintained;
+        this.recomputed = recomputed;
+    }
+
+    public InventoryStats getMaintained() {
+        return maintained;
+    }
+
+    public InventoryStats getRecomputed() {
+        return recomputed;
+    }
+
+    public double getValueDrift() {
+        return maintained.getTotalValue() - recomputed.getTotalValue();
+    }
+
+    public boolean hasDrift() {
+        return maintained.getItemCount() != recomputed.getItemCount()
+                || maintained.getTotalUnits() != recomputed.getTotalUnits()
+                || differs(maintained.getTotalValue(), recomputed.getTotalValue())
+                || differs(maintained.getMinPrice(), recomputed.getMinPrice())
+                || differs(maintained.getMaxPrice(), recomputed.getMaxPrice())
+                || differs(maintained.getAveragePrice(), recomputed.getAveragePrice());
+    }
+
+    private static boolean differs(double a, double b) {
+        return Math.abs(a - b) > TOLERANCE * Math.max(1.0, Math.max(Math.abs(a), Math.abs(b)));
+    }
+
+    @Override
+    public String toString() {
+        return "StatsVerification{" +
+                "drift=" + hasDrift() +
+                ", maintained=" + maintained +
+                ", recomputed=" + recomputed +
+                '}';
+    }
+}
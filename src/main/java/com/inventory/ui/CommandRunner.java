@@ -0,0 +1,233 @@
+package com.inventory.ui;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+import com.inventory.model.InventoryItem;
+import com.inventory.repository.ItemSnapshot;
+import com.inventory.service.InventoryService;
+
+/**
+ * Runs inventory commands from a script, one per line, and writes one JSON result line
+ * per command. Blank lines and lines starting with {@code #} are skipped.
+ *
+ * <pre>
+ * add {"id":"ITM001","name":"Laptop",...}     update {"id":"ITM001",...}
+ * delete ITM001                               adjust ITM001 -3
+ * get ITM001                                  list
+ * search laptop bag                           sort price desc [offset] [limit]
+ * stats
+ * </pre>
+ *
+ * <p>Consecutive add, update, delete and adjust commands form one group. The group is
+ * applied in memory command by command and then persisted in a single pass, and only
+ * then are its results written. A result is
+ * {@code {"line":3,"command":"add","ok":true,"result":...}}, or has {@code "ok":false}
+ * and an {@code "error"} message instead of a result.
+ */
+public class CommandRunner {
+    private final InventoryService service;
+    private final Runnable persist;
+    private final Gson gson = new Gson();
+    private final List<Pending> group = new ArrayList<>();
+    private int failures;
+
+    /**
+     * @param persist writes the changes made so far, called once at the end of each
+     * group of mutations
+     */
+    public CommandRunner(InventoryService service, Runnable persist) {
+        this.service = service;
+        this.persist = persist;
+    }
+
+    /**
+     * Runs every command in {@code in} and returns how many failed.
+     */
+    public int run(Reader in, Writer out) throws IOException {
+        BufferedReader reader = new BufferedReader(in);
+        int lineNumber = 0;
+        String line;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            line = line.trim();
+            if (line.isEmpty() || line.startsWith("#")) {
+                continue;
+            }
+
+            int space = line.indexOf(' ');
+            String command = (space < 0 ? line : line.substring(0, space)).toLowerCase();
+            String argument = space < 0 ? "" : line.substring(space + 1).trim();
+            if (isMutation(command)) {
+                group.add(mutate(lineNumber, command, argument));
+                continue;
+            }
+
+            finishGroup(out);
+            try {
+                write(out, Result.success(lineNumber, command, query(command, argument)));
+            } catch (IllegalArgumentException | JsonParseException e) {
+                write(out, Result.failure(lineNumber, command, e.getMessage()));
+            }
+        }
+        finishGroup(out);
+        out.flush();
+        return failures;
+    }
+
+    private static boolean isMutation(String command) {
+        switch (command) {
+            case "add":
+            case "update":
+            case "delete":
+            case "adjust":
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    private Pending mutate(int lineNumber, String command, String argument) {
+        try {
+            switch (command) {
+                case "add":
+                    return new Pending(lineNumber, command, service.addItemAsync(parseItem(argument)));
+                case "update":
+                    return new Pending(lineNumber, command, service.updateItemAsync(parseItem(argument)));
+                case "delete":
+                    return new Pending(lineNumber, command, service.deleteItemAsync(argument));
+                default:
+                    String[] parts = arguments(argument, 2, 2);
+                    return new Pending(lineNumber, command, service.adjustQuantityAsync(parts[0], integer(parts[1])));
+            }
+        } catch (IllegalArgumentException | JsonParseException e) {
+            return new Pending(lineNumber, command, CompletableFuture.failedFuture(e));
+        }
+    }
+
+    private Object query(String command, String argument) {
+        switch (command) {
+            case "get":
+                return service.findItemById(argument)
+                        .orElseThrow(() -> new IllegalArgumentException("Item with ID " + argument + " not found"));
+            case "list":
+                try (ItemSnapshot snapshot = service.snapshotItems()) {
+                    List<InventoryItem> items = new ArrayList<>();
+                    snapshot.forEach(items::add);
+                    return items;
+                }
+            case "search":
+                return service.searchItems(argument);
+            case "sort":
+                String[] parts = arguments(argument, 1, 4);
+                if (parts.length > 1 && !"asc".equals(parts[1]) && !"desc".equals(parts[1])) {
+                    throw new IllegalArgumentException("Order must be asc or desc");
+                }
+                return service.sortItems(parts[0], parts.length < 2 || "asc".equals(parts[1]),
+                        parts.length > 2 ? integer(parts[2]) : 0,
+                        parts.length > 3 ? integer(parts[3]) : Integer.MAX_VALUE);
+            case "stats":
+                return service.getInventoryStats();
+            default:
+                throw new IllegalArgumentException("Unknown command: " + command);
+        }
+    }
+
+    /**
+     * Persists the current group and writes its results in script order.
+     */
+    private void finishGroup(Writer out) throws IOException {
+        if (group.isEmpty()) {
+            return;
+        }
+
+        persist.run();
+        for (Pending pending : group) {
+            Result result;
+            try {
+                result = Result.success(pending.line, pending.command, pending.result.join());
+            } catch (CompletionException e) {
+                result = Result.failure(pending.line, pending.command, e.getCause().getMessage());
+            }
+            write(out, result);
+        }
+        group.clear();
+    }
+
+    private void write(Writer out, Result result) throws IOException {
+        if (!result.ok) {
+            failures++;
+        }
+        gson.toJson(result, out);
+        out.write('\n');
+    }
+
+    private InventoryItem parseItem(String json) {
+        InventoryItem item = gson.fromJson(json, InventoryItem.class);
+        if (item == null) {
+            throw new IllegalArgumentException("Expected an item as JSON");
+        }
+        return item;
+    }
+
+    private static String[] arguments(String argument, int min, int max) {
+        String[] parts = argument.isEmpty() ? new String[0] : argument.split("\\s+");
+        if (parts.length < min || parts.length > max) {
+            throw new IllegalArgumentException("Expected " + (min == max ? min : min + " to " + max)
+                    + " arguments");
+        }
+        return parts;
+    }
+
+    private static int integer(String value) {
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Not a whole number: " + value);
+        }
+    }
+
+    private static final class Pending {
+        final int line;
+        final String command;
+        final CompletableFuture<?> result;
+
+        Pending(int line, String command, CompletableFuture<?> result) {
+            this.line = line;
+            this.command = command;
+            this.result = result;
+        }
+    }
+
+    private static final class Result {
+        final int line;
+        final String command;
+        final boolean ok;
+        final Object result;
+        final String error;
+
+        private Result(int line, String command, boolean ok, Object result, String error) {
+            this.line = line;
+            this.command = command;
+            this.ok = ok;
+            this.result = result;
+            this.error = error;
+        }
+
+        static Result success(int line, String command, Object result) {
+            return new Result(line, command, true, result, null);
+        }
+
+        static Result failure(int line, String command, String error) {
+            return new Result(line, command, false, null, error);
+        }
+    }
+}
@@ -16,6 +16,14 @@ public class ConsoleHelper {
         System.out.println(message);
     }
 
+    /**
+     * Overwrites the current console line, for counters that update in place.
+     */
+    public void printProgress(String message) {
+        System.out.print("\r" + message);
+        System.out.flush();
+    }
+
     public String readInput() {
         return scanner.nextLine().trim();
     }
@@ -1,23 +1,101 @@
 package com.inventory.ui;
 
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
 import java.util.Scanner;
 
+import com.inventory.http.InventoryHttpServer;
+import com.inventory.metrics.InventoryMetrics;
+import com.inventory.metrics.MetricsReporter;
 import com.inventory.repository.FileHandler;
 import com.inventory.repository.FileItemRepository;
-import com.inventory.repository.ItemRepository;
+import com.inventory.repository.InstrumentedItemRepository;
+import com.inventory.repository.ItemJournal;
+import com.inventory.repository.SnapshotFormat;
+import com.inventory.repository.SyncPolicy;
+import com.inventory.repository.WriteBehindPolicy;
+import com.inventory.service.InstrumentedInventoryService;
 import com.inventory.service.InventoryService;
 import com.inventory.service.Validator;
 
+/**
+ * Starts the interactive menu, or with {@code --http [port]} serves the inventory over
+ * HTTP until the process is stopped. With {@code --exec [file]} runs the commands in the
+ * file, or on standard input when no file or {@code -} is given, and exits; see
+ * {@link CommandRunner}.
+ */
 public class InventoryApp {
     
     private static final String DATA_FILE_PATH = "inventory_data.json";
+    private static final String BINARY_DATA_FILE_PATH = "inventory_data.bin";
+    private static final String JOURNAL_FILE_PATH = "inventory_data.journal";
+    private static final String BINARY_JOURNAL_FILE_PATH = "inventory_data.bin.journal";
+    private static final String SYNC_POLICY_PROPERTY = "inventory.fsync";
+    private static final String DEFAULT_SYNC_POLICY = "100ms";
+    private static final String FORMAT_PROPERTY = "inventory.format";
+    private static final String METRICS_PROPERTY = "inventory.metrics";
+    private static final String METRICS_FILE_PROPERTY = "inventory.metrics.file";
+    private static final String METRICS_INTERVAL_PROPERTY = "inventory.metrics.interval";
+    private static final String DEFAULT_METRICS_INTERVAL = "60000";
+    private static final String WRITE_BEHIND_PROPERTY = "inventory.writeBehind";
+    // A batch run persists once per group of mutations, so the flusher only wakes on its own
+    // when a group is very large
+    private static final WriteBehindPolicy BATCH_WRITE_BEHIND = WriteBehindPolicy.every(1000, 100_000, 1_000_000);
 
-    public static void main(String[] args) {
+    public static void main(String[] args) throws IOException {
         Scanner scanner = new Scanner(System.in);
-        FileHandler fileHandler = new FileHandler(DATA_FILE_PATH);
-        ItemRepository itemRepository = new FileItemRepository(fileHandler);
+        SyncPolicy syncPolicy = SyncPolicy.parse(System.getProperty(SYNC_POLICY_PROPERTY, DEFAULT_SYNC_POLICY));
+        SnapshotFormat format = SnapshotFormat.valueOf(System.getProperty(FORMAT_PROPERTY, "json").toUpperCase());
+        boolean binary = format == SnapshotFormat.BINARY;
+        FileHandler fileHandler = new FileHandler(binary ? BINARY_DATA_FILE_PATH : DATA_FILE_PATH, syncPolicy);
+        ItemJournal journal = new ItemJournal(binary ? BINARY_JOURNAL_FILE_PATH : JOURNAL_FILE_PATH, syncPolicy);
+        // Metrics are published over JMX when enabled, and also appended to a file if one is named
+        String metricsFile = System.getProperty(METRICS_FILE_PROPERTY);
+        InventoryMetrics metrics = Boolean.getBoolean(METRICS_PROPERTY) || metricsFile != null
+                ? new InventoryMetrics() : null;
+        boolean batch = args.length > 0 && "--exec".equals(args[0]);
+        String writeBehind = System.getProperty(WRITE_BEHIND_PROPERTY);
+        FileItemRepository itemRepository = new FileItemRepository(fileHandler, journal,
+                FileItemRepository.DEFAULT_CHECKPOINT_INTERVAL, format, metrics,
+                writeBehind != null ? WriteBehindPolicy.parse(writeBehind) : batch ? BATCH_WRITE_BEHIND : null);
         Validator validator = new Validator();
-        InventoryService inventoryService = new InventoryService(itemRepository, validator);
+        InventoryService inventoryService;
+        MetricsReporter metricsReporter = null;
+        if (metrics != null) {
+            metrics.registerMBeans();
+            inventoryService = new InstrumentedInventoryService(
+                    new InstrumentedItemRepository(itemRepository, metrics), validator, metrics);
+            if (metricsFile != null) {
+                metricsReporter = new MetricsReporter(metrics, Paths.get(metricsFile),
+                        Long.parseLong(System.getProperty(METRICS_INTERVAL_PROPERTY, DEFAULT_METRICS_INTERVAL)));
+            }
+        } else {
+            inventoryService = new InventoryService(itemRepository, validator);
+        }
+        if (args.length > 0 && "--http".equals(args[0])) {
+            int port = args.length > 1 ? Integer.parseInt(args[1]) : InventoryHttpServer.DEFAULT_PORT;
+            serveHttp(inventoryService, itemRepository, metricsReporter, port);
+            return;
+        }
+        if (batch) {
+            String script = args.length > 1 && !"-".equals(args[1]) ? args[1] : null;
+            int failures = execute(inventoryService, itemRepository, script);
+            if (metricsReporter != null) {
+                metricsReporter.close();
+            }
+            if (failures > 0) {
+                System.exit(1);
+            }
+            return;
+        }
+
         ConsoleHelper consoleHelper = new ConsoleHelper(scanner);
         MenuManager menuManager = new MenuManager(scanner, inventoryService, consoleHelper);
 
@@ -29,6 +107,60 @@ public class InventoryApp {
 
         menuManager.displayMainMenu();
 
+        itemRepository.close();
+        if (metricsReporter != null) {
+            metricsReporter.close();
+        }
         scanner.close();
     }
+
+    /**
+     * Runs the HTTP server until the process is interrupted, then stops it and writes
+     * out the repository.
+     */
+    private static void serveHttp(InventoryService inventoryService, FileItemRepository itemRepository,
+                                  MetricsReporter metricsReporter, int port) throws IOException {
+        // With Nagle's algorithm on, every small response waits out the client's delayed
+        // ACK, about 40 ms. The JDK server reads this once, when its classes load, so it
+        // must be set before the server is created; an explicit setting wins.
+        if (System.getProperty("sun.net.httpserver.nodelay") == null) {
+            System.setProperty("sun.net.httpserver.nodelay", "true");
+        }
+        InventoryHttpServer server = new InventoryHttpServer(inventoryService, new InetSocketAddress(port));
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            server.close();
+            itemRepository.close();
+            if (metricsReporter != null) {
+                metricsReporter.close();
+            }
+        }, "shutdown"));
+        server.start();
+        System.out.println("Serving the inventory on port " + server.getAddress().getPort()
+                + (server.usesVirtualThreads() ? " using virtual threads"
+                        : " using a pool of " + InventoryHttpServer.FALLBACK_THREADS
+                        + " platform threads (virtual threads need Java 21 or later)"));
+    }
+
+    /**
+     * Runs a command script and writes one JSON result per command to standard output.
+     * A summary goes to standard error so that the results can be piped on as they are.
+     *
+     * @return the number of commands that failed
+     */
+    private static int execute(InventoryService inventoryService, FileItemRepository itemRepository,
+                               String script) throws IOException {
+        long start = System.nanoTime();
+        int failures;
+        try (Reader in = script != null
+                ? Files.newBufferedReader(Paths.get(script), StandardCharsets.UTF_8)
+                : new InputStreamReader(System.in, StandardCharsets.UTF_8)) {
+            BufferedWriter out = new BufferedWriter(new OutputStreamWriter(System.out, StandardCharsets.UTF_8));
+            failures = new CommandRunner(inventoryService, itemRepository::flush).run(in, out);
+        } finally {
+            itemRepository.close();
+        }
+        System.err.printf("Finished in %d ms with %d failed command(s)%n",
+                (System.nanoTime() - start) / 1_000_000, failures);
+        return failures;
+    }
 }
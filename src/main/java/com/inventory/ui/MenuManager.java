@@ -1,14 +1,22 @@
 package com.inventory.ui;
 
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.List;
 import java.util.Optional;
 import java.util.Scanner;
 
 import com.inventory.model.InventoryItem;
 import com.inventory.model.ItemCategory;
+import com.inventory.repository.ItemPage;
+import com.inventory.service.BatchResult;
+import com.inventory.service.ImportResult;
 import com.inventory.service.InventoryService;
 
 public class MenuManager {
+    private static final int PAGE_SIZE = 20;
+
     private final Scanner scanner;
     private final InventoryService inventoryService;
     private final ConsoleHelper consoleHelper;
@@ -31,6 +39,8 @@ public class MenuManager {
             consoleHelper.printMessage("4. Update item");
             consoleHelper.printMessage("5. Delete item");
             consoleHelper.printMessage("6. Sort items");
+            consoleHelper.printMessage("7. Import items from file");
+            consoleHelper.printMessage("8. Export items to file");
             consoleHelper.printMessage("0. Exit");
             consoleHelper.printMessage("=======================================");
             consoleHelper.printMessage("Enter your choice: ");
@@ -65,6 +75,12 @@ public class MenuManager {
             case 6:
                 sortItemsMenu();
                 return false;
+            case 7:
+                importItemsMenu();
+                return false;
+            case 8:
+                exportItemsMenu();
+                return false;
             case 0:
                 consoleHelper.printMessage("Exiting application. Goodbye!");
                 return true;
@@ -123,17 +139,29 @@ public class MenuManager {
         consoleHelper.clearScreen();
         consoleHelper.printMessage("===== All Items =====");
         
-        List<InventoryItem> items = inventoryService.getAllItems();
+        ItemPage page = inventoryService.getItemsPage(ItemPage.FIRST, PAGE_SIZE);
         
-        if (items.isEmpty()) {
+        if (page.getItems().isEmpty()) {
             consoleHelper.printMessage("No items found in inventory.");
         } else {
-            consoleHelper.printTable(items);
+            consoleHelper.printTable(page.getItems());
+            while (page.hasNext() && showNextPage()) {
+                page = inventoryService.getItemsPage(page.getNextCursor(), PAGE_SIZE);
+                consoleHelper.printTable(page.getItems());
+            }
         }
         
         consoleHelper.waitForEnter();
     }
 
+    /**
+     * Asks whether to print another page. Anything but "q" means yes.
+     */
+    private boolean showNextPage() {
+        consoleHelper.printMessage("Press Enter for more items, or q to stop: ");
+        return !scanner.nextLine().trim().equalsIgnoreCase("q");
+    }
+
     private void searchItemsMenu() {
         consoleHelper.clearScreen();
         consoleHelper.printMessage("===== Search Items =====");
@@ -298,13 +326,105 @@ public class MenuManager {
             int orderChoice = Integer.parseInt(scanner.nextLine().trim());
             boolean ascending = orderChoice != 2;
             
-            List<InventoryItem> sortedItems = inventoryService.sortItems(sortBy, ascending);
+            // Fetch one extra row to know whether there is another page
+            List<InventoryItem> sortedItems = inventoryService.sortItems(sortBy, ascending, 0, PAGE_SIZE + 1);
             
             consoleHelper.printMessage("Sorted items by " + sortBy + " in " + 
                     (ascending ? "ascending" : "descending") + " order:");
-            consoleHelper.printTable(sortedItems);
+            int offset = 0;
+            consoleHelper.printTable(sortedItems.subList(0, Math.min(PAGE_SIZE, sortedItems.size())));
+            while (sortedItems.size() > PAGE_SIZE && showNextPage()) {
+                offset += PAGE_SIZE;
+                sortedItems = inventoryService.sortItems(sortBy, ascending, offset, PAGE_SIZE + 1);
+                consoleHelper.printTable(sortedItems.subList(0, Math.min(PAGE_SIZE, sortedItems.size())));
+            }
+        } catch (NumberFormatException e) {
+            consoleHelper.printError("Invalid input. Please enter a number.");
+        }
+        
+        consoleHelper.waitForEnter();
+    }
+
+    private void importItemsMenu() {
+        consoleHelper.clearScreen();
+        consoleHelper.printMessage("===== Import Items =====");
+        consoleHelper.printMessage("Accepted formats: .csv (id,name,description,quantity,price,"
+                + "categoryId,categoryName,categoryDescription,reorderThreshold) or .jsonl");
+        consoleHelper.printMessage("Enter file path: ");
+        String path = scanner.nextLine().trim();
+        
+        try {
+            ImportResult result = inventoryService.importItems(Paths.get(path),
+                    rows -> consoleHelper.printProgress("Rows processed: " + rows));
+            consoleHelper.printMessage("");
+            consoleHelper.printMessage("Imported " + result.getImportedCount() + " of "
+                    + result.getRowCount() + " rows.");
+            if (result.getFailureCount() > 0) {
+                consoleHelper.printMessage(result.getFailureCount() + " rows were skipped:");
+                for (BatchResult.Failure failure : result.getFailures().subList(0,
+                        Math.min(PAGE_SIZE, result.getFailures().size()))) {
+                    consoleHelper.printMessage("  Line " + failure.getIndex() + ": " + failure.getMessage());
+                }
+            }
+        } catch (IllegalArgumentException e) {
+            consoleHelper.printError("Error: " + e.getMessage());
+        } catch (IOException e) {
+            consoleHelper.printError("Error reading file: " + e.getMessage());
+        }
+        
+        consoleHelper.waitForEnter();
+    }
+
+    private void exportItemsMenu() {
+        consoleHelper.clearScreen();
+        consoleHelper.printMessage("===== Export Items =====");
+        
+        consoleHelper.printMessage("Export:");
+        consoleHelper.printMessage("1. All items");
+        consoleHelper.printMessage("2. Items in a category");
+        consoleHelper.printMessage("3. Search results");
+        consoleHelper.printMessage("Enter your choice: ");
+        
+        try {
+            int exportChoice = Integer.parseInt(scanner.nextLine().trim());
+            String keyword = null;
+            int categoryId = 0;
+            
+            switch (exportChoice) {
+                case 1:
+                    break;
+                case 2:
+                    consoleHelper.printMessage("Enter category ID: ");
+                    categoryId = Integer.parseInt(scanner.nextLine().trim());
+                    break;
+                case 3:
+                    consoleHelper.printMessage("Enter search keyword: ");
+                    keyword = scanner.nextLine().trim();
+                    break;
+                default:
+                    consoleHelper.printError("Invalid choice.");
+                    consoleHelper.waitForEnter();
+                    return;
+            }
+            
+            consoleHelper.printMessage("Enter file path (.csv or .jsonl): ");
+            Path file = Paths.get(scanner.nextLine().trim());
+            
+            long count;
+            if (exportChoice == 2) {
+                count = inventoryService.exportItemsByCategory(file, categoryId);
+            } else if (exportChoice == 3) {
+                count = inventoryService.exportSearchResults(file, keyword);
+            } else {
+                count = inventoryService.exportItems(file);
+            }
+            consoleHelper.printMessage("Exported " + count + " items to " + file + ".");
         } catch (NumberFormatException e) {
             consoleHelper.printError("Invalid input. Please enter a number.");
+        } catch (IllegalArgumentException e) {
+            consoleHelper.printError("Error: " + e.getMessage());
+        } catch (IOException e) {
+            consoleHelper.printError("Error writing file: " + e.getMessage());
         }
         
         consoleHelper.waitForEnter();
@@ -0,0 +1,162 @@
+package com.inventory.http;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import com.inventory.model.InventoryItem;
+import com.inventory.model.ItemCategory;
+import com.inventory.repository.FileHandler;
+import com.inventory.repository.FileItemRepository;
+import com.inventory.repository.SyncPolicy;
+import com.inventory.service.InventoryService;
+import com.inventory.service.Validator;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class InventoryHttpServerTest {
+
+    @TempDir
+    Path tempDir;
+
+    private final Gson gson = new Gson();
+    private final HttpClient client = HttpClient.newHttpClient();
+    private InventoryService service;
+    private InventoryHttpServer server;
+    private ItemCategory category;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        FileItemRepository repository = new FileItemRepository(new FileHandler(tempDir.resolve("http.json").toString(),
+                SyncPolicy.never()));
+        service = new InventoryService(repository, new Validator());
+        server = new InventoryHttpServer(service, new InetSocketAddress("127.0.0.1", 0));
+        server.start();
+        category = new ItemCategory(1, "Electronics", "Electronic devices");
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.close();
+    }
+
+    @Test
+    void start_UsesVirtualThreadsOnlyWhereTheJdkHasThem() {
+        // Assert
+        assertEquals(Runtime.version().feature() >= 21, server.usesVirtualThreads());
+    }
+
+    @Test
+    void items_CreateReadUpdateDelete() throws Exception {
+        // Arrange
+        InventoryItem laptop = new InventoryItem("ITM001", "Laptop", "15-inch laptop", 10, 999.99, category);
+
+        // Act
+        HttpResponse<String> created = send("POST", "/items", gson.toJson(laptop));
+        HttpResponse<String> read = send("GET", "/items/ITM001", null);
+        laptop.setPrice(899.99);
+        HttpResponse<String> updated = send("PUT", "/items/ITM001", gson.toJson(laptop));
+        HttpResponse<String> adjusted = send("POST", "/items/ITM001/adjust?delta=-3", "");
+        HttpResponse<String> deleted = send("DELETE", "/items/ITM001", null);
+        HttpResponse<String> missing = send("GET", "/items/ITM001", null);
+
+        // Assert
+        assertEquals(201, created.statusCode());
+        assertEquals(200, read.statusCode());
+        assertEquals("Laptop", gson.fromJson(read.body(), InventoryItem.class).getName());
+        assertEquals(899.99, gson.fromJson(updated.body(), InventoryItem.class).getPrice());
+        assertEquals(7, gson.fromJson(adjusted.body(), InventoryItem.class).getQuantity());
+        assertEquals(204, deleted.statusCode());
+        assertEquals(404, missing.statusCode());
+        assertTrue(service.getAllItems().isEmpty());
+    }
+
+    @Test
+    void items_ListStreamsEverythingOrOnePage() throws Exception {
+        // Arrange
+        for (int i = 0; i < 25; i++) {
+            service.addItem(new InventoryItem(String.format("ITM%03d", i), "Item " + i, "Listed", i, 1.0 + i, category));
+        }
+
+        // Act
+        HttpResponse<String> all = send("GET", "/items", null);
+        JsonObject first = gson.fromJson(send("GET", "/items?limit=10", null).body(), JsonObject.class);
+        long cursor = first.get("nextCursor").getAsLong();
+        JsonObject second = gson.fromJson(send("GET", "/items?limit=20&cursor=" + cursor, null).body(), JsonObject.class);
+
+        // Assert
+        assertEquals(25, gson.fromJson(all.body(), JsonArray.class).size());
+        assertEquals(10, first.getAsJsonArray("items").size());
+        assertEquals(15, second.getAsJsonArray("items").size());
+        assertEquals(-1, second.get("nextCursor").getAsLong());
+    }
+
+    @Test
+    void searchSortAndBatch_UseTheService() throws Exception {
+        // Arrange
+        String batch = gson.toJson(new InventoryItem[] {
+                new InventoryItem("A", "Phone", "Smartphone", 5, 499.99, category),
+                new InventoryItem("B", "Laptop", "Work laptop", 2, 999.99, category),
+                new InventoryItem("C", "Cable", "USB cable", 50, 9.99, category)});
+
+        // Act
+        HttpResponse<String> added = send("POST", "/batch/add", batch);
+        HttpResponse<String> search = send("GET", "/search?q=laptop", null);
+        HttpResponse<String> sorted = send("GET", "/sort?by=price&order=desc&limit=2", null);
+        HttpResponse<String> removed = send("POST", "/batch/delete", "[\"C\",\"\"]");
+        HttpResponse<String> removedSkipping = send("POST", "/batch/delete?skipInvalid=true", "[\"C\",\"\"]");
+
+        // Assert
+        assertEquals(3, gson.fromJson(added.body(), JsonObject.class).getAsJsonArray("succeededIds").size());
+        JsonArray found = gson.fromJson(search.body(), JsonArray.class);
+        assertEquals(1, found.size());
+        assertEquals("B", found.get(0).getAsJsonObject().get("id").getAsString());
+        JsonArray page = gson.fromJson(sorted.body(), JsonArray.class);
+        assertEquals("B", page.get(0).getAsJsonObject().get("id").getAsString());
+        assertEquals("A", page.get(1).getAsJsonObject().get("id").getAsString());
+        assertEquals(400, removed.statusCode());
+        assertEquals(200, removedSkipping.statusCode());
+        assertEquals(2, service.getAllItems().size());
+    }
+
+    @Test
+    void errors_AreReportedWithStatusCodes() throws Exception {
+        // Act
+        HttpResponse<String> invalid = send("POST", "/items",
+                gson.toJson(new InventoryItem("X", "", "No name", 1, 1.0, category)));
+        HttpResponse<String> malformed = send("POST", "/items", "{not json");
+        HttpResponse<String> wrongMethod = send("DELETE", "/stats", null);
+        HttpResponse<String> unknownPath = send("GET", "/stats/extra", null);
+        HttpResponse<String> badNumber = send("GET", "/sort?limit=lots", null);
+        HttpResponse<String> missingUpdate = send("PUT", "/items/NOPE",
+                gson.toJson(new InventoryItem("NOPE", "Ghost", "Missing", 1, 1.0, category)));
+
+        // Assert
+        assertEquals(400, invalid.statusCode());
+        assertTrue(gson.fromJson(invalid.body(), JsonObject.class).has("error"));
+        assertEquals(400, malformed.statusCode());
+        assertEquals(405, wrongMethod.statusCode());
+        assertEquals(404, unknownPath.statusCode());
+        assertEquals(400, badNumber.statusCode());
+        assertEquals(404, missingUpdate.statusCode());
+    }
+
+    private HttpResponse<String> send(String method, String path, String body) throws Exception {
+        URI uri = URI.create("http://127.0.0.1:" + server.getAddress().getPort() + path);
+        HttpRequest.BodyPublisher publisher = body != null
+                ? HttpRequest.BodyPublishers.ofString(body) : HttpRequest.BodyPublishers.noBody();
+        HttpRequest request = HttpRequest.newBuilder(uri).method(method, publisher).build();
+        return client.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+}
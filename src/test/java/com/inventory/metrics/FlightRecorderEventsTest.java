@@ -0,0 +1,95 @@
+package com.inventory.metrics;
+
+import com.inventory.model.InventoryItem;
+import com.inventory.model.ItemCategory;
+import com.inventory.repository.FileHandler;
+import com.inventory.repository.FileItemRepository;
+import com.inventory.repository.SyncPolicy;
+import com.inventory.service.InventoryService;
+import com.inventory.service.Validator;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class FlightRecorderEventsTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void operations_EmitEvents() throws IOException {
+        // Arrange
+        Path dataFile = tempDir.resolve("jfr.json");
+        List<RecordedEvent> events;
+
+        // Act
+        try (Recording recording = new Recording()) {
+            for (String name : new String[] {"SnapshotLoad", "SnapshotSave", "ItemMutation", "Search", "Sort"}) {
+                recording.enable("com.inventory." + name).withThreshold(Duration.ZERO);
+            }
+            recording.start();
+
+            FileItemRepository repository = new FileItemRepository(
+                    new FileHandler(dataFile.toString(), SyncPolicy.never()));
+            InventoryService service = new InventoryService(repository, new Validator());
+            service.addItem(new InventoryItem("A1", "Hammer", "Claw hammer", 5, 12.5,
+                    new ItemCategory(1, "Tools", "Hand tools")));
+            service.adjustQuantity("A1", -2);
+            repository.adjustQuantity("A1", 0);
+            repository.deleteAll(List.of("MISSING"));
+            service.searchItems("hammer");
+            service.sortItems("price", false, 0, 10);
+            service.deleteItem("A1");
+
+            recording.stop();
+            Path output = tempDir.resolve("recording.jfr");
+            recording.dump(output);
+            events = RecordingFile.readAllEvents(output);
+        }
+
+        // Assert
+        List<String> mutations = events.stream()
+                .filter(event -> event.getEventType().getName().equals("com.inventory.ItemMutation"))
+                .map(event -> event.getString("operation"))
+                .collect(Collectors.toList());
+        assertEquals(List.of("insertIfAbsent", "adjustQuantity", "delete"), mutations);
+
+        RecordedEvent load = only(events, "com.inventory.SnapshotLoad");
+        assertEquals("JSON", load.getString("format"));
+        assertTrue(load.getBoolean("success"));
+
+        List<RecordedEvent> saves = events.stream()
+                .filter(event -> event.getEventType().getName().equals("com.inventory.SnapshotSave"))
+                .collect(Collectors.toList());
+        assertEquals(3, saves.size());
+        assertEquals(1, saves.get(0).getInt("itemCount"));
+        assertTrue(saves.get(0).getLong("bytesWritten") > 0);
+
+        RecordedEvent search = only(events, "com.inventory.Search");
+        assertEquals("hammer", search.getString("keyword"));
+        assertEquals(1, search.getInt("matchedRows"));
+
+        RecordedEvent sort = only(events, "com.inventory.Sort");
+        assertEquals("price", sort.getString("sortBy"));
+        assertFalse(sort.getBoolean("ascending"));
+        assertEquals(1, sort.getInt("returnedRows"));
+    }
+
+    private static RecordedEvent only(List<RecordedEvent> events, String name) {
+        List<RecordedEvent> matching = events.stream()
+                .filter(event -> event.getEventType().getName().equals(name))
+                .collect(Collectors.toList());
+        assertEquals(1, matching.size(), name);
+        return matching.get(0);
+    }
+}
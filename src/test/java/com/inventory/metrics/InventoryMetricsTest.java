@@ -0,0 +1,161 @@
+package com.inventory.metrics;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class InventoryMetricsTest {
+
+    @TempDir
+    Path tempDir;
+
+    private final InventoryMetrics metrics = new InventoryMetrics();
+
+    @AfterEach
+    void tearDown() {
+        metrics.unregisterMBeans();
+    }
+
+    @Test
+    void operation_SameName_ReturnsSameMetrics() {
+        // Act
+        OperationMetrics first = metrics.operation("service", "addItem");
+        OperationMetrics second = metrics.operation("service", "addItem");
+
+        // Assert
+        assertSame(first, second);
+        assertEquals(1, metrics.getOperations().size());
+    }
+
+    @Test
+    void stop_SlowOperation_TimesEveryCall() throws InterruptedException {
+        // Arrange
+        OperationMetrics load = metrics.operation("snapshot", "load", 1);
+
+        // Act
+        for (int i = 0; i < 3; i++) {
+            long start = load.start();
+            Thread.sleep(2);
+            load.stop(start, true);
+        }
+
+        // Assert
+        assertEquals(3, load.getCount());
+        assertTrue(load.getP50Micros() >= 2_000);
+        assertTrue(load.getMeanMicros() >= 2_000);
+    }
+
+    @Test
+    void stop_RareSlowCallAmongFastOnes_IsRecordedOnce() throws InterruptedException {
+        // Arrange
+        OperationMetrics save = metrics.operation("repository", "save", 1);
+
+        // Act
+        for (int i = 0; i < 10_000; i++) {
+            save.stop(save.start(), i % 2 == 0);
+            if (i == 5_000) {
+                long start = save.start();
+                Thread.sleep(5);
+                save.stop(start, true);
+            }
+        }
+
+        // Assert
+        assertEquals(10_001, save.getCount());
+        assertEquals(10_001, save.getTimedCount());
+        assertEquals(5_000, save.getErrorCount());
+        assertTrue(save.getMaxMicros() >= 5_000);
+        assertTrue(save.getP999Micros() < 5_000);
+    }
+
+    @Test
+    void stop_DefaultInterval_CountsEveryCallAndTimesASample() {
+        // Arrange
+        OperationMetrics lookup = metrics.operation("repository", "findById");
+
+        // Act
+        for (int i = 0; i < 64_000; i++) {
+            lookup.stop(lookup.start(), i % 4 != 0);
+        }
+
+        // Assert
+        assertEquals(64_000, lookup.getCount());
+        assertEquals(16_000, lookup.getErrorCount());
+        long expected = 64_000 / OperationMetrics.SAMPLE_INTERVAL;
+        assertTrue(lookup.getTimedCount() > expected / 2 && lookup.getTimedCount() < expected * 2);
+    }
+
+    @Test
+    void operation_IntervalNotAPowerOfTwo_Throws() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> metrics.operation("repository", "save", 3));
+        assertThrows(IllegalArgumentException.class, () -> metrics.operation("repository", "save", 0));
+    }
+
+    @Test
+    void reset_ClearsCountsAndLatencies() {
+        // Arrange
+        OperationMetrics lookup = metrics.operation("repository", "findById");
+        lookup.stop(lookup.start(), false);
+
+        // Act
+        lookup.reset();
+
+        // Assert
+        assertEquals(0, lookup.getCount());
+        assertEquals(0, lookup.getErrorCount());
+        assertEquals(0, lookup.getTimedCount());
+        assertEquals(0, lookup.getMaxMicros());
+    }
+
+    @Test
+    void registerMBeans_PublishesExistingAndLaterOperations() throws Exception {
+        // Arrange
+        OperationMetrics before = metrics.operation("service", "addItem");
+        before.stop(before.start(), true);
+        before.stop(before.start(), false);
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+
+        // Act
+        metrics.registerMBeans();
+        metrics.operation("repository", "save");
+
+        // Assert
+        ObjectName name = InventoryMetrics.objectName("service", "addItem");
+        assertEquals(2L, server.getAttribute(name, "Count"));
+        assertEquals(1L, server.getAttribute(name, "ErrorCount"));
+        assertTrue(server.isRegistered(InventoryMetrics.objectName("repository", "save")));
+
+        metrics.unregisterMBeans();
+        assertFalse(server.isRegistered(name));
+    }
+
+    @Test
+    void report_AppendsOneJsonLinePerReport() throws Exception {
+        // Arrange
+        OperationMetrics search = metrics.operation("service", "searchItems");
+        search.stop(search.start(), true);
+        Path file = tempDir.resolve("metrics.jsonl");
+
+        // Act
+        try (MetricsReporter reporter = new MetricsReporter(metrics, file, 60_000)) {
+            reporter.report();
+        }
+
+        // Assert
+        List<String> lines = Files.readAllLines(file);
+        assertEquals(2, lines.size());
+        assertTrue(lines.get(0).contains("\"name\":\"searchItems\""));
+        assertTrue(lines.get(0).contains("\"count\":1"));
+        assertTrue(lines.get(0).contains("\"p999Micros\""));
+    }
+}
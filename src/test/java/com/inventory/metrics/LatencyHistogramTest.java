@@ -0,0 +1,86 @@
+package com.inventory.metrics;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LatencyHistogramTest {
+
+    @Test
+    void bucket_CoversEveryValueInOrder() {
+        // Arrange
+        long[] values = {0, 1, 31, 32, 33, 63, 64, 65, 1_000, 1_000_000, Long.MAX_VALUE};
+
+        // Act & Assert
+        for (long value : values) {
+            int bucket = LatencyHistogram.bucket(value);
+            assertTrue(LatencyHistogram.highestValue(bucket) >= value, "upper bound of " + value);
+            assertTrue(bucket == 0 || LatencyHistogram.highestValue(bucket - 1) < value, "lower bound of " + value);
+        }
+    }
+
+    @Test
+    void getValueAtQuantile_ReportsPercentilesWithinThreePercent() {
+        // Arrange
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (long value = 1; value <= 100_000; value++) {
+            histogram.record(value * 1_000);
+        }
+
+        // Act & Assert
+        assertEquals(100_000, histogram.getCount());
+        assertEquals(50_000_000, histogram.getValueAtQuantile(0.5), 50_000_000 * 0.03);
+        assertEquals(99_000_000, histogram.getValueAtQuantile(0.99), 99_000_000 * 0.03);
+        assertEquals(99_900_000, histogram.getValueAtQuantile(0.999), 99_900_000 * 0.03);
+        assertEquals(100_000_000, histogram.getMax());
+        assertEquals(50_000_500, histogram.getMean(), 1);
+        assertTrue(histogram.getValueAtQuantile(1) <= histogram.getMax());
+    }
+
+    @Test
+    void record_FromManyThreads_CountsEveryValue() throws InterruptedException {
+        // Arrange
+        LatencyHistogram histogram = new LatencyHistogram();
+        Thread[] threads = new Thread[4];
+        for (int t = 0; t < threads.length; t++) {
+            long seed = t;
+            threads[t] = new Thread(() -> {
+                Random random = new Random(seed);
+                for (int i = 0; i < 50_000; i++) {
+                    histogram.record(random.nextInt(1_000_000));
+                }
+            });
+        }
+
+        // Act
+        for (Thread thread : threads) {
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        // Assert
+        assertEquals(200_000, histogram.getCount());
+        assertEquals(histogram.getMax(), histogram.getValueAtQuantile(1));
+    }
+
+    @Test
+    void reset_ClearsEverything() {
+        // Arrange
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(5);
+        histogram.record(-3);
+
+        // Act
+        histogram.reset();
+
+        // Assert
+        assertEquals(0, histogram.getCount());
+        assertEquals(0, histogram.getMax());
+        assertEquals(0, histogram.getValueAtQuantile(0.99));
+        assertThrows(IllegalArgumentException.class, () -> histogram.getValueAtQuantile(1.5));
+    }
+}
@@ -0,0 +1,111 @@
+package com.inventory.repository;
+
+import com.inventory.model.InventoryItem;
+import com.inventory.model.ItemCategory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BinarySnapshotTest {
+
+    @TempDir
+    Path tempDir;
+
+    private Path snapshotPath;
+    private ItemCategory electronics;
+    private ItemCategory furniture;
+    private List<InventoryItem> items;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        snapshotPath = tempDir.resolve("inventory.bin");
+        electronics = new ItemCategory(1, "Electronics", "Electronic devices");
+        furniture = new ItemCategory(2, "Furniture", null);
+        furniture.setDefaultReorderThreshold(1);
+
+        items = new ArrayList<>();
+        items.add(new InventoryItem("ITM001", "Laptop", "15-inch laptop", 10, 999.99, electronics));
+        items.get(0).setReorderThreshold(3);
+        items.add(new InventoryItem("ITM002", "Desk", null, 2, 150.0, furniture));
+        items.add(new InventoryItem("ITM003", "Stöd ☃", "Non-ASCII text", 0, 0.5, null));
+        for (int i = 4; i < 100; i++) {
+            items.add(new InventoryItem(String.format("ITM%03d", i), "Item " + i, "Bulk", i, i * 1.5, electronics));
+        }
+
+        new FileHandler(snapshotPath.toString()).writeToChannel(
+                channel -> BinarySnapshot.write(channel, items, List.of(electronics)));
+    }
+
+    @Test
+    void open_WrittenSnapshot_ReadsItemsInOrder() throws IOException {
+        // Act
+        BinarySnapshot snapshot = BinarySnapshot.open(snapshotPath);
+
+        // Assert
+        assertEquals(items.size(), snapshot.size());
+        for (int i = 0; i < items.size(); i++) {
+            assertEquals(items.get(i).getId(), snapshot.readId(i));
+            assertEquals(items.get(i), snapshot.readItem(i));
+        }
+        assertEquals(List.of(electronics), snapshot.getCategories());
+    }
+
+    @Test
+    void open_ItemsShareCategoryInstances() throws IOException {
+        // Act
+        BinarySnapshot snapshot = BinarySnapshot.open(snapshotPath);
+
+        // Assert
+        assertSame(snapshot.readItem(0).getCategory(), snapshot.readItem(50).getCategory());
+    }
+
+    @Test
+    void open_OtherVersion_ThrowsIOException() throws IOException {
+        // Arrange
+        byte[] bytes = Files.readAllBytes(snapshotPath);
+        bytes[7] = (byte) (BinarySnapshot.VERSION - 1);
+        Files.write(snapshotPath, bytes);
+
+        // Act & Assert
+        assertTrue(BinarySnapshot.isBinarySnapshot(snapshotPath));
+        assertThrows(IOException.class, () -> BinarySnapshot.open(snapshotPath));
+    }
+
+    @Test
+    void open_NotASnapshot_ThrowsIOException() throws IOException {
+        // Arrange
+        Path json = tempDir.resolve("inventory.json");
+        Files.writeString(json, "{\"items\": [], \"categories\": [], \"padding\": \"................\"}");
+
+        // Act & Assert
+        assertFalse(BinarySnapshot.isBinarySnapshot(json));
+        assertThrows(IOException.class, () -> BinarySnapshot.open(json));
+    }
+
+    @Test
+    void convert_BinaryToJsonAndBack_PreservesContent() throws IOException {
+        // Arrange
+        Path json = tempDir.resolve("converted.json");
+        Path binary = tempDir.resolve("converted.bin");
+
+        // Act
+        int toJson = SnapshotConverter.convert(snapshotPath, json, SnapshotFormat.JSON);
+        int toBinary = SnapshotConverter.convert(json, binary, SnapshotFormat.BINARY);
+
+        // Assert
+        assertEquals(items.size(), toJson);
+        assertEquals(items.size(), toBinary);
+        assertEquals(items, new FileItemRepository(new FileHandler(json.toString())).findAll());
+        BinarySnapshot snapshot = BinarySnapshot.open(binary);
+        assertEquals(items.get(1), snapshot.readItem(1));
+        assertEquals(List.of(electronics), snapshot.getCategories());
+    }
+}
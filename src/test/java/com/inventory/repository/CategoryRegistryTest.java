@@ -0,0 +1,97 @@
+package com.inventory.repository;
+
+import com.inventory.model.ItemCategory;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CategoryRegistryTest {
+
+    private final CategoryRegistry registry = new CategoryRegistry();
+
+    @Test
+    void intern_EqualValues_ShareOnePrivateCopy() {
+        // Arrange
+        ItemCategory first = new ItemCategory(1, "Tools", "Hand tools");
+        ItemCategory second = new ItemCategory(1, "Tools", "Hand tools");
+
+        // Act
+        ItemCategory shared = registry.intern(first);
+
+        // Assert
+        assertSame(shared, registry.intern(second));
+        assertNotSame(first, shared);
+        assertEquals(first, shared);
+        assertNull(registry.intern(null));
+    }
+
+    @Test
+    void intern_UnreferencedValues_AreDroppedFromThePool() throws InterruptedException {
+        // Arrange
+        ItemCategory kept = registry.register(new ItemCategory(0, "Kept", "Registered"));
+        for (int i = 1; i <= 1000; i++) {
+            registry.intern(new ItemCategory(i, "Category " + i, "Renamed " + i));
+        }
+
+        // Act
+        for (int attempt = 0; attempt < 50 && registry.pooledCount() > 1; attempt++) {
+            System.gc();
+            Thread.sleep(20);
+        }
+
+        // Assert
+        assertEquals(1, registry.pooledCount());
+        assertSame(kept, registry.intern(new ItemCategory(0, "Kept", "Registered")));
+    }
+
+    @Test
+    void register_ReplacedCategory_KeepsItsFirstPosition() {
+        // Arrange
+        registry.register(new ItemCategory(1, "Tools", "Hand tools"));
+        registry.register(new ItemCategory(2, "Garden", "Outdoor items"));
+
+        // Act
+        registry.register(new ItemCategory(1, "Power tools", "Electric tools"));
+
+        // Assert
+        List<ItemCategory> categories = registry.list();
+        assertEquals(2, categories.size());
+        assertEquals("Power tools", categories.get(0).getName());
+        assertEquals("Garden", categories.get(1).getName());
+        assertEquals("Power tools", registry.get(1).getName());
+        assertNull(registry.get(3));
+    }
+
+    @Test
+    void register_ConcurrentRegistrations_AllListedOnce() throws Exception {
+        // Arrange
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        List<Future<?>> futures = new ArrayList<>();
+
+        // Act
+        for (int t = 0; t < 4; t++) {
+            futures.add(executor.submit(() -> {
+                for (int i = 0; i < 500; i++) {
+                    registry.register(new ItemCategory(i, "Category " + i, "Shared"));
+                }
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        executor.shutdown();
+
+        // Assert
+        List<ItemCategory> categories = registry.list();
+        assertEquals(500, categories.size());
+        for (ItemCategory category : categories) {
+            assertSame(category, registry.get(category.getId()));
+        }
+    }
+}
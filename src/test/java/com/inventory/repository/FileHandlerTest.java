@@ -0,0 +1,66 @@
+package com.inventory.repository;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class FileHandlerTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void writeToFile_ExistingFile_ReplacesContent() throws IOException {
+        // Arrange
+        Path file = tempDir.resolve("data.json");
+        FileHandler fileHandler = new FileHandler(file.toString());
+        fileHandler.writeToFile("{\"items\":[1,2,3]}");
+
+        // Act
+        fileHandler.writeToFile("{}");
+
+        // Assert
+        assertEquals("{}", fileHandler.readFromFile());
+    }
+
+    @Test
+    void writeToFile_LeavesNoTemporaryFileBehind() throws IOException {
+        // Arrange
+        Path file = tempDir.resolve("data.json");
+        FileHandler fileHandler = new FileHandler(file.toString(), SyncPolicy.never());
+
+        // Act
+        fileHandler.writeToFile("{}");
+
+        // Assert
+        try (var files = Files.list(tempDir)) {
+            assertEquals(1, files.count());
+        }
+        assertTrue(fileHandler.fileExists());
+    }
+
+    @Test
+    void writeToFile_WriterFails_KeepsPreviousContent() throws IOException {
+        // Arrange
+        Path file = tempDir.resolve("data.json");
+        FileHandler fileHandler = new FileHandler(file.toString(), SyncPolicy.never());
+        fileHandler.writeToFile("{\"items\":[]}");
+
+        // Act
+        assertThrows(IOException.class, () -> fileHandler.writeToFile(out -> {
+            out.write("{\"items\":[");
+            throw new IOException("Disk full");
+        }));
+
+        // Assert
+        assertEquals("{\"items\":[]}", fileHandler.readFromFile());
+        try (var files = Files.list(tempDir)) {
+            assertEquals(1, files.count());
+        }
+    }
+}
@@ -7,9 +7,18 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.io.TempDir;
 
 import java.io.IOException;
+import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -108,6 +117,27 @@ public class FileItemRepositoryTest {
         assertTrue(result.stream().anyMatch(item -> item.getId().equals("ITM002")));
     }
     
+    @Test
+    void findAll_UpdatedItemKeepsInsertionOrder() {
+        // Arrange
+        InventoryItem item2 = new InventoryItem("ITM002", "Phone", "Smartphone", 20, 499.99, testCategory);
+        InventoryItem item3 = new InventoryItem("ITM003", "Tablet", "10-inch tablet", 5, 299.99, testCategory);
+        repository.save(testItem);
+        repository.save(item2);
+        repository.save(item3);
+        
+        // Act
+        InventoryItem updated = new InventoryItem("ITM001", "Laptop Pro", "16-inch laptop", 3, 1999.99, testCategory);
+        repository.save(updated);
+        repository.delete("ITM002");
+        List<InventoryItem> result = repository.findAll();
+        
+        // Assert
+        assertEquals(2, result.size());
+        assertEquals(updated, result.get(0));
+        assertEquals(item3, result.get(1));
+    }
+    
     @Test
     void delete_ExistingId_ReturnsTrue() {
         // Arrange
@@ -157,4 +187,686 @@ public class FileItemRepositoryTest {
         assertTrue(result.stream().anyMatch(item -> item.getId().equals("ITM001")));
         assertTrue(result.stream().anyMatch(item -> item.getId().equals("ITM002")));
     }
+    
+    @Test
+    void journal_ChangesAreReplayedOnTopOfSnapshot() throws IOException {
+        // Arrange
+        String filePath = tempDir.resolve("journaled.json").toString();
+        String journalPath = tempDir.resolve("journaled.journal").toString();
+        FileItemRepository repo1 = new FileItemRepository(new FileHandler(filePath),
+                new ItemJournal(journalPath), 100);
+        repo1.save(testItem);
+        
+        InventoryItem item2 = new InventoryItem("ITM002", "Phone", "Smartphone", 20, 499.99, testCategory);
+        repo1.save(item2);
+        repo1.delete("ITM001");
+        
+        // Act
+        FileItemRepository repo2 = new FileItemRepository(new FileHandler(filePath),
+                new ItemJournal(journalPath), 100);
+        
+        // Assert
+        assertEquals(List.of(item2), repo2.findAll());
+        assertTrue(new FileHandler(filePath).readFromFile().isEmpty());
+        repo1.close();
+        repo2.close();
+    }
+    
+    @Test
+    void journal_CheckpointWritesSnapshotAndClearsJournal() throws IOException {
+        // Arrange
+        String filePath = tempDir.resolve("checkpointed.json").toString();
+        ItemJournal journal = new ItemJournal(tempDir.resolve("checkpointed.journal").toString());
+        FileItemRepository repo1 = new FileItemRepository(new FileHandler(filePath), journal, 2);
+        
+        // Act
+        repo1.save(testItem);
+        repo1.save(new InventoryItem("ITM002", "Phone", "Smartphone", 20, 499.99, testCategory));
+        
+        // Assert
+        assertEquals(0, journal.size());
+        FileItemRepository repo2 = new FileItemRepository(new FileHandler(filePath));
+        assertEquals(2, repo2.findAll().size());
+        repo1.close();
+    }
+    
+    @Test
+    void saveAll_PersistsEveryItemWithOneJournalWrite() throws IOException {
+        // Arrange
+        String filePath = tempDir.resolve("batch.json").toString();
+        String journalPath = tempDir.resolve("batch.journal").toString();
+        FileItemRepository repo1 = new FileItemRepository(new FileHandler(filePath),
+                new ItemJournal(journalPath), 100);
+        InventoryItem item2 = new InventoryItem("ITM002", "Phone", "Smartphone", 20, 499.99, testCategory);
+        InventoryItem item3 = new InventoryItem("ITM003", "Tablet", "10-inch tablet", 5, 299.99, testCategory);
+        
+        // Act
+        List<InventoryItem> saved = repo1.saveAll(List.of(testItem, item2, item3));
+        int deleted = repo1.deleteAll(List.of("ITM002", "NONEXISTENT"));
+        
+        // Assert
+        assertEquals(3, saved.size());
+        assertEquals(1, deleted);
+        FileItemRepository repo2 = new FileItemRepository(new FileHandler(filePath),
+                new ItemJournal(journalPath), 100);
+        assertEquals(List.of(testItem, item3), repo2.findAll());
+        repo1.close();
+        repo2.close();
+    }
+    
+    @Test
+    void saveAll_NullItem_SavesNothing() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class,
+                () -> repository.saveAll(java.util.Arrays.asList(testItem, null)));
+        assertTrue(repository.findAll().isEmpty());
+    }
+    
+    @Test
+    void load_SnapshotWithUnknownFieldsAndNullCategories_LoadsItems() throws IOException {
+        // Arrange
+        String filePath = tempDir.resolve("streamed.json").toString();
+        FileHandler handler = new FileHandler(filePath);
+        handler.writeToFile("{\"version\": 2, \"items\": [{\"id\": \"ITM001\", \"name\": \"Laptop\","
+                + " \"quantity\": 3, \"price\": 5.5, \"extra\": [1, 2]}], \"categories\": null}");
+        
+        // Act
+        FileItemRepository repo = new FileItemRepository(handler);
+        
+        // Assert
+        Optional<InventoryItem> item = repo.findById("ITM001");
+        assertTrue(item.isPresent());
+        assertEquals(3, item.get().getQuantity());
+        assertEquals(1, repo.findAll().size());
+    }
+    
+    @Test
+    void load_MalformedSnapshot_ThrowsJsonSyntaxException() throws IOException {
+        // Arrange
+        String filePath = tempDir.resolve("malformed.json").toString();
+        FileHandler handler = new FileHandler(filePath);
+        handler.writeToFile("{\"items\": [{\"id\": ");
+        
+        // Act & Assert
+        assertThrows(com.google.gson.JsonSyntaxException.class, () -> new FileItemRepository(handler));
+    }
+    
+    @Test
+    void binaryFormat_SavedItemsAreLoadedAfterRepositoryRecreation() {
+        // Arrange
+        String filePath = tempDir.resolve("binary.bin").toString();
+        FileItemRepository repo1 = new FileItemRepository(new FileHandler(filePath), null, 0,
+                SnapshotFormat.BINARY);
+        InventoryItem item2 = new InventoryItem("ITM002", "Phone", "Smartphone", 20, 499.99, testCategory);
+        repo1.save(testItem);
+        repo1.save(item2);
+        repo1.save(new InventoryItem("ITM003", "Tablet", "10-inch tablet", 5, 299.99, testCategory));
+        repo1.delete("ITM003");
+        
+        // Act
+        FileItemRepository repo2 = new FileItemRepository(new FileHandler(filePath), null, 0,
+                SnapshotFormat.BINARY);
+        List<InventoryItem> loaded = repo2.findAll();
+        repo2.save(new InventoryItem("ITM001", "Laptop Pro", "16-inch laptop", 1, 1999.99, testCategory));
+        FileItemRepository repo3 = new FileItemRepository(new FileHandler(filePath));
+        
+        // Assert
+        assertEquals(List.of(testItem, item2), loaded);
+        assertEquals(2, repo3.findAll().size());
+        assertEquals("Laptop Pro", repo3.findAll().get(0).getName());
+        assertEquals(item2, repo3.findById("ITM002").get());
+    }
+    
+    @Test
+    void concurrentWriters_AllChangesAreVisibleAndReplayedInTheSameOrder() throws Exception {
+        // Arrange
+        String filePath = tempDir.resolve("concurrent.json").toString();
+        String journalPath = tempDir.resolve("concurrent.journal").toString();
+        FileItemRepository repo1 = new FileItemRepository(new FileHandler(filePath, SyncPolicy.never()),
+                new ItemJournal(journalPath, SyncPolicy.never()), 250);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        List<Future<?>> futures = new ArrayList<>();
+        
+        // Act
+        for (int t = 0; t < 8; t++) {
+            int thread = t;
+            futures.add(executor.submit(() -> {
+                for (int i = 0; i < 200; i++) {
+                    repo1.save(new InventoryItem("T" + thread + "-" + i, "Item", "Own item", i, 1.0, testCategory));
+                    // Every thread also writes the same hot item
+                    repo1.save(new InventoryItem("HOT", "Hot", "Shared item", thread * 1000 + i, 1.0, testCategory));
+                    if (i % 10 == 0) {
+                        repo1.delete("T" + thread + "-" + (i / 2));
+                    }
+                    repo1.findAll();
+                }
+                return null;
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        executor.shutdown();
+        
+        // Assert
+        FileItemRepository repo2 = new FileItemRepository(new FileHandler(filePath),
+                new ItemJournal(journalPath), 250);
+        assertEquals(8 * 200 - 8 * 20 + 1, repo1.findAll().size());
+        // Items inserted concurrently have no defined order relative to each other
+        List<InventoryItem> expected = new ArrayList<>(repo1.findAll());
+        List<InventoryItem> replayed = new ArrayList<>(repo2.findAll());
+        expected.sort(java.util.Comparator.comparing(InventoryItem::getId));
+        replayed.sort(java.util.Comparator.comparing(InventoryItem::getId));
+        assertEquals(expected, replayed);
+        assertEquals(repo1.findById("HOT"), repo2.findById("HOT"));
+        repo1.close();
+        repo2.close();
+    }
+    
+    @Test
+    void findById_ReturnsCopyThatDoesNotChangeStoredItem() {
+        // Arrange
+        repository.save(testItem);
+        
+        // Act
+        InventoryItem copy = repository.findById(testItem.getId()).get();
+        copy.setQuantity(0);
+        testItem.setQuantity(1);
+        
+        // Assert
+        assertEquals(10, repository.findById(testItem.getId()).get().getQuantity());
+    }
+    
+    @Test
+    void adjustQuantity_ConcurrentDecrements_StopAtZeroAndReplayFromJournal() throws Exception {
+        // Arrange
+        String filePath = tempDir.resolve("adjust.json").toString();
+        String journalPath = tempDir.resolve("adjust.journal").toString();
+        FileItemRepository repo1 = new FileItemRepository(new FileHandler(filePath, SyncPolicy.never()),
+                new ItemJournal(journalPath, SyncPolicy.never()), 10000);
+        repo1.save(new InventoryItem("HOT", "Hot", "Shared item", 1000, 1.0, testCategory));
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        List<Future<Integer>> futures = new ArrayList<>();
+        
+        // Act
+        for (int t = 0; t < 8; t++) {
+            futures.add(executor.submit(() -> {
+                int taken = 0;
+                for (int i = 0; i < 200; i++) {
+                    try {
+                        repo1.adjustQuantity("HOT", -1);
+                        taken++;
+                    } catch (IllegalArgumentException e) {
+                        // Sold out
+                    }
+                }
+                return taken;
+            }));
+        }
+        int taken = 0;
+        for (Future<Integer> future : futures) {
+            taken += future.get();
+        }
+        executor.shutdown();
+        
+        // Assert
+        assertEquals(1000, taken);
+        assertEquals(0, repo1.findById("HOT").get().getQuantity());
+        assertEquals(CompareAndSetResult.SET, repo1.compareAndSetQuantity("HOT", 0, 5));
+        assertEquals(CompareAndSetResult.MISMATCH, repo1.compareAndSetQuantity("HOT", 0, 7));
+        assertEquals(CompareAndSetResult.NOT_FOUND, repo1.compareAndSetQuantity("COLD", 0, 7));
+        FileItemRepository repo2 = new FileItemRepository(new FileHandler(filePath),
+                new ItemJournal(journalPath), 10000);
+        assertEquals(5, repo2.findById("HOT").get().getQuantity());
+        repo1.close();
+        repo2.close();
+    }
+    
+    @Test
+    void journal_CrashBetweenSnapshotAndJournalReset_ReplaysQuantityOnce() throws IOException {
+        // Arrange
+        String filePath = tempDir.resolve("crash.json").toString();
+        Path journalPath = tempDir.resolve("crash.journal");
+        FileItemRepository repo1 = new FileItemRepository(new FileHandler(filePath, SyncPolicy.never()),
+                new ItemJournal(journalPath.toString(), SyncPolicy.never()), 10000);
+        repo1.save(testItem);
+        repo1.adjustQuantity(testItem.getId(), -3);
+        byte[] journalBeforeCheckpoint = Files.readAllBytes(journalPath);
+        
+        // Act
+        repo1.checkpoint();
+        repo1.close();
+        // Simulate a crash after the new snapshot was renamed into place but before the
+        // journal was truncated
+        Files.write(journalPath, journalBeforeCheckpoint);
+        FileItemRepository repo2 = new FileItemRepository(new FileHandler(filePath, SyncPolicy.never()),
+                new ItemJournal(journalPath.toString(), SyncPolicy.never()), 10000);
+        
+        // Assert
+        assertEquals(7, repo2.findById(testItem.getId()).get().getQuantity());
+        repo2.close();
+    }
+    
+    @Test
+    void insertIfAbsent_ConcurrentInsertsOfOneId_OnlyOneSucceeds() throws Exception {
+        // Arrange
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        List<Future<Boolean>> futures = new ArrayList<>();
+        
+        // Act
+        for (int t = 0; t < 8; t++) {
+            InventoryItem candidate = new InventoryItem("RACE", "Writer " + t, "Racing insert", t, 1.0, testCategory);
+            futures.add(executor.submit(() -> repository.insertIfAbsent(candidate)));
+        }
+        int inserted = 0;
+        String winner = null;
+        for (int t = 0; t < futures.size(); t++) {
+            if (futures.get(t).get()) {
+                inserted++;
+                winner = "Writer " + t;
+            }
+        }
+        executor.shutdown();
+        
+        // Assert
+        assertEquals(1, inserted);
+        assertEquals(winner, repository.findById("RACE").get().getName());
+    }
+    
+    @Test
+    void replaceIfPresent_DeletedItem_IsNotBroughtBack() {
+        // Arrange
+        repository.save(testItem);
+        repository.delete(testItem.getId());
+        testItem.setPrice(899.99);
+        
+        // Act
+        boolean replaced = repository.replaceIfPresent(testItem);
+        
+        // Assert
+        assertFalse(replaced);
+        assertFalse(repository.findById(testItem.getId()).isPresent());
+    }
+    
+    @Test
+    void insertAllIfAbsent_OneExistingId_SavesNothing() {
+        // Arrange
+        repository.save(testItem);
+        InventoryItem phone = new InventoryItem("ITM002", "Phone", "Smartphone", 20, 499.99, testCategory);
+        InventoryItem clash = new InventoryItem("ITM001", "Other", "Clashing id", 1, 1.0, testCategory);
+        
+        // Act
+        List<String> existing = repository.insertAllIfAbsent(List.of(phone, clash));
+        List<String> missing = repository.replaceAllIfPresent(List.of(phone));
+        
+        // Assert
+        assertEquals(List.of("ITM001"), existing);
+        assertEquals(List.of("ITM002"), missing);
+        assertEquals(List.of(testItem), repository.findAll());
+    }
+    
+    @Test
+    void adjustQuantity_BelowZero_ThrowsAndLeavesQuantityUnchanged() {
+        // Arrange
+        repository.save(testItem);
+        
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> repository.adjustQuantity("ITM001", -11));
+        assertEquals(10, repository.findById("ITM001").get().getQuantity());
+        assertEquals(Optional.empty(), repository.adjustQuantity("MISSING", 1));
+    }
+    
+    @Test
+    void findPage_WalksAllItemsOnceWhileOthersAreDeleted() {
+        // Arrange
+        for (int i = 0; i < 25; i++) {
+            repository.save(new InventoryItem(String.format("P%02d", i), "Item", "Paged item", i, 1.0, testCategory));
+        }
+        List<String> seen = new ArrayList<>();
+        
+        // Act
+        ItemPage page = repository.findPage(ItemPage.FIRST, 10);
+        page.getItems().forEach(item -> seen.add(item.getId()));
+        repository.delete("P03");
+        repository.delete("P12");
+        while (page.hasNext()) {
+            page = repository.findPage(page.getNextCursor(), 10);
+            page.getItems().forEach(item -> seen.add(item.getId()));
+        }
+        
+        // Assert
+        assertEquals(24, seen.size());
+        assertFalse(seen.contains("P12"));
+        assertEquals("P24", seen.get(seen.size() - 1));
+        assertThrows(IllegalArgumentException.class, () -> repository.findPage(ItemPage.FIRST, 0));
+    }
+    
+    @Test
+    void stream_Parallel_SeesEveryItem() {
+        // Arrange
+        List<InventoryItem> batch = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            batch.add(new InventoryItem("S" + i, "Item", "Streamed item", 2, 1.0, testCategory));
+        }
+        repository.saveAll(batch);
+        
+        // Act
+        int units = repository.stream().parallel().mapToInt(InventoryItem::getQuantity).sum();
+        
+        // Assert
+        assertEquals(2000, units);
+    }
+    
+    @Test
+    void load_ItemsInTheSameCategoryShareOneInstance() {
+        // Arrange
+        repository.saveAll(List.of(testItem,
+                new InventoryItem("ITM002", "Phone", "Smartphone", 5, 499.99,
+                        new ItemCategory(1, "Electronics", "Electronic devices"))));
+        
+        // Act
+        FileItemRepository reloaded = new FileItemRepository(new FileHandler(fileHandler.getFilePath()));
+        List<InventoryItem> items = reloaded.findAll();
+        
+        // Assert
+        assertSame(items.get(0).getCategory(), items.get(1).getCategory());
+        assertEquals(testCategory, items.get(0).getCategory());
+    }
+    
+    @Test
+    void findById_CategoryCopyDoesNotChangeSharedCategory() {
+        // Arrange
+        repository.save(testItem);
+        
+        // Act
+        repository.findById("ITM001").get().getCategory().setName("Changed");
+        
+        // Assert
+        assertEquals("Electronics", repository.findAll().get(0).getCategory().getName());
+    }
+    
+    @Test
+    void findByCategory_FollowsMovesBetweenCategories() {
+        // Arrange
+        ItemCategory furniture = new ItemCategory(2, "Furniture", "Office furniture");
+        repository.save(testItem);
+        repository.save(new InventoryItem("ITM002", "Desk", "Wooden desk", 2, 100.0, furniture));
+        assertEquals(List.of("ITM001"), ids(repository.findByCategory(1)));
+        
+        // Act
+        repository.save(new InventoryItem("ITM003", "Monitor", "27-inch monitor", 4, 250.0, testCategory));
+        repository.save(new InventoryItem("ITM001", "Laptop", "15-inch laptop", 10, 999.99, furniture));
+        repository.adjustQuantity("ITM002", 3);
+        
+        // Assert
+        assertEquals(List.of("ITM003"), ids(repository.findByCategory(1)));
+        assertEquals(List.of("ITM001", "ITM002"), ids(repository.findByCategory(2)));
+        assertEquals(new CategoryStats(1, 1, 4, 1000.0), repository.getCategoryStats(1));
+        assertEquals(new CategoryStats(2, 2, 15, 10 * 999.99 + 500.0), repository.getCategoryStats(2));
+        assertEquals(new CategoryStats(9, 0, 0, 0), repository.getCategoryStats(9));
+    }
+    
+    @Test
+    void getCategoryStats_RandomChanges_MatchScan() {
+        // Arrange
+        repository = new FileItemRepository(new FileHandler(tempDir.resolve("stats.json").toString(),
+                SyncPolicy.never()), new ItemJournal(tempDir.resolve("stats.journal").toString(),
+                SyncPolicy.never()), 100000);
+        repository.getCategoryStats(0);
+        Random random = new Random(3);
+        
+        // Act
+        for (int i = 0; i < 3000; i++) {
+            String id = "R" + random.nextInt(200);
+            int change = random.nextInt(4);
+            if (change == 0) {
+                repository.delete(id);
+            } else if (change == 1 && repository.findById(id).isPresent()) {
+                repository.adjustQuantity(id, random.nextInt(5));
+            } else {
+                int category = random.nextInt(4);
+                repository.save(new InventoryItem(id, "Item", "Random item", random.nextInt(50),
+                        random.nextInt(1000) / 100.0, new ItemCategory(category, "C" + category, "")));
+            }
+        }
+        
+        // Assert
+        for (int category = 0; category < 4; category++) {
+            CategoryStats stats = repository.getCategoryStats(category);
+            int finalCategory = category;
+            List<InventoryItem> expected = new ArrayList<>();
+            for (InventoryItem item : repository.findAll()) {
+                if (item.getCategory().getId() == finalCategory) {
+                    expected.add(item);
+                }
+            }
+            assertEquals(expected, repository.findByCategory(category));
+            assertEquals(expected.size(), stats.getItemCount());
+            assertEquals(expected.stream().mapToLong(InventoryItem::getQuantity).sum(), stats.getTotalUnits());
+            assertEquals(expected.stream().mapToDouble(InventoryItem::getTotalValue).sum(), stats.getTotalValue(), 1e-6);
+        }
+    }
+    
+    @Test
+    void snapshot_DoesNotSeeLaterUpdatesDeletesOrNewItems() {
+        // Arrange
+        InventoryItem item2 = new InventoryItem("ITM002", "Phone", "Smartphone", 20, 499.99, testCategory);
+        repository.save(testItem);
+        repository.save(item2);
+        
+        // Act
+        List<InventoryItem> seen = new ArrayList<>();
+        try (ItemSnapshot snapshot = repository.snapshot()) {
+            repository.adjustQuantity("ITM001", -4);
+            repository.adjustQuantity("ITM001", -1);
+            repository.delete("ITM002");
+            repository.save(new InventoryItem("ITM003", "Tablet", "10-inch tablet", 5, 299.99, testCategory));
+            snapshot.forEach(seen::add);
+        }
+        
+        // Assert
+        assertEquals(List.of(testItem, item2), seen);
+        assertEquals(10, seen.get(0).getQuantity());
+        assertEquals(List.of("ITM001", "ITM003"), ids(repository.findAll()));
+        assertEquals(5, repository.findById("ITM001").get().getQuantity());
+        assertEquals(List.of("ITM001", "ITM003"), ids(repository.findPage(0, 10).getItems()));
+        assertEquals(List.of("ITM001", "ITM003"), ids(repository.findByCategory(testCategory.getId())));
+    }
+    
+    @Test
+    void snapshot_BinaryRecordsReplacedAfterSnapshot_ShowsRecordedValue() {
+        // Arrange
+        String filePath = tempDir.resolve("snapshot.bin").toString();
+        FileItemRepository repo1 = new FileItemRepository(new FileHandler(filePath), null, 0,
+                SnapshotFormat.BINARY);
+        repo1.save(testItem);
+        FileItemRepository repo2 = new FileItemRepository(new FileHandler(filePath), null, 0,
+                SnapshotFormat.BINARY);
+        
+        // Act
+        List<InventoryItem> seen = new ArrayList<>();
+        try (ItemSnapshot snapshot = repo2.snapshot()) {
+            repo2.save(new InventoryItem("ITM001", "Laptop Pro", "16-inch laptop", 1, 1999.99, testCategory));
+            snapshot.forEach(seen::add);
+        }
+        
+        // Assert
+        assertEquals(List.of(testItem), seen);
+        assertEquals("Laptop", seen.get(0).getName());
+        assertEquals("Laptop Pro", repo2.findAll().get(0).getName());
+    }
+    
+    @Test
+    void snapshot_ConcurrentBatches_AreSeenWholeOrNotAtAll() throws Exception {
+        // Arrange
+        repository = new FileItemRepository(new FileHandler(tempDir.resolve("batches.json").toString(),
+                SyncPolicy.never()), new ItemJournal(tempDir.resolve("batches.journal").toString(),
+                SyncPolicy.never()), 100000);
+        repository.saveAll(List.of(
+                new InventoryItem("A", "Left", "Pair", 0, 1.0, testCategory),
+                new InventoryItem("B", "Right", "Pair", 0, 1.0, testCategory)));
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        
+        // Act
+        Future<?> writer = executor.submit(() -> {
+            for (int i = 1; i <= 2000; i++) {
+                repository.saveAll(List.of(
+                        new InventoryItem("A", "Left", "Pair", i, 1.0, testCategory),
+                        new InventoryItem("B", "Right", "Pair", i, 1.0, testCategory)));
+            }
+        });
+        List<Long> versions = new ArrayList<>();
+        while (!writer.isDone()) {
+            try (ItemSnapshot snapshot = repository.snapshot()) {
+                List<InventoryItem> pair = new ArrayList<>();
+                snapshot.forEach(pair::add);
+                
+                // Assert
+                assertEquals(2, pair.size());
+                assertEquals(pair.get(0).getQuantity(), pair.get(1).getQuantity());
+                versions.add(snapshot.getVersion());
+            }
+        }
+        writer.get();
+        executor.shutdown();
+        
+        // Assert
+        for (int i = 1; i < versions.size(); i++) {
+            assertTrue(versions.get(i - 1) <= versions.get(i));
+        }
+        assertEquals(2000, repository.findById("A").get().getQuantity());
+    }
+    
+    @Test
+    void snapshot_ItemsDeletedWhileOpen_AreNotPersistedOrSeenByLaterSnapshots() {
+        // Arrange
+        InventoryItem item2 = new InventoryItem("ITM002", "Phone", "Smartphone", 20, 499.99, testCategory);
+        repository.save(testItem);
+        repository.save(item2);
+        ItemSnapshot first = repository.snapshot();
+        repository.delete("ITM001");
+        ItemSnapshot second = repository.snapshot();
+        repository.save(testItem);
+        
+        // Act
+        first.close();
+        first.close();
+        List<InventoryItem> seenBySecond = new ArrayList<>();
+        second.forEach(seenBySecond::add);
+        second.close();
+        FileItemRepository reloaded = new FileItemRepository(fileHandler);
+        
+        // Assert
+        assertEquals(List.of(item2), seenBySecond);
+        assertEquals(List.of("ITM002", "ITM001"), ids(repository.findAll()));
+        assertEquals(List.of("ITM002", "ITM001"), ids(reloaded.findAll()));
+        assertThrows(IllegalStateException.class, second::stream);
+    }
+    
+    @Test
+    void writeBehind_RepeatedChanges_AreFlushedAsOneRecordPerItem() throws Exception {
+        // Arrange
+        String filePath = tempDir.resolve("behind.json").toString();
+        String journalPath = tempDir.resolve("behind.journal").toString();
+        FileItemRepository repo1 = new FileItemRepository(new FileHandler(filePath, SyncPolicy.never()),
+                new ItemJournal(journalPath, SyncPolicy.never()), 100000, SnapshotFormat.JSON, null,
+                WriteBehindPolicy.every(50));
+        InventoryItem item2 = new InventoryItem("ITM002", "Phone", "Smartphone", 20, 499.99, testCategory);
+        repo1.save(item2);
+        
+        // Act
+        for (int i = 0; i < 1000; i++) {
+            testItem.setQuantity(i);
+            repo1.save(testItem);
+        }
+        repo1.delete("ITM002");
+        CompletableFuture<Void> durable = repo1.whenDurable();
+        durable.get(10, TimeUnit.SECONDS);
+        
+        // Assert
+        assertEquals(2, Files.readAllLines(Paths.get(journalPath)).size());
+        FileItemRepository repo2 = new FileItemRepository(new FileHandler(filePath),
+                new ItemJournal(journalPath), 100000);
+        assertEquals(List.of(testItem), repo2.findAll());
+        assertEquals(999, repo2.findById("ITM001").get().getQuantity());
+        repo1.close();
+        repo2.close();
+    }
+    
+    @Test
+    void writeBehind_Restart_KeepsInsertionOrder() {
+        // Arrange
+        String filePath = tempDir.resolve("ordered.json").toString();
+        String journalPath = tempDir.resolve("ordered.journal").toString();
+        FileItemRepository repo1 = new FileItemRepository(new FileHandler(filePath, SyncPolicy.never()),
+                new ItemJournal(journalPath, SyncPolicy.never()), 100000, SnapshotFormat.JSON, null,
+                WriteBehindPolicy.every(60_000));
+        for (int i = 0; i < 5; i++) {
+            repo1.save(new InventoryItem("OLD" + i, "Old " + i, "Flushed", i, 1.0, testCategory));
+        }
+        repo1.flush();
+        
+        // Act
+        for (int i = 50; i > 0; i--) {
+            repo1.save(new InventoryItem("NEW" + i, "New " + i, "Pending", i, 1.0, testCategory));
+        }
+        repo1.save(new InventoryItem("OLD0", "Old 0", "Updated", 10, 1.0, testCategory));
+        repo1.delete("OLD1");
+        repo1.save(new InventoryItem("OLD1", "Old 1", "Added again", 1, 1.0, testCategory));
+        repo1.delete("NEW25");
+        List<InventoryItem> expected = repo1.findAll();
+        repo1.flush();
+        // Reopen without closing, as after a crash, so that the journal is replayed
+        FileItemRepository repo2 = new FileItemRepository(new FileHandler(filePath, SyncPolicy.never()),
+                new ItemJournal(journalPath, SyncPolicy.never()), 100000);
+        
+        // Assert
+        assertEquals(expected, repo2.findAll());
+        assertEquals("OLD1", expected.get(expected.size() - 1).getId());
+        repo2.close();
+        repo1.close();
+    }
+    
+    @Test
+    void writeBehind_PendingLimitReached_BlocksWriterUntilFlushed() throws IOException {
+        // Arrange
+        String journalPath = tempDir.resolve("limited.journal").toString();
+        FileItemRepository repo = new FileItemRepository(new FileHandler(tempDir.resolve("limited.json").toString(),
+                SyncPolicy.never()), new ItemJournal(journalPath, SyncPolicy.never()), 100000, SnapshotFormat.JSON,
+                null, WriteBehindPolicy.every(60000, 10, 10));
+        
+        // Act
+        for (int i = 0; i < 10; i++) {
+            repo.save(new InventoryItem("L" + i, "Item", "Limited", i, 1.0, testCategory));
+        }
+        
+        // Assert
+        assertEquals(10, Files.readAllLines(Paths.get(journalPath)).size());
+        repo.close();
+    }
+    
+    @Test
+    void writeBehind_WithoutJournal_CloseWritesSnapshot() {
+        // Arrange
+        String filePath = tempDir.resolve("behind-snapshot.json").toString();
+        FileItemRepository repo1 = new FileItemRepository(new FileHandler(filePath), null, 0,
+                SnapshotFormat.JSON, null, WriteBehindPolicy.every(60000));
+        repo1.save(testItem);
+        
+        // Act
+        boolean durableBeforeClose = repo1.whenDurable().isDone();
+        repo1.close();
+        
+        // Assert
+        assertFalse(durableBeforeClose);
+        assertEquals(List.of(testItem), new FileItemRepository(new FileHandler(filePath)).findAll());
+    }
+    
+    private static List<String> ids(List<InventoryItem> items) {
+        List<String> ids = new ArrayList<>();
+        for (InventoryItem item : items) {
+            ids.add(item.getId());
+        }
+        return ids;
+    }
 }
@@ -0,0 +1,127 @@
+package com.inventory.repository;
+
+import com.inventory.model.InventoryItem;
+import com.inventory.model.ItemCategory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ItemJournalTest {
+
+    @TempDir
+    Path tempDir;
+
+    private Path journalPath;
+    private ItemJournal journal;
+    private InventoryItem testItem;
+
+    @BeforeEach
+    void setUp() {
+        journalPath = tempDir.resolve("test_inventory.journal");
+        journal = new ItemJournal(journalPath.toString());
+
+        ItemCategory category = new ItemCategory(1, "Electronics", "Electronic devices");
+        testItem = new InventoryItem("ITM001", "Laptop", "15-inch laptop", 10, 999.99, category);
+    }
+
+    @AfterEach
+    void tearDown() {
+        journal.close();
+    }
+
+    @Test
+    void replay_AppendedRecords_ReturnsRecordsInOrder() throws IOException {
+        // Arrange
+        journal.append(JournalRecord.save(testItem));
+        journal.append(JournalRecord.delete("ITM001"));
+        journal.close();
+
+        // Act
+        List<JournalRecord> records = new ArrayList<>();
+        int count = new ItemJournal(journalPath.toString()).replay(records::add);
+
+        // Assert
+        assertEquals(2, count);
+        assertEquals(JournalRecord.save(testItem), records.get(0));
+        assertEquals(JournalRecord.delete("ITM001"), records.get(1));
+    }
+
+    @Test
+    void replay_TornTail_DiscardsIncompleteRecordAndKeepsAppending() throws IOException {
+        // Arrange
+        journal.append(JournalRecord.save(testItem));
+        journal.close();
+        Files.write(journalPath, "{\"op\":\"SAVE\",\"item\":{\"id\":\"IT".getBytes(StandardCharsets.UTF_8),
+                StandardOpenOption.APPEND);
+
+        // Act
+        ItemJournal reopened = new ItemJournal(journalPath.toString());
+        int count = reopened.replay(record -> { });
+        reopened.append(JournalRecord.delete("ITM001"));
+        reopened.close();
+
+        List<JournalRecord> records = new ArrayList<>();
+        new ItemJournal(journalPath.toString()).replay(records::add);
+
+        // Assert
+        assertEquals(1, count);
+        assertEquals(2, records.size());
+        assertEquals(JournalRecord.delete("ITM001"), records.get(1));
+    }
+
+    @Test
+    void reset_RemovesAllRecords() throws IOException {
+        // Arrange
+        journal.append(JournalRecord.save(testItem));
+
+        // Act
+        journal.reset();
+
+        // Assert
+        assertEquals(0, journal.size());
+        assertEquals(0, journal.replay(record -> { }));
+    }
+
+    @Test
+    void append_ConcurrentWritersWithAlwaysSync_AllRecordsAreReplayed() throws Exception {
+        // Arrange
+        ItemJournal shared = new ItemJournal(tempDir.resolve("shared.journal").toString(), SyncPolicy.always());
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        List<Future<?>> futures = new ArrayList<>();
+
+        // Act
+        for (int t = 0; t < 4; t++) {
+            int thread = t;
+            futures.add(executor.submit(() -> {
+                for (int i = 0; i < 25; i++) {
+                    shared.append(JournalRecord.delete("T" + thread + "-" + i));
+                }
+                return null;
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        executor.shutdown();
+        shared.close();
+
+        // Assert
+        ItemJournal reopened = new ItemJournal(tempDir.resolve("shared.journal").toString());
+        assertEquals(100, reopened.replay(record -> { }));
+        reopened.close();
+    }
+}
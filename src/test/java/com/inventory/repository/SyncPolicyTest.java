@@ -0,0 +1,32 @@
+package com.inventory.repository;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SyncPolicyTest {
+
+    @Test
+    void parse_NamedPolicies_ReturnsMatchingPolicy() {
+        assertEquals(SyncPolicy.always(), SyncPolicy.parse("always"));
+        assertEquals(SyncPolicy.never(), SyncPolicy.parse(" NEVER "));
+    }
+
+    @Test
+    void parse_Interval_ReturnsIntervalPolicy() {
+        // Act
+        SyncPolicy policy = SyncPolicy.parse("250ms");
+
+        // Assert
+        assertEquals(SyncPolicy.Mode.INTERVAL, policy.getMode());
+        assertEquals(250, policy.getIntervalMillis());
+        assertEquals(SyncPolicy.every(250), SyncPolicy.parse("250"));
+    }
+
+    @Test
+    void parse_InvalidPolicy_ThrowsException() {
+        assertThrows(IllegalArgumentException.class, () -> SyncPolicy.parse("sometimes"));
+        assertThrows(IllegalArgumentException.class, () -> SyncPolicy.parse("0"));
+        assertThrows(IllegalArgumentException.class, () -> SyncPolicy.parse(""));
+    }
+}
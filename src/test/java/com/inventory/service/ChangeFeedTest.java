@@ -0,0 +1,196 @@
+package com.inventory.service;
+
+import com.inventory.model.InventoryItem;
+import com.inventory.model.ItemCategory;
+import com.inventory.repository.FileHandler;
+import com.inventory.repository.FileItemRepository;
+import com.inventory.repository.SyncPolicy;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ChangeFeedTest {
+
+    @TempDir
+    Path tempDir;
+
+    private InventoryService service;
+    private ItemCategory tools;
+
+    @BeforeEach
+    void setUp() {
+        FileItemRepository repository = new FileItemRepository(new FileHandler(tempDir.resolve("changes.json").toString(),
+                SyncPolicy.never()));
+        service = new InventoryService(repository, new Validator());
+        tools = new ItemCategory(1, "Tools", "Hand tools");
+    }
+
+    @Test
+    void getChangesSince_ReturnsTypedChangesInOrder() {
+        // Arrange
+        String epoch = service.getChangeEpoch();
+        long start = service.getLatestChangeSequence();
+        service.addItem(new InventoryItem("A", "Saw", "Hand saw", 5, 10.0, tools));
+        service.updateItem(new InventoryItem("A", "Saw", "Hand saw", 5, 12.0, tools));
+        service.adjustQuantity("A", -2);
+        service.deleteItem("A");
+
+        // Act
+        ChangePage all = service.getChangesSince(epoch, start, 100);
+        ChangePage resumed = service.getChangesSince(all.getEpoch(), 2, 1);
+
+        // Assert
+        assertTrue(all.isComplete());
+        assertEquals(List.of(InventoryChange.Type.ADDED, InventoryChange.Type.UPDATED,
+                InventoryChange.Type.UPDATED, InventoryChange.Type.DELETED),
+                all.getChanges().stream().map(InventoryChange::getType).collect(Collectors.toList()));
+        assertEquals(List.of(1L, 2L, 3L, 4L),
+                all.getChanges().stream().map(InventoryChange::getSequence).collect(Collectors.toList()));
+        InventoryChange update = all.getChanges().get(1);
+        assertEquals(10.0, update.getBefore().getPrice());
+        assertEquals(12.0, update.getAfter().getPrice());
+        assertEquals("A", all.getChanges().get(3).getItemId());
+        assertNull(all.getChanges().get(3).getAfter());
+        assertEquals(epoch, all.getEpoch());
+        assertEquals(4, all.getLastSequence());
+        assertEquals(1, resumed.getChanges().size());
+        assertEquals(3, resumed.getLastSequence());
+    }
+
+    @Test
+    void since_OlderThanTheRing_IsIncomplete() {
+        // Arrange
+        ChangeFeed feed = new ChangeFeed(4);
+        for (int i = 0; i < 10; i++) {
+            feed.itemChanged(null, new InventoryItem("I" + i, "Item", "Ring", i, 1.0, tools));
+        }
+
+        // Act
+        ChangePage lost = feed.since(feed.epoch(), 0, 100);
+        ChangePage kept = feed.since(feed.epoch(), 6, 100);
+        ChangePage unknown = feed.since(feed.epoch(), 11, 100);
+
+        // Assert
+        assertFalse(lost.isComplete());
+        assertEquals(10, lost.getLastSequence());
+        assertTrue(kept.isComplete());
+        assertEquals(List.of("I6", "I7", "I8", "I9"),
+                kept.getChanges().stream().map(InventoryChange::getItemId).collect(Collectors.toList()));
+        assertFalse(unknown.isComplete());
+    }
+
+    @Test
+    void getChangesSince_SequenceFromAnEarlierRun_IsIncomplete() {
+        // Arrange
+        service.addItem(new InventoryItem("A", "Saw", "Hand saw", 5, 10.0, tools));
+        service.addItem(new InventoryItem("B", "Drill", "Hand drill", 2, 30.0, tools));
+        ChangePage beforeRestart = service.getChangesSince(null, 0, 1);
+        FileItemRepository reopened = new FileItemRepository(new FileHandler(tempDir.resolve("changes.json").toString(),
+                SyncPolicy.never()));
+        InventoryService restarted = new InventoryService(reopened, new Validator());
+        restarted.addItem(new InventoryItem("C", "Plane", "Hand plane", 1, 40.0, tools));
+        restarted.addItem(new InventoryItem("D", "File", "Hand file", 9, 5.0, tools));
+
+        // Act
+        ChangePage resumed = restarted.getChangesSince(beforeRestart.getEpoch(), beforeRestart.getLastSequence(), 100);
+        ChangePage withoutEpoch = restarted.getChangesSince(null, 1, 100);
+
+        // Assert
+        assertTrue(beforeRestart.isComplete());
+        assertEquals(1, beforeRestart.getLastSequence());
+        assertNotEquals(beforeRestart.getEpoch(), resumed.getEpoch());
+        assertFalse(resumed.isComplete());
+        assertTrue(resumed.getChanges().isEmpty());
+        assertEquals(2, resumed.getLastSequence());
+        assertFalse(withoutEpoch.isComplete());
+        assertEquals(2, restarted.getChangesSince(resumed.getEpoch(), 0, 100).getChanges().size());
+    }
+
+    @Test
+    void addChangeListener_SlowListener_DoesNotHoldUpWritersAndSeesEveryChange() throws Exception {
+        // Arrange
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch received = new CountDownLatch(100);
+        List<Long> sequences = Collections.synchronizedList(new ArrayList<>());
+        assertTrue(service.addChangeListener(change -> {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            sequences.add(change.getSequence());
+            received.countDown();
+        }));
+
+        // Act
+        for (int i = 0; i < 100; i++) {
+            service.addItem(new InventoryItem("S" + i, "Item", "Slow", i, 1.0, tools));
+        }
+        int deliveredBeforeRelease = sequences.size();
+        release.countDown();
+
+        // Assert
+        assertEquals(0, deliveredBeforeRelease);
+        assertTrue(received.await(10, TimeUnit.SECONDS));
+        List<Long> expected = new ArrayList<>();
+        for (long i = 1; i <= 100; i++) {
+            expected.add(i);
+        }
+        assertEquals(expected, sequences);
+    }
+
+    @Test
+    void subscribe_ListenerLappedByWriters_IsToldWhatItMissed() throws Exception {
+        // Arrange
+        ChangeFeed feed = new ChangeFeed(4);
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch last = new CountDownLatch(1);
+        List<Long> delivered = Collections.synchronizedList(new ArrayList<>());
+        List<long[]> missed = Collections.synchronizedList(new ArrayList<>());
+        feed.subscribe(new InventoryChangeListener() {
+            @Override
+            public void changed(InventoryChange change) {
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                delivered.add(change.getSequence());
+                if (change.getSequence() == 20) {
+                    last.countDown();
+                }
+            }
+
+            @Override
+            public void missed(long firstSequence, long lastSequence) {
+                missed.add(new long[] {firstSequence, lastSequence});
+            }
+        });
+
+        // Act
+        for (int i = 0; i < 20; i++) {
+            feed.itemChanged(null, new InventoryItem("M" + i, "Item", "Lapped", i, 1.0, tools));
+        }
+        release.countDown();
+
+        // Assert
+        assertTrue(last.await(10, TimeUnit.SECONDS));
+        assertFalse(missed.isEmpty());
+        assertEquals(20, delivered.get(delivered.size() - 1));
+        long covered = delivered.size();
+        for (long[] range : missed) {
+            covered += range[1] - range[0] + 1;
+        }
+        assertEquals(20, covered);
+    }
+}
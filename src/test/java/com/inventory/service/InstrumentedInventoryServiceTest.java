@@ -0,0 +1,69 @@
+package com.inventory.service;
+
+import com.inventory.metrics.InventoryMetrics;
+import com.inventory.metrics.OperationMetrics;
+import com.inventory.model.InventoryItem;
+import com.inventory.model.ItemCategory;
+import com.inventory.repository.FileHandler;
+import com.inventory.repository.FileItemRepository;
+import com.inventory.repository.InstrumentedItemRepository;
+import com.inventory.repository.SnapshotFormat;
+import com.inventory.repository.SyncPolicy;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class InstrumentedInventoryServiceTest {
+
+    @TempDir
+    Path tempDir;
+
+    private InventoryMetrics metrics;
+    private InventoryService service;
+
+    @BeforeEach
+    void setUp() {
+        metrics = new InventoryMetrics();
+        FileItemRepository repository = new FileItemRepository(
+                new FileHandler(tempDir.resolve("metrics.json").toString(), SyncPolicy.never()),
+                null, 0, SnapshotFormat.JSON, metrics);
+        service = new InstrumentedInventoryService(
+                new InstrumentedItemRepository(repository, metrics), new Validator(), metrics);
+    }
+
+    @Test
+    void operations_AreCountedInBothLayers() {
+        // Act
+        service.addItem(new InventoryItem("A1", "Hammer", "Claw hammer", 5, 12.5, new ItemCategory(1, "Tools", "Hand tools")));
+        service.searchItems("hammer");
+        service.sortItems("name", true);
+
+        // Assert
+        assertEquals(1, metrics.operation("service", "addItem").getCount());
+        assertEquals(1, metrics.operation("service", "searchItems").getCount());
+        assertEquals(1, metrics.operation("service", "sortItems").getCount());
+        assertEquals(1, metrics.operation("repository", "insertIfAbsent").getCount());
+        assertEquals(1, metrics.operation(FileItemRepository.METRICS_LAYER, "load").getCount());
+        assertEquals(1, metrics.operation(FileItemRepository.METRICS_LAYER, "save").getCount());
+        assertTrue(metrics.operation(FileItemRepository.METRICS_LAYER, "save").getMaxMicros() > 0);
+    }
+
+    @Test
+    void failedOperation_CountsAsError() {
+        // Arrange
+        InventoryItem invalid = new InventoryItem("A1", "", "No name", 5, 12.5, null);
+
+        // Act
+        assertThrows(IllegalArgumentException.class, () -> service.addItem(invalid));
+
+        // Assert
+        OperationMetrics addItem = metrics.operation("service", "addItem");
+        assertEquals(1, addItem.getCount());
+        assertEquals(1, addItem.getErrorCount());
+        assertEquals(0, metrics.operation("repository", "insertIfAbsent").getCount());
+    }
+}
@@ -2,6 +2,8 @@ package com.inventory.service;
 
 import com.inventory.model.InventoryItem;
 import com.inventory.model.ItemCategory;
+import com.inventory.repository.CompareAndSetResult;
+import com.inventory.repository.ItemPage;
 import com.inventory.repository.ItemRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -12,6 +14,7 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -44,16 +47,36 @@ public class InventoryServiceTest {
         when(validator.validateName(testItem.getName())).thenReturn(true);
         when(validator.validateQuantity(testItem.getQuantity())).thenReturn(true);
         when(validator.validatePrice(testItem.getPrice())).thenReturn(true);
-        when(itemRepository.findById(testItem.getId())).thenReturn(Optional.empty());
-        when(itemRepository.save(testItem)).thenReturn(testItem);
+        when(itemRepository.insertIfAbsent(testItem)).thenReturn(true);
 
         // Act
         InventoryItem result = inventoryService.addItem(testItem);
 
         // Assert
         assertEquals(testItem, result);
-        verify(itemRepository).findById(testItem.getId());
-        verify(itemRepository).save(testItem);
+        verify(itemRepository).insertIfAbsent(testItem);
+    }
+
+    @Test
+    void addItemAsync_CompletesOnceRepositoryIsDurable() throws Exception {
+        // Arrange
+        when(validator.validateId(testItem.getId())).thenReturn(true);
+        when(validator.validateName(testItem.getName())).thenReturn(true);
+        when(validator.validateQuantity(testItem.getQuantity())).thenReturn(true);
+        when(validator.validatePrice(testItem.getPrice())).thenReturn(true);
+        when(itemRepository.insertIfAbsent(testItem)).thenReturn(true);
+        CompletableFuture<Void> durable = new CompletableFuture<>();
+        when(itemRepository.whenDurable()).thenReturn(durable);
+
+        // Act
+        CompletableFuture<InventoryItem> result = inventoryService.addItemAsync(testItem);
+        boolean doneBeforeFlush = result.isDone();
+        durable.complete(null);
+
+        // Assert
+        assertFalse(doneBeforeFlush);
+        assertEquals(testItem, result.get());
+        verify(itemRepository).insertIfAbsent(testItem);
     }
 
     @Test
@@ -63,7 +86,7 @@ public class InventoryServiceTest {
         when(validator.validateName(testItem.getName())).thenReturn(true);
         when(validator.validateQuantity(testItem.getQuantity())).thenReturn(true);
         when(validator.validatePrice(testItem.getPrice())).thenReturn(true);
-        when(itemRepository.findById(testItem.getId())).thenReturn(Optional.of(testItem));
+        when(itemRepository.insertIfAbsent(testItem)).thenReturn(false);
 
         // Act & Assert
         Exception exception = assertThrows(IllegalArgumentException.class, () -> {
@@ -71,7 +94,7 @@ public class InventoryServiceTest {
         });
         
         assertTrue(exception.getMessage().contains("already exists"));
-        verify(itemRepository).findById(testItem.getId());
+        verify(itemRepository).insertIfAbsent(testItem);
         verify(itemRepository, never()).save(any());
     }
 
@@ -82,16 +105,14 @@ public class InventoryServiceTest {
         when(validator.validateName(testItem.getName())).thenReturn(true);
         when(validator.validateQuantity(testItem.getQuantity())).thenReturn(true);
         when(validator.validatePrice(testItem.getPrice())).thenReturn(true);
-        when(itemRepository.findById(testItem.getId())).thenReturn(Optional.of(testItem));
-        when(itemRepository.save(testItem)).thenReturn(testItem);
+        when(itemRepository.replaceIfPresent(testItem)).thenReturn(true);
 
         // Act
         InventoryItem result = inventoryService.updateItem(testItem);
 
         // Assert
         assertEquals(testItem, result);
-        verify(itemRepository).findById(testItem.getId());
-        verify(itemRepository).save(testItem);
+        verify(itemRepository).replaceIfPresent(testItem);
     }
 
     @Test
@@ -101,7 +122,7 @@ public class InventoryServiceTest {
         when(validator.validateName(testItem.getName())).thenReturn(true);
         when(validator.validateQuantity(testItem.getQuantity())).thenReturn(true);
         when(validator.validatePrice(testItem.getPrice())).thenReturn(true);
-        when(itemRepository.findById(testItem.getId())).thenReturn(Optional.empty());
+        when(itemRepository.replaceIfPresent(testItem)).thenReturn(false);
 
         // Act & Assert
         Exception exception = assertThrows(IllegalArgumentException.class, () -> {
@@ -109,7 +130,7 @@ public class InventoryServiceTest {
         });
         
         assertTrue(exception.getMessage().contains("not found"));
-        verify(itemRepository).findById(testItem.getId());
+        verify(itemRepository).replaceIfPresent(testItem);
         verify(itemRepository, never()).save(any());
     }
 
@@ -177,12 +198,29 @@ public class InventoryServiceTest {
         verify(itemRepository).findAll();
     }
 
+    @Test
+    void searchItems_ItemWithoutDescription_MatchesOnOtherFields() {
+        // Arrange
+        InventoryItem item2 = new InventoryItem("ITM002", "Phone", null, 20, 499.99, testCategory);
+        List<InventoryItem> allItems = Arrays.asList(item2, testItem);
+        when(itemRepository.findAll()).thenReturn(allItems);
+
+        // Act
+        List<InventoryItem> byDescription = inventoryService.searchItems("inch");
+        List<InventoryItem> byName = inventoryService.searchItems("phone");
+
+        // Assert
+        assertEquals(List.of(testItem), byDescription);
+        assertEquals(List.of(item2), byName);
+    }
+
     @Test
     void sortItems_ByName_ReturnsSortedItems() {
         // Arrange
         InventoryItem item2 = new InventoryItem("ITM002", "Phone", "Smartphone", 20, 499.99, testCategory);
         List<InventoryItem> allItems = Arrays.asList(testItem, item2);
         when(itemRepository.findAll()).thenReturn(allItems);
+        when(itemRepository.snapshot()).thenCallRealMethod();
 
         // Act
         List<InventoryItem> result = inventoryService.sortItems("name", true);
@@ -200,6 +238,7 @@ public class InventoryServiceTest {
         InventoryItem item2 = new InventoryItem("ITM002", "Phone", "Smartphone", 20, 499.99, testCategory);
         List<InventoryItem> allItems = Arrays.asList(testItem, item2);
         when(itemRepository.findAll()).thenReturn(allItems);
+        when(itemRepository.snapshot()).thenCallRealMethod();
 
         // Act
         List<InventoryItem> result = inventoryService.sortItems("price", true);
@@ -210,4 +249,183 @@ public class InventoryServiceTest {
         assertEquals("Laptop", result.get(1).getName());
         verify(itemRepository).findAll();
     }
+
+    @Test
+    void addItems_OneInvalidItem_ThrowsAndSavesNothing() {
+        // Arrange
+        InventoryItem invalid = new InventoryItem("ITM002", "", "No name", 1, 9.99, testCategory);
+        when(validator.validateId(anyString())).thenReturn(true);
+        when(validator.validateName("Laptop")).thenReturn(true);
+        when(validator.validateName("")).thenReturn(false);
+        when(validator.validateQuantity(anyInt())).thenReturn(true);
+        when(validator.validatePrice(anyDouble())).thenReturn(true);
+
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> {
+            inventoryService.addItems(List.of(testItem, invalid));
+        });
+        verify(itemRepository, never()).insertAllIfAbsent(any());
+        verify(itemRepository, never()).saveAll(any());
+    }
+
+    @Test
+    void addItems_SkipInvalid_SavesValidItemsAndReportsFailures() {
+        // Arrange
+        InventoryItem invalid = new InventoryItem("ITM002", "", "No name", 1, 9.99, testCategory);
+        when(validator.validateId(anyString())).thenReturn(true);
+        when(validator.validateName("Laptop")).thenReturn(true);
+        when(validator.validateName("")).thenReturn(false);
+        when(validator.validateQuantity(anyInt())).thenReturn(true);
+        when(validator.validatePrice(anyDouble())).thenReturn(true);
+        when(itemRepository.insertAllIfAbsent(List.of(testItem))).thenReturn(List.of());
+
+        // Act
+        BatchResult result = inventoryService.addItems(List.of(testItem, invalid), true);
+
+        // Assert
+        assertEquals(List.of("ITM001"), result.getSucceededIds());
+        assertEquals(List.of(new BatchResult.Failure(1, "ITM002", "Invalid item name")), result.getFailures());
+        verify(itemRepository).insertAllIfAbsent(List.of(testItem));
+    }
+
+    @Test
+    void deleteItems_SkipInvalid_DeletesKnownIdsInOneCall() {
+        // Arrange
+        when(validator.validateId(anyString())).thenReturn(true);
+        when(itemRepository.findById("ITM001")).thenReturn(Optional.of(testItem));
+        when(itemRepository.findById("MISSING")).thenReturn(Optional.empty());
+
+        // Act
+        BatchResult result = inventoryService.deleteItems(List.of("ITM001", "MISSING", "ITM001"), true);
+
+        // Assert
+        assertEquals(List.of("ITM001"), result.getSucceededIds());
+        assertEquals(2, result.getFailures().size());
+        verify(itemRepository).deleteAll(List.of("ITM001"));
+    }
+
+    @Test
+    void adjustQuantity_ExistingId_ReturnsUpdatedItem() {
+        // Arrange
+        InventoryItem adjusted = new InventoryItem("ITM001", "Laptop", "15-inch laptop", 7, 999.99, testCategory);
+        when(validator.validateId("ITM001")).thenReturn(true);
+        when(itemRepository.adjustQuantity("ITM001", -3)).thenReturn(Optional.of(adjusted));
+
+        // Act
+        InventoryItem result = inventoryService.adjustQuantity("ITM001", -3);
+
+        // Assert
+        assertEquals(7, result.getQuantity());
+        verify(itemRepository, never()).save(any());
+    }
+
+    @Test
+    void adjustQuantity_NonExistingId_ThrowsException() {
+        // Arrange
+        when(validator.validateId("MISSING")).thenReturn(true);
+        when(itemRepository.adjustQuantity("MISSING", 1)).thenReturn(Optional.empty());
+
+        // Act & Assert
+        Exception exception = assertThrows(IllegalArgumentException.class, () -> {
+            inventoryService.adjustQuantity("MISSING", 1);
+        });
+        assertEquals("Item with ID MISSING not found", exception.getMessage());
+    }
+
+    @Test
+    void compareAndSetQuantity_ItemNotFound_ThrowsException() {
+        // Arrange
+        when(validator.validateId("MISSING")).thenReturn(true);
+        when(validator.validateQuantity(5)).thenReturn(true);
+        when(itemRepository.compareAndSetQuantity("MISSING", 10, 5)).thenReturn(CompareAndSetResult.NOT_FOUND);
+
+        // Act & Assert
+        Exception exception = assertThrows(IllegalArgumentException.class, () -> {
+            inventoryService.compareAndSetQuantity("MISSING", 10, 5);
+        });
+        assertEquals("Item with ID MISSING not found", exception.getMessage());
+        verify(itemRepository, never()).findById(anyString());
+    }
+
+    @Test
+    void compareAndSetQuantity_QuantityChangedMeanwhile_ReturnsFalse() {
+        // Arrange
+        when(validator.validateId("ITM001")).thenReturn(true);
+        when(validator.validateQuantity(5)).thenReturn(true);
+        when(itemRepository.compareAndSetQuantity("ITM001", 10, 5)).thenReturn(CompareAndSetResult.MISMATCH);
+
+        // Act & Assert
+        assertFalse(inventoryService.compareAndSetQuantity("ITM001", 10, 5));
+    }
+
+    @Test
+    void compareAndSetQuantity_NegativeQuantity_ThrowsException() {
+        // Arrange
+        when(validator.validateId("ITM001")).thenReturn(true);
+        when(validator.validateQuantity(-1)).thenReturn(false);
+
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> {
+            inventoryService.compareAndSetQuantity("ITM001", 10, -1);
+        });
+        verify(itemRepository, never()).compareAndSetQuantity(anyString(), anyInt(), anyInt());
+    }
+
+    @Test
+    void sortItems_Page_ReturnsRequestedSlice() {
+        // Arrange
+        InventoryItem item2 = new InventoryItem("ITM002", "Desk", "Wooden desk", 5, 299.99, testCategory);
+        InventoryItem item3 = new InventoryItem("ITM003", "Chair", "Office chair", 20, 149.99, testCategory);
+        when(itemRepository.findAll()).thenReturn(Arrays.asList(testItem, item2, item3));
+        when(itemRepository.snapshot()).thenCallRealMethod();
+
+        // Act
+        List<InventoryItem> result = inventoryService.sortItems("price", false, 1, 1);
+
+        // Assert
+        assertEquals(List.of(item2), result);
+    }
+
+    @Test
+    void sortItems_NegativeOffset_ThrowsException() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> inventoryService.sortItems("name", true, -1, 10));
+    }
+
+    @Test
+    void getItemsPage_DelegatesToRepository() {
+        // Arrange
+        ItemPage page = ItemPage.last(List.of(testItem));
+        when(itemRepository.findPage(ItemPage.FIRST, 20)).thenReturn(page);
+
+        // Act
+        ItemPage result = inventoryService.getItemsPage(ItemPage.FIRST, 20);
+
+        // Assert
+        assertSame(page, result);
+        verify(itemRepository, never()).findAll();
+    }
+
+    @Test
+    void getItemsPage_ZeroLimit_ThrowsException() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> inventoryService.getItemsPage(ItemPage.FIRST, 0));
+    }
+
+    @Test
+    void getInventoryStats_RepositoryWithoutChangeEvents_ComputesFromAllItems() {
+        // Arrange
+        InventoryItem item2 = new InventoryItem("ITM002", "Desk", "Wooden desk", 5, 300.0, testCategory);
+        when(itemRepository.findAll()).thenReturn(Arrays.asList(testItem, item2));
+
+        // Act
+        InventoryStats stats = inventoryService.getInventoryStats();
+
+        // Assert
+        assertEquals(2, stats.getItemCount());
+        assertEquals(15, stats.getTotalUnits());
+        assertEquals(10 * 999.99 + 1500.0, stats.getTotalValue(), 1e-9);
+        assertEquals(300.0, stats.getMinPrice());
+        assertEquals(999.99, stats.getMaxPrice());
+    }
 }
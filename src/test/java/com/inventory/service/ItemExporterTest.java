@@ -0,0 +1,112 @@
+package com.inventory.service;
+
+import com.inventory.model.InventoryItem;
+import com.inventory.model.ItemCategory;
+import com.inventory.repository.FileHandler;
+import com.inventory.repository.FileItemRepository;
+import com.inventory.repository.SyncPolicy;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ItemExporterTest {
+
+    @TempDir
+    Path tempDir;
+
+    private InventoryService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new InventoryService(repository("source.json"), new Validator());
+        ItemCategory tools = new ItemCategory(1, "Tools", "Hand, power tools");
+        ItemCategory garden = new ItemCategory(2, "Garden", "Outdoor");
+        InventoryItem hammer = new InventoryItem("A1", "Hammer", "Claw hammer, \"steel\"", 5, 12.5, tools);
+        hammer.setReorderThreshold(2);
+        service.addItem(hammer);
+        service.addItem(new InventoryItem("A2", "Tape", "Two\nlines", 3, 4.0, tools));
+        service.addItem(new InventoryItem("B1", "Rake", "Leaf rake", 7, 9.99, garden));
+    }
+
+    @Test
+    void exportItems_Csv_RoundTripsThroughImport() throws IOException {
+        // Arrange
+        Path file = tempDir.resolve("items.csv");
+
+        // Act
+        long count = service.exportItems(file);
+        InventoryService target = new InventoryService(repository("target.json"), new Validator());
+        ImportResult result = target.importItems(file, null);
+
+        // Assert
+        assertEquals(3, count);
+        assertTrue(Files.readString(file).startsWith(String.join(",", ItemFileFormat.CSV_HEADER) + "\n"));
+        assertTrue(Files.readString(file).contains("\"Claw hammer, \"\"steel\"\"\""));
+        assertEquals(0, result.getFailureCount());
+        assertEquals(service.getAllItems(), target.getAllItems());
+    }
+
+    @Test
+    void exportItems_Jsonl_RoundTripsThroughImport() throws IOException {
+        // Arrange
+        Path file = tempDir.resolve("items.jsonl");
+
+        // Act
+        long count = service.exportItems(file);
+        InventoryService target = new InventoryService(repository("target.json"), new Validator());
+        target.importItems(file, null);
+
+        // Assert
+        assertEquals(3, count);
+        assertEquals(3, Files.readAllLines(file).size());
+        assertEquals(service.getAllItems(), target.getAllItems());
+    }
+
+    @Test
+    void exportItemsByCategory_WritesOnlyThatCategory() throws IOException {
+        // Arrange
+        Path file = tempDir.resolve("garden.jsonl");
+
+        // Act
+        long count = service.exportItemsByCategory(file, 2);
+
+        // Assert
+        assertEquals(1, count);
+        List<String> lines = Files.readAllLines(file);
+        assertEquals(1, lines.size());
+        assertTrue(lines.get(0).contains("\"id\":\"B1\""));
+    }
+
+    @Test
+    void exportSearchResults_WritesTheSameItemsAsSearch() throws IOException {
+        // Arrange
+        Path file = tempDir.resolve("search.csv");
+        Files.writeString(file, "stale content that must be replaced\n".repeat(10));
+
+        // Act
+        long count = service.exportSearchResults(file, "TOOLS");
+
+        // Assert
+        assertEquals(service.searchItems("TOOLS").size(), count);
+        InventoryService target = new InventoryService(repository("target.json"), new Validator());
+        target.importItems(file, null);
+        assertEquals(service.searchItems("TOOLS"), target.getAllItems());
+    }
+
+    @Test
+    void exportItems_UnknownExtension_ThrowsException() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> service.exportItems(tempDir.resolve("items.xml")));
+    }
+
+    private FileItemRepository repository(String name) {
+        return new FileItemRepository(new FileHandler(tempDir.resolve(name).toString(), SyncPolicy.never()));
+    }
+}
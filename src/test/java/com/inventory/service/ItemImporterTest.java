@@ -0,0 +1,106 @@
+package com.inventory.service;
+
+import com.inventory.model.InventoryItem;
+import com.inventory.model.ItemCategory;
+import com.inventory.repository.FileHandler;
+import com.inventory.repository.FileItemRepository;
+import com.inventory.repository.SyncPolicy;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ItemImporterTest {
+
+    @TempDir
+    Path tempDir;
+
+    private FileItemRepository repository;
+    private InventoryService service;
+
+    @BeforeEach
+    void setUp() {
+        repository = new FileItemRepository(new FileHandler(tempDir.resolve("import.json").toString(),
+                SyncPolicy.never()));
+        service = new InventoryService(repository, new Validator());
+        repository.save(new InventoryItem("OLD", "Existing", "Already stored", 1, 1.0,
+                new ItemCategory(1, "Tools", "Hand tools")));
+    }
+
+    @Test
+    void importItems_Csv_ImportsValidRowsAndReportsTheRest() throws IOException {
+        // Arrange
+        String csv = "id,name,description,quantity,price,categoryId,categoryName,categoryDescription,reorderThreshold\n"
+                + "A1,Hammer,\"Claw hammer, steel\",5,12.50,1,Tools,Hand tools,2\r\n"
+                + "A2,\"Tape \"\"25m\"\"\",\"Two\nlines\",3,4.0,1,Tools,Hand tools,\n"
+                + "\n"
+                + "A3,,No name,1,1.0,1,Tools,Hand tools\n"
+                + "A4,Saw,Bad quantity,many,1.0,1,Tools,Hand tools\n"
+                + "A1,Hammer,Duplicate,5,12.50,1,Tools,Hand tools\n"
+                + "OLD,Existing,Clash,1,1.0,1,Tools,Hand tools\n"
+                + "A5,Rake,No category,2,9.0\n";
+
+        // Act
+        ImportResult result = service.importItems(new StringReader(csv), ItemFileFormat.CSV, null);
+
+        // Assert
+        assertEquals(7, result.getRowCount());
+        assertEquals(2, result.getImportedCount());
+        assertEquals(5, result.getFailureCount());
+        List<Integer> lines = new ArrayList<>();
+        result.getFailures().forEach(failure -> lines.add(failure.getIndex()));
+        assertEquals(List.of(6, 7, 8, 9, 10), lines);
+        assertEquals("Invalid quantity 'many'", result.getFailures().get(1).getMessage());
+        assertEquals("Item with ID OLD already exists", result.getFailures().get(3).getMessage());
+        assertEquals("Expected 8 or 9 fields, found 5", result.getFailures().get(4).getMessage());
+        InventoryItem hammer = repository.findById("A1").get();
+        assertEquals("Claw hammer, steel", hammer.getDescription());
+        assertEquals(Integer.valueOf(2), hammer.getReorderThreshold());
+        assertEquals("Tape \"25m\"", repository.findById("A2").get().getName());
+        assertEquals("Two\nlines", repository.findById("A2").get().getDescription());
+        assertFalse(repository.findById("A5").isPresent());
+    }
+
+    @Test
+    void importItems_JsonlFileInManyChunks_KeepsFileOrderAndReportsProgress() throws IOException {
+        // Arrange
+        int rows = ItemImporter.CHUNK_SIZE * 3 + 17;
+        StringBuilder jsonl = new StringBuilder();
+        for (int i = 0; i < rows; i++) {
+            jsonl.append("{\"id\":\"J").append(i).append("\",\"name\":\"Item ").append(i)
+                    .append("\",\"description\":\"Imported\",\"quantity\":").append(i % 7)
+                    .append(",\"price\":1.5,\"category\":{\"id\":2,\"name\":\"Bulk\",\"description\":\"\"}}\n");
+        }
+        jsonl.append("{not json\n");
+        Path file = tempDir.resolve("items.jsonl");
+        Files.writeString(file, jsonl);
+        List<Long> progress = new ArrayList<>();
+
+        // Act
+        ImportResult result = service.importItems(file, progress::add);
+
+        // Assert
+        assertEquals(rows, result.getImportedCount());
+        assertEquals(1, result.getFailureCount());
+        assertEquals(rows + 1, result.getFailures().get(0).getIndex());
+        assertEquals(rows + 1, progress.get(progress.size() - 1));
+        List<InventoryItem> all = repository.findAll();
+        assertEquals(rows + 1, all.size());
+        assertEquals("J0", all.get(1).getId());
+        assertEquals("J" + (rows - 1), all.get(rows).getId());
+    }
+
+    @Test
+    void importItems_UnknownExtension_ThrowsException() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> service.importItems(tempDir.resolve("items.txt"), null));
+    }
+}
@@ -0,0 +1,93 @@
+package com.inventory.service;
+
+import com.inventory.model.InventoryItem;
+import com.inventory.model.ItemCategory;
+import com.inventory.repository.FileHandler;
+import com.inventory.repository.FileItemRepository;
+import com.inventory.repository.SyncPolicy;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LowStockIndexTest {
+
+    @TempDir
+    Path tempDir;
+
+    private FileItemRepository repository;
+    private InventoryService service;
+    private ItemCategory tools;
+    private ItemCategory garden;
+
+    @BeforeEach
+    void setUp() {
+        repository = new FileItemRepository(new FileHandler(tempDir.resolve("stock.json").toString(),
+                SyncPolicy.never()));
+        service = new InventoryService(repository, new Validator());
+        tools = new ItemCategory(1, "Tools", "Hand tools");
+        tools.setDefaultReorderThreshold(5);
+        garden = new ItemCategory(2, "Garden", "Outdoor items");
+    }
+
+    @Test
+    void getLowStockItems_UsesItemThenCategoryThresholds() {
+        // Arrange
+        service.addItem(new InventoryItem("A", "Saw", "Hand saw", 5, 10.0, tools));
+        service.addItem(new InventoryItem("B", "Drill", "Cordless drill", 1, 50.0, tools));
+        service.addItem(new InventoryItem("C", "Hose", "Garden hose", 0, 20.0, garden));
+        InventoryItem rake = new InventoryItem("D", "Rake", "Leaf rake", 8, 15.0, garden);
+        rake.setReorderThreshold(10);
+        service.addItem(rake);
+        InventoryItem tape = new InventoryItem("E", "Tape", "Measuring tape", 20, 5.0, tools);
+        tape.setReorderThreshold(2);
+        service.addItem(tape);
+
+        // Act
+        List<InventoryItem> lowStock = service.getLowStockItems(10);
+
+        // Assert
+        assertEquals(List.of("B", "D", "A"), ids(lowStock));
+        assertEquals(List.of("B"), ids(service.getLowStockItems(1)));
+    }
+
+    @Test
+    void addLowStockListener_FiresOnlyWhenThresholdIsCrossed() {
+        // Arrange
+        List<String> events = new ArrayList<>();
+        service.addItem(new InventoryItem("A", "Saw", "Hand saw", 7, 10.0, tools));
+        assertTrue(service.addLowStockListener((item, low) -> events.add(item.getId() + (low ? " low" : " ok"))));
+
+        // Act
+        service.adjustQuantity("A", -1);
+        service.adjustQuantity("A", -1);
+        service.adjustQuantity("A", -1);
+        service.updateItem(new InventoryItem("A", "Saw", "Hand saw", 30, 10.0, tools));
+        service.addItem(new InventoryItem("B", "Drill", "Cordless drill", 0, 50.0, tools));
+        service.deleteItem("B");
+
+        // Assert
+        assertEquals(List.of("A low", "A ok", "B low"), events);
+        assertEquals(List.of(), service.getLowStockItems(10));
+    }
+
+    @Test
+    void addItem_NegativeReorderThreshold_ThrowsException() {
+        // Arrange
+        InventoryItem item = new InventoryItem("A", "Saw", "Hand saw", 7, 10.0, tools);
+        item.setReorderThreshold(-1);
+
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> service.addItem(item));
+    }
+
+    private static List<String> ids(List<InventoryItem> items) {
+        return items.stream().map(InventoryItem::getId).collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,147 @@
+package com.inventory.service;
+
+import com.inventory.model.InventoryItem;
+import com.inventory.model.ItemCategory;
+import com.inventory.repository.FileHandler;
+import com.inventory.repository.FileItemRepository;
+import com.inventory.repository.SyncPolicy;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SearchIndexTest {
+
+    @TempDir
+    Path tempDir;
+
+    private FileItemRepository repository;
+    private SearchIndex index;
+    private ItemCategory tools;
+    private ItemCategory garden;
+
+    @BeforeEach
+    void setUp() {
+        repository = new FileItemRepository(new FileHandler(tempDir.resolve("search.json").toString(),
+                SyncPolicy.never()));
+        tools = new ItemCategory(1, "Tools", "Hand tools");
+        garden = new ItemCategory(2, "Garden", "Outdoor items");
+        repository.save(new InventoryItem("ITM001", "Hammer", "Steel claw hammer", 5, 12.5, tools));
+        repository.save(new InventoryItem("ITM002", "Rake", "Leaf RAKE with handle", 3, 20.0, garden));
+        repository.save(new InventoryItem("ITM003", "Hose", "Garden hose, 20m", 8, 30.0, garden));
+        index = new SearchIndex();
+        assertTrue(index.attach(repository));
+    }
+
+    @Test
+    void search_MatchesAnyFieldIgnoringCaseInRepositoryOrder() {
+        // Act & Assert
+        assertEquals(List.of("ITM002", "ITM003"), ids(index.search("GARDEN")));
+        assertEquals(List.of("ITM001"), ids(index.search("claw h")));
+        assertEquals(List.of("ITM002"), ids(index.search("rake")));
+        assertEquals(List.of("ITM001", "ITM002", "ITM003"), ids(index.search("e")));
+        assertEquals(List.of(), ids(index.search("drill")));
+    }
+
+    @Test
+    void search_FollowsRepositoryChanges() {
+        // Act
+        repository.save(new InventoryItem("ITM001", "Mallet", "Rubber mallet", 5, 12.5, tools));
+        repository.delete("ITM003");
+        repository.save(new InventoryItem("ITM004", "Garden hose", "Short hose", 1, 10.0, garden));
+        repository.adjustQuantity("ITM002", 1);
+
+        // Assert
+        assertEquals(List.of(), ids(index.search("hammer")));
+        assertEquals(List.of("ITM001"), ids(index.search("mallet")));
+        assertEquals(List.of("ITM004"), ids(index.search("hose")));
+        assertEquals(4, index.search("rake").get(0).getQuantity());
+    }
+
+    @Test
+    void search_RandomChanges_MatchesScanOfRepository() {
+        // Arrange
+        String[] words = {"red", "green", "bolt", "nut", "washer", "Über", "ÅSA", "screw", "bo", "lt"};
+        Random random = new Random(11);
+
+        for (int i = 0; i < 3000; i++) {
+            // Act
+            String id = "R" + random.nextInt(400);
+            if (random.nextInt(4) == 0) {
+                repository.delete(id);
+            } else {
+                String name = words[random.nextInt(words.length)] + " " + words[random.nextInt(words.length)];
+                String description = words[random.nextInt(words.length)] + words[random.nextInt(words.length)];
+                repository.save(new InventoryItem(id, name, description, 1, 1.0, random.nextBoolean() ? tools : garden));
+            }
+
+            // Assert
+            if (i % 100 == 0) {
+                for (String keyword : new String[] {"bolt", "oltbo", "ÜBER", "d g", "rden", "n", "ws", "sa"}) {
+                    assertEquals(scan(keyword), ids(index.search(keyword)), keyword);
+                }
+            }
+        }
+        assertEquals(repository.findAll().size(), index.size());
+    }
+
+    @Test
+    void search_ConcurrentWritersWhileCompacting_MatchesScanOfRepository() throws Exception {
+        // Arrange
+        String[] words = {"red", "green", "bolt", "nut", "washer", "screw"};
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        List<Future<?>> futures = new ArrayList<>();
+
+        // Act
+        for (int t = 0; t < 4; t++) {
+            int thread = t;
+            futures.add(executor.submit(() -> {
+                Random random = new Random(thread);
+                for (int i = 0; i < 1000; i++) {
+                    String id = "T" + thread + "-" + random.nextInt(50);
+                    if (random.nextInt(4) == 0) {
+                        repository.delete(id);
+                    } else {
+                        String name = words[random.nextInt(words.length)] + " " + words[random.nextInt(words.length)];
+                        repository.save(new InventoryItem(id, name, "Part " + i, 1, 1.0, tools));
+                    }
+                }
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        executor.shutdown();
+
+        // Assert
+        for (String keyword : new String[] {"bolt", "d g", "nut", "n", "part 9", "tools"}) {
+            assertEquals(scan(keyword).stream().sorted().collect(Collectors.toList()),
+                    ids(index.search(keyword)).stream().sorted().collect(Collectors.toList()), keyword);
+        }
+        assertEquals(repository.findAll().size(), index.size());
+    }
+
+    private List<String> scan(String keyword) {
+        String term = keyword.toLowerCase();
+        return repository.findAll().stream()
+                .filter(item -> item.getName().toLowerCase().contains(term)
+                        || item.getDescription().toLowerCase().contains(term)
+                        || item.getCategory().getName().toLowerCase().contains(term))
+                .map(InventoryItem::getId)
+                .collect(Collectors.toList());
+    }
+
+    private static List<String> ids(List<InventoryItem> items) {
+        return items.stream().map(InventoryItem::getId).collect(Collectors.toList());
+    }
+}
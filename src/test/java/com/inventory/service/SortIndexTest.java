@@ -0,0 +1,98 @@
+package com.inventory.service;
+
+import com.inventory.model.InventoryItem;
+import com.inventory.model.ItemCategory;
+import com.inventory.repository.FileHandler;
+import com.inventory.repository.FileItemRepository;
+import com.inventory.repository.SyncPolicy;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SortIndexTest {
+
+    @TempDir
+    Path tempDir;
+
+    private FileItemRepository repository;
+    private SortIndex index;
+    private ItemCategory category;
+
+    @BeforeEach
+    void setUp() {
+        repository = new FileItemRepository(new FileHandler(tempDir.resolve("sort.json").toString(),
+                SyncPolicy.never()));
+        category = new ItemCategory(1, "Tools", "Hand tools");
+        index = new SortIndex();
+        assertTrue(index.attach(repository));
+    }
+
+    @Test
+    void page_EqualKeysKeepRepositoryOrderInBothDirections() {
+        // Arrange
+        repository.save(new InventoryItem("C", "Saw", "", 5, 10.0, category));
+        repository.save(new InventoryItem("A", "Drill", "", 5, 20.0, category));
+        repository.save(new InventoryItem("B", "Axe", "", 1, 10.0, category));
+
+        // Act & Assert
+        assertEquals(List.of("B", "C", "A"), ids(index.page(SortIndex.SortKey.QUANTITY, true, 0, 10)));
+        assertEquals(List.of("C", "A", "B"), ids(index.page(SortIndex.SortKey.QUANTITY, false, 0, 10)));
+        assertEquals(List.of("A"), ids(index.page(SortIndex.SortKey.PRICE, false, 0, 1)));
+        assertEquals(List.of("B"), ids(index.page(SortIndex.SortKey.PRICE, false, 2, 5)));
+        assertEquals(List.of(), ids(index.page(SortIndex.SortKey.NAME, true, 3, 5)));
+    }
+
+    @Test
+    void page_RandomChanges_MatchesStableSortOfRepository() {
+        // Arrange
+        Random random = new Random(5);
+
+        for (int i = 0; i < 2000; i++) {
+            // Act
+            String id = "R" + random.nextInt(300);
+            int change = random.nextInt(5);
+            if (change == 0) {
+                repository.delete(id);
+            } else if (change == 1) {
+                repository.adjustQuantity(id, 1);
+            } else {
+                repository.save(new InventoryItem(id, "Item " + random.nextInt(20), "", random.nextInt(10),
+                        random.nextInt(10) / 2.0, category));
+            }
+
+            // Assert
+            if (i % 100 == 0) {
+                for (SortIndex.SortKey key : SortIndex.SortKey.values()) {
+                    for (boolean ascending : new boolean[] {true, false}) {
+                        int offset = random.nextInt(50);
+                        int limit = random.nextInt(100);
+                        assertEquals(sorted(key, ascending, offset, limit),
+                                ids(index.page(key, ascending, offset, limit)), key + " " + ascending);
+                    }
+                }
+            }
+        }
+    }
+
+    private List<String> sorted(SortIndex.SortKey key, boolean ascending, int offset, int limit) {
+        Comparator<InventoryItem> comparator = ascending ? key.comparator() : key.comparator().reversed();
+        return repository.findAll().stream()
+                .sorted(comparator)
+                .skip(offset)
+                .limit(limit)
+                .map(InventoryItem::getId)
+                .collect(Collectors.toList());
+    }
+
+    private static List<String> ids(List<InventoryItem> items) {
+        return items.stream().map(InventoryItem::getId).collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,180 @@
+package com.inventory.service;
+
+import com.inventory.model.InventoryItem;
+import com.inventory.model.ItemCategory;
+import com.inventory.repository.FileHandler;
+import com.inventory.repository.FileItemRepository;
+import com.inventory.repository.ItemJournal;
+import com.inventory.repository.SyncPolicy;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class StatsIndexTest {
+
+    @TempDir
+    Path tempDir;
+
+    private FileItemRepository repository;
+    private InventoryService service;
+    private ItemCategory category;
+
+    @BeforeEach
+    void setUp() {
+        repository = new FileItemRepository(new FileHandler(tempDir.resolve("stats.json").toString(),
+                SyncPolicy.never()), new ItemJournal(tempDir.resolve("stats.journal").toString(),
+                SyncPolicy.never()), 100000);
+        service = new InventoryService(repository, new Validator());
+        category = new ItemCategory(1, "Tools", "Hand tools");
+    }
+
+    @Test
+    void getInventoryStats_TracksAddsUpdatesAndDeletes() {
+        // Arrange
+        repository.save(new InventoryItem("A", "Saw", "Hand saw", 2, 10.0, category));
+        assertEquals(new InventoryStats(1, 2, 20.0, 10.0, 10.0, 10.0), service.getInventoryStats());
+
+        // Act
+        repository.save(new InventoryItem("B", "Drill", "Cordless drill", 1, 50.0, category));
+        repository.save(new InventoryItem("C", "Tape", "Measuring tape", 10, 5.0, category));
+        repository.adjustQuantity("A", 1);
+        repository.delete("B");
+
+        // Assert
+        assertEquals(new InventoryStats(2, 13, 80.0, 5.0, 10.0, 7.5), service.getInventoryStats());
+        repository.deleteAll(List.of("A", "C"));
+        assertEquals(new InventoryStats(0, 0, 0, 0, 0, 0), service.getInventoryStats());
+    }
+
+    @Test
+    void getInventoryStats_EmptiedAfterFractionalPrices_StartsAgainFromZero() {
+        // Arrange
+        service.getInventoryStats();
+        for (int i = 0; i < 10; i++) {
+            repository.save(new InventoryItem("F" + i, "Fastener " + i, "Bulk", 3, 0.1 * (i + 1), category));
+        }
+        for (int i = 0; i < 10; i++) {
+            repository.save(new InventoryItem("F" + i, "Fastener " + i, "Repriced", 7, 0.3 + i / 7.0, category));
+        }
+
+        // Act
+        for (int i = 0; i < 10; i++) {
+            repository.delete("F" + i);
+        }
+        repository.save(new InventoryItem("A", "Saw", "Hand saw", 2, 10.0, category));
+
+        // Assert
+        assertEquals(new InventoryStats(1, 2, 20.0, 10.0, 10.0, 10.0), service.getInventoryStats());
+    }
+
+    @Test
+    void verifyInventoryStats_RandomChanges_ReportsNoDrift() {
+        // Arrange
+        Random random = new Random(9);
+        service.getInventoryStats();
+
+        // Act
+        for (int i = 0; i < 5000; i++) {
+            String id = "R" + random.nextInt(300);
+            if (random.nextInt(4) == 0) {
+                repository.delete(id);
+            } else {
+                repository.save(new InventoryItem(id, "Item", "Random item", random.nextInt(100),
+                        random.nextInt(100_000) / 100.0, category));
+            }
+        }
+        StatsVerification verification = service.verifyInventoryStats();
+
+        // Assert
+        assertFalse(verification.hasDrift(), verification.toString());
+        assertEquals(repository.findAll().size(), verification.getMaintained().getItemCount());
+    }
+
+    @Test
+    void verifyInventoryStats_ConcurrentWriters_ReportsNoDrift() throws Exception {
+        // Arrange
+        service.getInventoryStats();
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        List<Future<?>> futures = new ArrayList<>();
+
+        // Act
+        for (int t = 0; t < 4; t++) {
+            int thread = t;
+            futures.add(executor.submit(() -> {
+                Random random = new Random(thread);
+                for (int i = 0; i < 2000; i++) {
+                    String id = "T" + thread + "-" + random.nextInt(100);
+                    if (random.nextInt(4) == 0) {
+                        repository.delete(id);
+                    } else {
+                        repository.save(new InventoryItem(id, "Item", "Random item", random.nextInt(100),
+                                random.nextInt(100_000) / 100.0, category));
+                    }
+                }
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        executor.shutdown();
+        StatsVerification verification = service.verifyInventoryStats();
+
+        // Assert
+        assertFalse(verification.hasDrift(), verification.toString());
+        assertEquals(repository.findAll().size(), verification.getMaintained().getItemCount());
+    }
+
+    @Test
+    void getInventoryStats_AttachedWhileWriting_MatchesVerification() throws Exception {
+        // Arrange
+        List<InventoryItem> items = new ArrayList<>();
+        for (int i = 0; i < 5000; i++) {
+            items.add(new InventoryItem("I" + i, "Item", "Random item", 10, 1.5, category));
+        }
+        repository.saveAll(items);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+
+        try {
+            for (int round = 0; round < 10; round++) {
+                AtomicBoolean stop = new AtomicBoolean();
+                Future<?> writer = executor.submit(() -> write(stop, items.size()));
+
+                // Act
+                InventoryService attached = new InventoryService(repository, new Validator());
+                attached.getInventoryStats();
+                stop.set(true);
+                writer.get();
+                StatsVerification verification = attached.verifyInventoryStats();
+
+                // Assert
+                assertFalse(verification.hasDrift(), verification.toString());
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private void write(AtomicBoolean stop, int size) {
+        Random random = new Random();
+        while (!stop.get()) {
+            String id = "I" + random.nextInt(size);
+            if (random.nextBoolean()) {
+                repository.adjustQuantity(id, 1);
+            } else {
+                repository.save(new InventoryItem(id, "Item", "Random item", random.nextInt(100),
+                        random.nextInt(1000) / 4.0, category));
+            }
+        }
+    }
+}
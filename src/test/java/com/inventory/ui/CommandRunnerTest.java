@@ -0,0 +1,146 @@
+package com.inventory.ui;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonObject;
+import com.inventory.repository.FileHandler;
+import com.inventory.repository.FileItemRepository;
+import com.inventory.repository.ItemJournal;
+import com.inventory.repository.SnapshotFormat;
+import com.inventory.repository.SyncPolicy;
+import com.inventory.repository.WriteBehindPolicy;
+import com.inventory.service.InventoryService;
+import com.inventory.service.Validator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CommandRunnerTest {
+
+    @TempDir
+    Path tempDir;
+
+    private final Gson gson = new Gson();
+    private FileItemRepository repository;
+    private InventoryService service;
+
+    @BeforeEach
+    void setUp() {
+        repository = new FileItemRepository(new FileHandler(tempDir.resolve("batch.json").toString(), SyncPolicy.never()),
+                new ItemJournal(tempDir.resolve("batch.journal").toString(), SyncPolicy.never()),
+                FileItemRepository.DEFAULT_CHECKPOINT_INTERVAL, SnapshotFormat.JSON, null, WriteBehindPolicy.every(60_000));
+        service = new InventoryService(repository, new Validator());
+    }
+
+    @Test
+    void run_ConsecutiveMutations_ArePersistedOncePerGroup() throws IOException {
+        // Arrange
+        AtomicInteger persisted = new AtomicInteger();
+        String script = "# two groups around a query\n"
+                + item("add", "A", "Hammer", 5) + "\n"
+                + item("add", "B", "Wrench", 3) + "\n"
+                + "adjust A -2\n"
+                + "\n"
+                + "get A\n"
+                + "delete B\n";
+
+        // Act
+        List<JsonObject> results = run(script, () -> {
+            persisted.incrementAndGet();
+            repository.flush();
+        });
+
+        // Assert
+        assertEquals(2, persisted.get());
+        assertEquals(5, results.size());
+        assertEquals(2, results.get(0).get("line").getAsInt());
+        assertEquals("adjust", results.get(2).get("command").getAsString());
+        assertEquals(3, results.get(2).getAsJsonObject("result").get("quantity").getAsInt());
+        assertEquals(3, results.get(3).getAsJsonObject("result").get("quantity").getAsInt());
+        assertTrue(results.get(4).get("result").getAsBoolean());
+        repository.close();
+        FileItemRepository reopened = new FileItemRepository(new FileHandler(tempDir.resolve("batch.json").toString(),
+                SyncPolicy.never()), new ItemJournal(tempDir.resolve("batch.journal").toString(), SyncPolicy.never()),
+                FileItemRepository.DEFAULT_CHECKPOINT_INTERVAL);
+        assertEquals(3, reopened.findById("A").orElseThrow().getQuantity());
+        assertFalse(reopened.findById("B").isPresent());
+        reopened.close();
+    }
+
+    @Test
+    void run_QueriesAnswerInScriptOrder() throws IOException {
+        // Arrange
+        String script = item("add", "A", "Claw hammer", 5) + "\n"
+                + item("add", "B", "Sledge hammer", 1) + "\n"
+                + item("add", "C", "Saw", 9) + "\n"
+                + "search hammer\n"
+                + "sort quantity desc 0 2\n"
+                + "list\n"
+                + "stats\n";
+
+        // Act
+        List<JsonObject> results = run(script, repository::flush);
+
+        // Assert
+        assertEquals(2, results.get(3).getAsJsonArray("result").size());
+        assertEquals("C", results.get(4).getAsJsonArray("result").get(0).getAsJsonObject().get("id").getAsString());
+        assertEquals(2, results.get(4).getAsJsonArray("result").size());
+        assertEquals(3, results.get(5).getAsJsonArray("result").size());
+        assertTrue(results.get(6).get("ok").getAsBoolean());
+    }
+
+    @Test
+    void run_FailedCommands_AreReportedAndCounted() throws IOException {
+        // Arrange
+        String script = item("add", "A", "Hammer", 5) + "\n"
+                + item("add", "A", "Hammer", 5) + "\n"
+                + "add {not json\n"
+                + "adjust A lots\n"
+                + "get NOPE\n"
+                + "sort price sideways\n"
+                + "fly away\n";
+        StringWriter out = new StringWriter();
+
+        // Act
+        int failures = new CommandRunner(service, repository::flush).run(new StringReader(script), out);
+
+        // Assert
+        assertEquals(6, failures);
+        List<JsonObject> results = parse(out.toString());
+        assertTrue(results.get(0).get("ok").getAsBoolean());
+        for (JsonObject result : results.subList(1, results.size())) {
+            assertFalse(result.get("ok").getAsBoolean());
+            assertTrue(result.has("error"));
+        }
+        assertTrue(results.get(1).get("error").getAsString().contains("already exists"));
+        assertEquals(5, service.findItemById("A").orElseThrow().getQuantity());
+    }
+
+    private List<JsonObject> run(String script, Runnable persist) throws IOException {
+        StringWriter out = new StringWriter();
+        assertEquals(0, new CommandRunner(service, persist).run(new StringReader(script), out));
+        return parse(out.toString());
+    }
+
+    private List<JsonObject> parse(String output) {
+        List<JsonObject> results = new ArrayList<>();
+        for (String line : output.split("\n")) {
+            results.add(gson.fromJson(line, JsonObject.class));
+        }
+        return results;
+    }
+
+    private static String item(String command, String id, String name, int quantity) {
+        return command + " {\"id\":\"" + id + "\",\"name\":\"" + name + "\",\"description\":\"Tool\",\"quantity\":"
+                + quantity + ",\"price\":9.99,\"category\":{\"id\":1,\"name\":\"Tools\",\"description\":\"Hand tools\"}}";
+    }
+}